@@ -3,6 +3,7 @@ plugins {
 	id("org.springframework.boot") version "3.5.5"
 	id("io.spring.dependency-management") version "1.1.7"
 	id("org.graalvm.buildtools.native") version "0.10.6"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.pinewoods"
@@ -37,8 +38,44 @@ dependencies {
 	testImplementation("io.projectreactor:reactor-test")
 	testImplementation("org.springframework.security:spring-security-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+	jmh("org.openjdk.jol:jol-core:0.17")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.named<Test>("test") {
+	useJUnitPlatform {
+		excludeTags("performance")
+	}
+}
+
+// Wall-clock comparisons against a running database, e.g. batch against one-by-one flight writes.
+// Run with ./gradlew performanceTest; the rates are logged, not asserted.
+tasks.register<Test>("performanceTest") {
+	testClassesDirs = sourceSets["test"].output.classesDirs
+	classpath = sourceSets["test"].runtimeClasspath
+	useJUnitPlatform {
+		includeTags("performance")
+	}
+}
+
+// Benchmarks live in src/jmh/java. Run with ./gradlew jmh; the JSON results can be diffed between commits.
+jmh {
+	jmhVersion = "1.37"
+	fork = 1
+	warmupIterations = 3
+	iterations = 5
+	resultFormat = "JSON"
+	resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+	// e.g. ./gradlew jmh -PjmhIncludes=ScoringBenchmark
+	(findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+}
+
+// Heap retained by the leaderboard state per 1,000 cards, before and after the column scoreboard
+tasks.register<JavaExec>("scoreboardFootprint") {
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass = "com.pinewoods.score.tracker.benchmarks.ScoreboardFootprint"
+	jvmArgs("-Djdk.attach.allowAttachSelf=true")
+}
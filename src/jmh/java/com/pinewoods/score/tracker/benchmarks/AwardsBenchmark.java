@@ -0,0 +1,60 @@
+package com.pinewoods.score.tracker.benchmarks;
+
+import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.services.scoring.IScoringStrategy;
+import com.pinewoods.score.tracker.services.scoring.StablefordScoringStrategy;
+import com.pinewoods.score.tracker.services.tournament.LeaderboardIndex;
+import com.pinewoods.score.tracker.services.tournament.TournamentAwards;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End of tournament award allocation over a sorted, already scored field.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AwardsBenchmark {
+
+    @Param({"40", "100", "400"})
+    int fieldSize;
+
+    LeaderboardIndex.Standings standings;
+
+    @Setup
+    public void setup() {
+        List<Player> players = BenchmarkFixtures.players(fieldSize, 42);
+        IScoringStrategy strategy = new StablefordScoringStrategy(BenchmarkFixtures.COURSE_ID,
+                BenchmarkFixtures.STABLEFORD_POINTS, 1.0,
+                BenchmarkFixtures.courseService(players), BenchmarkFixtures.compiledCourses());
+
+        standings = LeaderboardIndex.of(BenchmarkFixtures.flights(players, 7).stream()
+                .map(strategy::calculateScores)
+                .toList()).standings();
+    }
+
+    @Benchmark
+    public Map<Long, Integer> allocatePoints() {
+        Map<Long, Integer> points = new HashMap<>();
+        TournamentAwards.allocatePoints(standings, new HashMap<>(), points);
+        return points;
+    }
+
+    @Benchmark
+    public Map<Long, Integer> allocateBirdies() {
+        Map<Long, Integer> points = new HashMap<>();
+        TournamentAwards.allocateBirdies(standings, points);
+        return points;
+    }
+}
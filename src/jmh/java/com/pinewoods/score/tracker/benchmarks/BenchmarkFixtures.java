@@ -0,0 +1,159 @@
+package com.pinewoods.score.tracker.benchmarks;
+
+import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.entities.admin.Role;
+import com.pinewoods.score.tracker.entities.admin.Team;
+import com.pinewoods.score.tracker.entities.course.Course;
+import com.pinewoods.score.tracker.entities.course.CourseHandicap;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.flight.FlightScore;
+import com.pinewoods.score.tracker.entities.season.Season;
+import com.pinewoods.score.tracker.entities.tournament.Tournament;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
+import com.pinewoods.score.tracker.services.course.CourseService;
+import com.pinewoods.score.tracker.services.scoring.PlayingHandicapTable;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic but realistic tournament fields, plus in-memory stand-ins for the services the
+ * scoring strategies call, so benchmarks measure compute only.
+ */
+public final class BenchmarkFixtures {
+    public static final long COURSE_ID = 1L;
+    public static final int PLAYERS_PER_FLIGHT = 4;
+    public static final Map<Integer, Integer> STABLEFORD_POINTS = Map.of(
+            -3, 5, -2, 4, -1, 3, 0, 2, 1, 1, 2, 0);
+
+    private static final List<Integer> PARS = List.of(4, 4, 3, 5, 4, 4, 3, 4, 5, 4, 3, 4, 5, 4, 4, 3, 4, 5);
+    private static final List<Integer> INDEXES = List.of(7, 1, 15, 11, 3, 13, 17, 5, 9, 8, 16, 2, 12, 6, 14, 18, 4, 10);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Course course() {
+        return Course.builder()
+                .id(COURSE_ID)
+                .name("Pinewoods")
+                .pars(new ArrayList<>(PARS))
+                .indexes(new ArrayList<>(INDEXES))
+                .slopeRating(125)
+                .courseRating(71.4)
+                .build();
+    }
+
+    /**
+     * @return a cache that always serves the benchmark course without a repository
+     */
+    public static CompiledCourseCache compiledCourses() {
+        CompiledCourse compiled = CompiledCourse.of(course());
+        return new CompiledCourseCache(null, null) {
+            @Override
+            public CompiledCourse get(Long courseId) {
+                return compiled;
+            }
+        };
+    }
+
+    /**
+     * @param players players whose handicap is served as their course handicap
+     * @return a course service answering handicap lookups from memory
+     */
+    public static CourseService courseService(List<Player> players) {
+        Map<Long, CourseHandicap> handicaps = new HashMap<>();
+        for (Player player : players) {
+            handicaps.put(player.getId(), CourseHandicap.builder().handicap(player.getHandicap()).build());
+        }
+        return new CourseService(null, null, null, null) {
+            @Override
+            public CourseHandicap getCourseHandicap(Long playerId, Long courseId) {
+                return handicaps.get(playerId);
+            }
+        };
+    }
+
+    /**
+     * @return the frozen playing handicaps a tournament of these players would start with
+     */
+    public static PlayingHandicapTable playingHandicaps(List<Player> players) {
+        Map<Long, Double> handicaps = new HashMap<>();
+        for (Player player : players) {
+            handicaps.put(player.getId(), player.getHandicap());
+        }
+        return PlayingHandicapTable.of(handicaps, 1.0);
+    }
+
+    public static List<Player> players(int fieldSize, long seed) {
+        Random random = new Random(seed);
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            teams.add(Team.builder().id((long) i + 1).name("Team " + (i + 1)).build());
+        }
+
+        List<Player> players = new ArrayList<>(fieldSize);
+        for (int i = 0; i < fieldSize; i++) {
+            players.add(Player.builder()
+                    .id((long) i + 1)
+                    .name("Player " + (i + 1))
+                    .password("")
+                    .role(Role.PLAYER)
+                    .handicap(random.nextInt(37))
+                    .team(teams.get(i % teams.size()))
+                    .build());
+        }
+        return players;
+    }
+
+    /**
+     * Groups the players into four-balls with plausible cards: mostly pars and bogeys,
+     * the odd birdie and more dropped shots for higher handicaps.
+     */
+    public static List<Flight> flights(List<Player> players, long seed) {
+        Random random = new Random(seed);
+        List<Flight> flights = new ArrayList<>();
+        Flight flight = null;
+        for (int i = 0; i < players.size(); i++) {
+            if (i % PLAYERS_PER_FLIGHT == 0) {
+                flight = Flight.builder().id(flights.size() + 1L).date(new Date()).build();
+                flights.add(flight);
+            }
+            Player player = players.get(i);
+            List<Integer> holes = new ArrayList<>(CompiledCourse.HOLES);
+            int gross = 0;
+            for (int hole = 0; hole < CompiledCourse.HOLES; hole++) {
+                double extra = player.getHandicap() / 18.0 + random.nextGaussian() * 0.9;
+                int strokes = Math.max(1, PARS.get(hole) + (int) Math.round(extra));
+                holes.add(strokes);
+                gross += strokes;
+            }
+            flight.getFlightScores().add(FlightScore.builder()
+                    .id(i + 1)
+                    .player(player)
+                    .holeScores(holes)
+                    .score(gross)
+                    .birdies(0)
+                    .courseName("Pinewoods")
+                    .flight(flight)
+                    .build());
+        }
+        return flights;
+    }
+
+    public static Tournament tournament(List<Flight> flights) {
+        Season season = Season.builder().id(1L).name("2026-01-01_Benchmark").build();
+        return Tournament.builder()
+                .id(1L)
+                .name("Benchmark Open")
+                .season(season)
+                .strategyName("STABLEFORD")
+                .flights(flights)
+                .awards(new HashMap<>())
+                .build();
+    }
+}
@@ -0,0 +1,76 @@
+package com.pinewoods.score.tracker.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.tournament.Tournament;
+import com.pinewoods.score.tracker.services.scoring.IScoringStrategy;
+import com.pinewoods.score.tracker.services.scoring.StablefordScoringStrategy;
+import com.pinewoods.score.tracker.services.tournament.LeaderboardIndex;
+import com.pinewoods.score.tracker.services.tournament.TournamentVersions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work done per poll of an unchanged tournament or leaderboard: building and serializing the body, against
+ * checking If-None-Match for a 304. A full tournament read also loads the season, flights and scores from the
+ * database first, which the 304 path skips as well and is not included here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConditionalGetBenchmark {
+
+    @Param({"40", "100", "400"})
+    int fieldSize;
+
+    Tournament tournament;
+    LeaderboardIndex leaderboard;
+    TournamentVersions versions;
+    String ifNoneMatch;
+    ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        List<Player> players = BenchmarkFixtures.players(fieldSize, 42);
+        List<Flight> flights = BenchmarkFixtures.flights(players, 7);
+        IScoringStrategy strategy = new StablefordScoringStrategy(BenchmarkFixtures.COURSE_ID,
+                BenchmarkFixtures.STABLEFORD_POINTS, 1.0,
+                BenchmarkFixtures.courseService(players), BenchmarkFixtures.compiledCourses());
+
+        tournament = BenchmarkFixtures.tournament(flights);
+        leaderboard = LeaderboardIndex.of(flights.stream().map(strategy::calculateScores).toList());
+        objectMapper = new ObjectMapper();
+
+        versions = new TournamentVersions();
+        for (int i = 0; i < flights.size(); i++) {
+            versions.bump(tournament.getId());
+        }
+        ifNoneMatch = versions.eTag(tournament.getId());
+    }
+
+    @Benchmark
+    public byte[] tournamentFullResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tournament.toDTO());
+    }
+
+    @Benchmark
+    public byte[] leaderboardFullResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(leaderboard.page(0, fieldSize));
+    }
+
+    @Benchmark
+    public boolean notModified() {
+        return versions.eTag(tournament.getId()).equals(ifNoneMatch);
+    }
+}
@@ -0,0 +1,51 @@
+package com.pinewoods.score.tracker.benchmarks;
+
+import com.pinewoods.score.tracker.dto.flight.FlightDTO;
+import com.pinewoods.score.tracker.dto.tournament.TournamentDTO;
+import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.tournament.Tournament;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of a fully loaded tournament graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+
+    @Param({"40", "100", "400"})
+    int fieldSize;
+
+    Tournament tournament;
+    Flight flight;
+
+    @Setup
+    public void setup() {
+        List<Player> players = BenchmarkFixtures.players(fieldSize, 42);
+        List<Flight> flights = BenchmarkFixtures.flights(players, 7);
+        tournament = BenchmarkFixtures.tournament(flights);
+        flight = flights.getFirst();
+    }
+
+    @Benchmark
+    public TournamentDTO tournamentToDto() {
+        return tournament.toDTO();
+    }
+
+    @Benchmark
+    public FlightDTO flightToDto() {
+        return flight.toDTO();
+    }
+}
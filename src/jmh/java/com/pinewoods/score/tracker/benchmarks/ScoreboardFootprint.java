@@ -0,0 +1,44 @@
+package com.pinewoods.score.tracker.benchmarks;
+
+import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.services.scoring.IScoringStrategy;
+import com.pinewoods.score.tracker.services.scoring.StablefordScoringStrategy;
+import com.pinewoods.score.tracker.services.tournament.LeaderboardIndex;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.List;
+
+/**
+ * Retained heap of a running tournament's calculated cards, per 1,000 cards: the calculated flight entities that
+ * used to be cached for the whole event, against the leaderboard and its column scoreboard that replace them.
+ * Run with {@code ./gradlew scoreboardFootprint}.
+ * <p>
+ * The fixture players are plain objects; loaded through Hibernate they also carry proxies and their team, so the
+ * entity figure is a lower bound.
+ */
+public final class ScoreboardFootprint {
+    private static final int CARDS = 1_000;
+
+    private ScoreboardFootprint() {
+    }
+
+    public static void main(String[] args) {
+        List<Player> players = BenchmarkFixtures.players(CARDS, 42);
+        IScoringStrategy strategy = new StablefordScoringStrategy(BenchmarkFixtures.COURSE_ID,
+                BenchmarkFixtures.STABLEFORD_POINTS, 1.0,
+                BenchmarkFixtures.courseService(players), BenchmarkFixtures.compiledCourses());
+        List<Flight> calculated = BenchmarkFixtures.flights(players, 7).stream()
+                .map(strategy::calculateScores)
+                .toList();
+
+        GraphLayout entities = GraphLayout.parseInstance(calculated);
+        GraphLayout leaderboard = GraphLayout.parseInstance(LeaderboardIndex.of(calculated));
+
+        System.out.printf("Cards:                  %,d%n", CARDS);
+        System.out.printf("Entity flight cache:    %,d bytes in %,d objects%n", entities.totalSize(),
+                entities.totalCount());
+        System.out.printf("Scoreboard leaderboard: %,d bytes in %,d objects%n", leaderboard.totalSize(),
+                leaderboard.totalCount());
+    }
+}
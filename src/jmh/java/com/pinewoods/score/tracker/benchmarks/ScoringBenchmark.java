@@ -0,0 +1,96 @@
+package com.pinewoods.score.tracker.benchmarks;
+
+import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.tournament.ScoringDefinition;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
+import com.pinewoods.score.tracker.services.course.CourseService;
+import com.pinewoods.score.tracker.services.scoring.CustomScoringStrategy;
+import com.pinewoods.score.tracker.services.scoring.IScoringStrategy;
+import com.pinewoods.score.tracker.services.scoring.PlayingHandicapTable;
+import com.pinewoods.score.tracker.services.scoring.StablefordScoringStrategy;
+import com.pinewoods.score.tracker.services.scoring.StrokeplayScoringStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scores a whole field through each built-in strategy, and through CUSTOM definitions of the
+ * same formats so the compiled formulas can be compared with the hand-written code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoringBenchmark {
+
+    @Param({"40", "100", "400"})
+    int fieldSize;
+
+    List<Flight> flights;
+    IScoringStrategy stableford;
+    IScoringStrategy strokeplay;
+    IScoringStrategy customStableford;
+    IScoringStrategy customStrokeplay;
+
+    @Setup
+    public void setup() {
+        List<Player> players = BenchmarkFixtures.players(fieldSize, 42);
+        flights = BenchmarkFixtures.flights(players, 7);
+
+        CourseService courseService = BenchmarkFixtures.courseService(players);
+        CompiledCourseCache compiledCourses = BenchmarkFixtures.compiledCourses();
+        stableford = new StablefordScoringStrategy(BenchmarkFixtures.COURSE_ID, BenchmarkFixtures.STABLEFORD_POINTS,
+                1.0, courseService, compiledCourses);
+        strokeplay = new StrokeplayScoringStrategy(BenchmarkFixtures.COURSE_ID, 1.0, courseService, compiledCourses);
+
+        // Same results as STABLEFORD_POINTS and StrokeplayScoringStrategy
+        customStableford = new CustomScoringStrategy(BenchmarkFixtures.COURSE_ID,
+                ScoringDefinition.builder().holeFormula("clamp(2 - toPar, 0, 5)").build(),
+                1.0, courseService, compiledCourses);
+        customStrokeplay = new CustomScoringStrategy(BenchmarkFixtures.COURSE_ID,
+                ScoringDefinition.builder().totalFormula("par + handicap - gross").build(),
+                1.0, courseService, compiledCourses);
+
+        PlayingHandicapTable handicaps = BenchmarkFixtures.playingHandicaps(players);
+        for (IScoringStrategy strategy : List.of(stableford, strokeplay, customStableford, customStrokeplay)) {
+            strategy.setPlayingHandicaps(handicaps);
+        }
+    }
+
+    @Benchmark
+    public void stablefordCalculateScores(Blackhole blackhole) {
+        for (Flight flight : flights) {
+            blackhole.consume(stableford.calculateScores(flight));
+        }
+    }
+
+    @Benchmark
+    public void strokeplayCalculateScores(Blackhole blackhole) {
+        for (Flight flight : flights) {
+            blackhole.consume(strokeplay.calculateScores(flight));
+        }
+    }
+
+    @Benchmark
+    public void customStablefordCalculateScores(Blackhole blackhole) {
+        for (Flight flight : flights) {
+            blackhole.consume(customStableford.calculateScores(flight));
+        }
+    }
+
+    @Benchmark
+    public void customStrokeplayCalculateScores(Blackhole blackhole) {
+        for (Flight flight : flights) {
+            blackhole.consume(customStrokeplay.calculateScores(flight));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.pinewoods.score.tracker.benchmarks;
+
+import com.pinewoods.score.tracker.services.season.SeasonSimulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 100k simulated seasons with five tournaments left, over a field with 20 past cards per player.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SeasonProjectionBenchmark {
+    private static final int CARDS_PER_PLAYER = 20;
+    private static final int TEAMS = 6;
+
+    @Param({"40", "100", "400"})
+    int fieldSize;
+
+    SeasonSimulator simulator;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        int[] offsets = new int[fieldSize + 1];
+        int[] scores = new int[fieldSize * CARDS_PER_PLAYER];
+        int[] birdies = new int[fieldSize * CARDS_PER_PLAYER];
+        int[] playerTeams = new int[fieldSize];
+
+        for (int p = 0; p < fieldSize; p++) {
+            offsets[p] = p * CARDS_PER_PLAYER;
+            playerTeams[p] = p % TEAMS;
+            int form = random.nextInt(7) - 3;
+            for (int c = offsets[p]; c < offsets[p] + CARDS_PER_PLAYER; c++) {
+                scores[c] = form + (int) Math.round(random.nextGaussian() * 4);
+                birdies[c] = random.nextInt(4);
+            }
+        }
+        offsets[fieldSize] = fieldSize * CARDS_PER_PLAYER;
+
+        simulator = new SeasonSimulator(offsets, scores, birdies, playerTeams, new int[]{300, 280, 250, 200, 150, 90});
+    }
+
+    @Benchmark
+    public SeasonSimulator.Result project() {
+        return simulator.run(5, 100_000, 7);
+    }
+}
@@ -0,0 +1,106 @@
+package com.pinewoods.score.tracker.config.migration;
+
+import com.pinewoods.score.tracker.entities.flight.HoleScoresConverter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Moves hole scores from the legacy {@code flight_scores.hole_scores} column (a serialized Java list, or an
+ * array on schemas created by newer Hibernate versions) into the packed {@code hole_bytes} column.
+ * Rows are converted in batches and the legacy column is dropped once every row has been migrated.
+ * Does nothing on schemas that never had the legacy column.
+ * <p>
+ * Runs once every singleton is created, i.e. after Hibernate has updated the schema and before the web server
+ * starts accepting requests, so no request reads a row that is still being converted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoleScoresMigration implements SmartInitializingSingleton {
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<String> legacyType = jdbcTemplate.queryForList(
+                "SELECT data_type FROM information_schema.columns " +
+                        "WHERE table_name = 'flight_scores' AND column_name = 'hole_scores'", String.class);
+        if (legacyType.isEmpty()) {
+            return;
+        }
+        boolean serialized = "bytea".equalsIgnoreCase(legacyType.getFirst());
+
+        long lastId = 0;
+        int migrated = 0;
+        while (true) {
+            List<Object[]> updates = new ArrayList<>();
+            long[] lastSeen = {lastId};
+            jdbcTemplate.query(
+                    "SELECT id, hole_scores FROM flight_scores " +
+                            "WHERE id > ? AND hole_scores IS NOT NULL AND hole_bytes IS NULL ORDER BY id LIMIT ?",
+                    rs -> {
+                        long id = rs.getLong("id");
+                        lastSeen[0] = id;
+                        byte[] packed = readLegacy(rs, serialized, id);
+                        if (packed != null) {
+                            updates.add(new Object[]{packed, id});
+                        }
+                    }, lastId, BATCH_SIZE);
+
+            if (lastSeen[0] == lastId) {
+                break;
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE flight_scores SET hole_bytes = ? WHERE id = ?", updates);
+                migrated += updates.size();
+            }
+            lastId = lastSeen[0];
+        }
+
+        Integer remaining = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM flight_scores WHERE hole_scores IS NOT NULL AND hole_bytes IS NULL", Integer.class);
+        if (remaining != null && remaining == 0) {
+            jdbcTemplate.execute("ALTER TABLE flight_scores DROP COLUMN hole_scores");
+            log.info("Migrated {} hole score rows to hole_bytes and dropped the legacy column", migrated);
+        } else {
+            log.warn("Migrated {} hole score rows, {} could not be read and were left in hole_scores", migrated, remaining);
+        }
+    }
+
+    private byte[] readLegacy(ResultSet rs, boolean serialized, long id) throws SQLException {
+        try {
+            List<?> holeScores;
+            if (serialized) {
+                try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(rs.getBytes("hole_scores")))) {
+                    holeScores = (List<?>) in.readObject();
+                }
+            } else {
+                Array array = rs.getArray("hole_scores");
+                holeScores = Arrays.asList((Object[]) array.getArray());
+            }
+
+            byte[] packed = new byte[holeScores.size()];
+            for (int i = 0; i < packed.length; i++) {
+                packed[i] = HoleScoresConverter.pack(((Number) holeScores.get(i)).intValue());
+            }
+            return packed;
+        } catch (IOException | ClassNotFoundException | ClassCastException | IllegalArgumentException e) {
+            log.warn("Skipping hole scores of flight score {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+}
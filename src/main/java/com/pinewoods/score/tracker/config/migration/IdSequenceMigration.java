@@ -0,0 +1,56 @@
+package com.pinewoods.score.tracker.config.migration;
+
+import com.pinewoods.score.tracker.entities.IdSequences;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves the write-heavy tables from IDENTITY columns to the pooled sequences of {@link IdSequences}.
+ * <p>
+ * For each table the identity is dropped, the sequence is moved past the highest existing id and becomes the
+ * column default, so plain SQL inserts that leave out the id keep working. Every step is idempotent, and on
+ * schemas created with the sequences only the default is added.
+ * <p>
+ * Like {@link HoleScoresMigration}, runs after Hibernate has updated the schema and before the web server starts,
+ * so no insert races the switch from identity to sequence.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdSequenceMigration implements SmartInitializingSingleton {
+    private static final Map<String, String> SEQUENCES_BY_TABLE = Map.of(
+            "flights", IdSequences.FLIGHTS,
+            "flight_scores", IdSequences.FLIGHT_SCORES,
+            "tournaments", IdSequences.TOURNAMENTS,
+            "team_standing", IdSequences.TEAM_STANDING);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        SEQUENCES_BY_TABLE.forEach(this::migrate);
+    }
+
+    private void migrate(String table, String sequence) {
+        jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence +
+                " START WITH 1 INCREMENT BY " + IdSequences.ALLOCATION_SIZE);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id DROP IDENTITY IF EXISTS");
+
+        // The next block must start after every id handed out by the identity
+        long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        Map<String, Object> state = jdbcTemplate.queryForMap("SELECT last_value, is_called FROM " + sequence);
+        long lastValue = ((Number) state.get("last_value")).longValue();
+        long nextValue = (Boolean) state.get("is_called") ? lastValue + IdSequences.ALLOCATION_SIZE : lastValue;
+        if (nextValue <= maxId) {
+            jdbcTemplate.queryForObject("SELECT setval(?::regclass, ?, false)", Long.class, sequence, maxId + 1);
+            log.info("Moved sequence {} past the highest id {} of {}", sequence, maxId, table);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id SET DEFAULT nextval('" + sequence + "')");
+    }
+}
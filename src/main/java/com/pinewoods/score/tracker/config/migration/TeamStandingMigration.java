@@ -0,0 +1,55 @@
+package com.pinewoods.score.tracker.config.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Makes {@code team_standing} hold one row per season and team, which the upsert of the tournament results
+ * relies on. Duplicate rows are merged into the oldest one, summing their counters, and the unique index is
+ * created if Hibernate could not add its constraint because of them. Every step is idempotent.
+ * <p>
+ * Like {@link HoleScoresMigration}, runs after Hibernate has updated the schema and before the web server starts,
+ * so no tournament ends before the index exists.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TeamStandingMigration implements SmartInitializingSingleton {
+    private static final String UNIQUE_INDEX = "team_standing_season_team_key";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer merged = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(
+                    "UPDATE team_standing ts SET points = d.points, wins = d.wins, losses = d.losses, " +
+                            "draws = d.draws, birdies = d.birdies " +
+                            "FROM (SELECT min(id) AS id, sum(points) AS points, sum(wins) AS wins, " +
+                            "sum(losses) AS losses, sum(draws) AS draws, sum(birdies) AS birdies " +
+                            "FROM team_standing GROUP BY season_id, team_id HAVING count(*) > 1) d " +
+                            "WHERE ts.id = d.id");
+            return jdbcTemplate.update(
+                    "DELETE FROM team_standing ts USING team_standing kept " +
+                            "WHERE kept.season_id = ts.season_id AND kept.team_id = ts.team_id AND kept.id < ts.id");
+        });
+        if (merged != null && merged > 0) {
+            log.info("Merged {} duplicate team standing rows", merged);
+        }
+
+        // Hibernate names its unique constraint itself, so look for any unique index on the two columns
+        Integer uniqueIndexes = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_indexes WHERE tablename = 'team_standing' " +
+                        "AND indexdef LIKE 'CREATE UNIQUE INDEX%(season_id, team_id)'", Integer.class);
+        if (uniqueIndexes != null && uniqueIndexes == 0) {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + UNIQUE_INDEX +
+                    " ON team_standing (season_id, team_id)");
+            log.info("Created the unique index {} on team_standing", UNIQUE_INDEX);
+        }
+    }
+}
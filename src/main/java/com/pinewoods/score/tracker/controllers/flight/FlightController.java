@@ -1,10 +1,17 @@
 package com.pinewoods.score.tracker.controllers.flight;
 
 import com.pinewoods.score.tracker.controllers.admin.utilities.ControllerUtilities;
+import com.pinewoods.score.tracker.dao.flight.FlightRepositoryCustom.FlightFilter;
+import com.pinewoods.score.tracker.dto.flight.FlightBatchDTO;
 import com.pinewoods.score.tracker.dto.flight.FlightDTO;
+import com.pinewoods.score.tracker.dto.flight.FlightPageDTO;
 import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.dto.flight.LiveFlightDTO;
+import com.pinewoods.score.tracker.dto.flight.LiveHoleDTO;
 import com.pinewoods.score.tracker.entities.flight.Flight;
 import com.pinewoods.score.tracker.services.flight.FlightService;
+import com.pinewoods.score.tracker.services.tournament.FlightIngestionQueue;
+import com.pinewoods.score.tracker.services.tournament.LiveFlightTracker;
 import com.pinewoods.score.tracker.services.tournament.TournamentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,24 +20,36 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/flights")
 @Tag(name = "Flight Management", description = "Operations related to golf flights and scores")
 public class FlightController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
+    private final FlightIngestionQueue flightIngestionQueue;
     private final TournamentService tournamentService;
+    private final LiveFlightTracker liveFlightTracker;
 
     FlightService flightService;
 
-    public FlightController(FlightService flightService, TournamentService tournamentService) {
+    public FlightController(FlightService flightService, FlightIngestionQueue flightIngestionQueue,
+                            TournamentService tournamentService, LiveFlightTracker liveFlightTracker) {
         this.flightService = flightService;
+        this.flightIngestionQueue = flightIngestionQueue;
         this.tournamentService = tournamentService;
+        this.liveFlightTracker = liveFlightTracker;
     }
 
     // --------- Create Flight ------------
@@ -54,17 +73,135 @@ public class FlightController {
                 .body(createdFlight.toDTO());
     }
 
+    // --------- Create Flights in Bulk ------------
+
+    @Operation(
+            summary = "Create many flights at once",
+            description = "Creates every flight of the request in one transaction, e.g. an end-of-round upload. "
+                    + "With a tournament ID, the flights are also scored and linked to that running tournament "
+                    + "in the same transaction.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Flights created successfully",
+                    content = @Content(schema = @Schema(implementation = FlightBatchDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input or too many flights", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Player not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Tournament session expired, or a player already has "
+                    + "a card in the tournament or two in the batch", content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<FlightBatchDTO> createFlights(@RequestBody List<List<FlightScoreDTO>> flights,
+                                                        @RequestParam(required = false) Long tournamentId) {
+        long start = System.nanoTime();
+        List<Long> flightIds = tournamentId == null
+                ? flightService.createFlights(flights)
+                : tournamentService.createFlightsInTournament(tournamentId, flights);
+        long nanos = System.nanoTime() - start;
+
+        double flightsPerSecond = nanos > 0 ? flightIds.size() * 1_000_000_000.0 / nanos : flightIds.size();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new FlightBatchDTO(tournamentId, flightIds, flights.stream().mapToInt(List::size).sum(),
+                        nanos / 1_000_000, Math.round(flightsPerSecond * 10) / 10.0));
+    }
+
     // --------- Push Flight ------------
     @Operation(
         summary = "Push a flight to a tournament",
-        description = "Pushes a flight to a tournament, associating it with the specified tournament ID.",
+        description = "Queues a flight to be linked to the specified tournament. Flights are scored and added to "
+                + "the leaderboard in the order they were accepted, shortly after the response.",
         security = @SecurityRequirement(name = "bearerAuth")
     )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Flight queued for the tournament", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Flight not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Tournament session expired, or a player of the "
+                    + "flight already has a card in the tournament", content = @Content)
+    })
     @PatchMapping("/{id}/{tournamentId}/link")
     public ResponseEntity<Void> pushFlightToTournament(@PathVariable long id, @PathVariable long tournamentId) {
-        tournamentService.addFlightToTournament(id, tournamentId);
+        flightIngestionQueue.submit(id, tournamentId);
+
+        return ResponseEntity.accepted().build();
+    }
+
+    // --------- Live Flight ------------
+    @Operation(
+            summary = "Start a live flight in a tournament",
+            description = "Starts a flight whose holes are recorded one at a time while it is played. The players "
+                    + "appear on the tournament leaderboard with their holes played from the first hole on.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "Live flight started",
+                    content = @Content(schema = @Schema(implementation = LiveFlightDTO.class))),
+            @ApiResponse(responseCode = "400", description = "No players or a player listed twice", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Reporting player is not part of the flight",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Player not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Tournament session expired, or a player already "
+                    + "has a card or a live flight in the tournament", content = @Content)
+    })
+    @PostMapping("/live")
+    public ResponseEntity<LiveFlightDTO> startLiveFlight(@RequestParam long tournamentId,
+                                                         @RequestBody List<String> playerNames) {
+        LiveFlightDTO flight = liveFlightTracker.start(tournamentId, playerNames);
+        URI resourceUri = ServletUriComponentsBuilder.fromCurrentRequestUri()
+                .path("/{id}")
+                .buildAndExpand(flight.id())
+                .toUri();
+        return ResponseEntity.created(resourceUri).body(flight);
+    }
+
+    @Operation(
+            summary = "Record a hole of a live flight",
+            description = "Records or corrects the strokes of some or all players on one hole and returns the "
+                    + "running totals. Once every player has all 18 holes, the flight is stored and linked to the "
+                    + "tournament, and the response carries its flight ID.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Hole recorded",
+                    content = @Content(schema = @Schema(implementation = LiveFlightDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid hole, strokes or player", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Reporting player is not part of the flight",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Live flight not found", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Tournament session expired", content = @Content)
+    })
+    @PatchMapping("/live/{liveFlightId}/holes/{hole}")
+    public ResponseEntity<LiveFlightDTO> recordHole(@PathVariable long liveFlightId, @PathVariable int hole,
+                                                    @RequestBody List<LiveHoleDTO> results) {
+        return ResponseEntity.ok(liveFlightTracker.recordHole(liveFlightId, hole, results));
+    }
+
+    @Operation(
+            summary = "Get a live flight",
+            description = "Returns the running totals of a flight in progress, e.g. when a scorer reconnects.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/live/{liveFlightId}")
+    public ResponseEntity<LiveFlightDTO> getLiveFlight(@PathVariable long liveFlightId) {
+        return ResponseEntity.ok(liveFlightTracker.getLiveFlight(liveFlightId));
+    }
 
-        return ResponseEntity.ok().build();
+    @Operation(
+            summary = "Cancel a live flight",
+            description = "Cancels a flight in progress without storing it. Its players are taken off the "
+                    + "tournament leaderboard and can start another flight.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Live flight cancelled", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Reporting player is not part of the flight",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Live flight not found", content = @Content)
+    })
+    @DeleteMapping("/live/{liveFlightId}")
+    public ResponseEntity<Void> cancelLiveFlight(@PathVariable long liveFlightId) {
+        liveFlightTracker.cancel(liveFlightId);
+        return ResponseEntity.noContent().build();
     }
 
     // ---------- Read Flight --------------
@@ -84,9 +221,70 @@ public class FlightController {
         return ResponseEntity.ok(flightService.getFlight(id).toDTO());
     }
 
+    @Operation(
+            summary = "List flights",
+            description = "Lists flights newest first, a page at a time. Pass the next cursor of a page to read "
+                    + "the page after it. Player, course and date range (inclusive) narrow the listing.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of flights",
+                    content = @Content(schema = @Schema(implementation = FlightPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or limit", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    @GetMapping()
+    public ResponseEntity<FlightPageDTO> getFlights(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) String player,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(flightService.getFlights(toFilter(player, course, from, to), cursor, limit));
+    }
+
+    @Operation(
+            summary = "Export flights",
+            description = "Streams every matching flight, newest first, as newline-delimited JSON.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportFlights(
+            @RequestParam(required = false) String player,
+            @RequestParam(required = false) String course,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        FlightFilter filter = toFilter(player, course, from, to);
+        StreamingResponseBody body = out -> flightService.exportFlights(filter, out);
+
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
+    @Operation(
+            summary = "List all flights",
+            description = "Returns every flight, newest first, as one JSON array. Deprecated: use the paged "
+                    + "listing or the export instead.",
+            deprecated = true,
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @Deprecated
     @GetMapping("/all")
-    public ResponseEntity<List<FlightDTO>> getAllFlights() {
-        return ResponseEntity.ok(flightService.getAllFlights().stream().map(Flight::toDTO).toList());
+    public ResponseEntity<StreamingResponseBody> getAllFlights() {
+        FlightFilter filter = toFilter(null, null, null, null);
+        StreamingResponseBody body = out -> flightService.exportFlightsAsArray(filter, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private static FlightFilter toFilter(String player, String course, LocalDate from, LocalDate to) {
+        return new FlightFilter(player, course,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay());
     }
 
     @GetMapping("/{courseId}/{playerId}")
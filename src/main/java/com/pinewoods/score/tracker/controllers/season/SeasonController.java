@@ -1,13 +1,17 @@
 package com.pinewoods.score.tracker.controllers.season;
 
 import com.pinewoods.score.tracker.controllers.admin.utilities.ControllerUtilities;
+import com.pinewoods.score.tracker.dto.ReadView;
 import com.pinewoods.score.tracker.dto.season.SeasonDTO;
+import com.pinewoods.score.tracker.dto.season.SeasonProjectionDTO;
 import com.pinewoods.score.tracker.dto.season.TeamStandingDTO;
-import com.pinewoods.score.tracker.dto.tournament.TournamentDTO;
+import com.pinewoods.score.tracker.dto.tournament.TournamentImportDTO;
 import com.pinewoods.score.tracker.entities.season.Season;
 import com.pinewoods.score.tracker.entities.season.TeamStanding;
-import com.pinewoods.score.tracker.entities.tournament.Tournament;
+import com.pinewoods.score.tracker.services.season.SeasonProjectionService;
 import com.pinewoods.score.tracker.services.season.SeasonService;
+import com.pinewoods.score.tracker.services.tournament.TournamentExporter;
+import com.pinewoods.score.tracker.services.tournament.TournamentImporter;
 import com.pinewoods.score.tracker.services.tournament.TournamentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,10 +19,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.websocket.server.PathParam;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -31,6 +42,9 @@ public class SeasonController {
 
     private final SeasonService seasonService;
     private final TournamentService tournamentService;
+    private final SeasonProjectionService projectionService;
+    private final TournamentExporter tournamentExporter;
+    private final TournamentImporter tournamentImporter;
 
     // ==================== Create Season ====================
     @PostMapping("/start")
@@ -50,24 +64,29 @@ public class SeasonController {
     @GetMapping
     @Operation(summary = "Get all seasons")
     ResponseEntity<List<String>> getAllSeasons() {
-        List<Season> seasons = seasonService.getAllSeasons();
-        return ResponseEntity.ok(seasons.stream()
-                .map(Season::getName)
-                .toList());
+        return ResponseEntity.ok(seasonService.getAllSeasonNames());
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get details about a season")
-    ResponseEntity<SeasonDTO> getSeason(@PathVariable("id") Long seasonId) {
-        return ResponseEntity.ok(seasonService.getSeasonById(seasonId).toDto());
+    @Operation(summary = "Get details about a season",
+            description = "The detail view includes every tournament's flights and scores; the summary view " +
+                    "lists the tournaments with their flight and player counts only.")
+    ResponseEntity<?> getSeason(@PathVariable("id") Long seasonId,
+                                @RequestParam(value = "view", defaultValue = "detail") String view) {
+        return ReadView.of(view) == ReadView.DETAIL
+                ? ResponseEntity.ok(seasonService.getSeasonDetail(seasonId))
+                : ResponseEntity.ok(seasonService.getSeasonSummary(seasonId));
     }
 
     @GetMapping("/{id}/tournaments")
-    @Operation(summary = "Get all tournaments in a season")
-    ResponseEntity<List<TournamentDTO>> getTournaments(@PathVariable("id") String seasonName) {
-        return ResponseEntity.ok(seasonService.getTournaments(seasonName).stream()
-                .map(Tournament::toDTO)
-                .toList());
+    @Operation(summary = "Get all tournaments in a season",
+            description = "The detail view, the default, includes awards, flights and scores; the summary view " +
+                    "lists each tournament with its flight and player counts only.")
+    ResponseEntity<List<?>> getTournaments(@PathVariable("id") String seasonName,
+                                           @RequestParam(value = "view", defaultValue = "detail") String view) {
+        return ResponseEntity.ok(ReadView.of(view) == ReadView.DETAIL
+                ? tournamentService.getTournamentsBySeason(seasonName)
+                : tournamentService.getTournamentSummariesBySeason(seasonName));
     }
 
     @GetMapping("{id}/standing")
@@ -78,6 +97,57 @@ public class SeasonController {
                 .toList());
     }
 
+    @GetMapping("{id}/projection")
+    @Operation(summary = "Project the final standings of a season",
+            description = "Simulates the remaining tournaments from each player's past cards and returns " +
+                    "every team's expected points and title probability.")
+    ResponseEntity<SeasonProjectionDTO> getProjection(
+            @PathVariable("id") String seasonName,
+            @RequestParam(value = "remaining", defaultValue = "1") int remainingTournaments,
+            @RequestParam(value = "simulations", defaultValue = "100000") int simulations,
+            @RequestParam(value = "seed", required = false) Long seed) {
+        return ResponseEntity.ok(projectionService.project(seasonName, remainingTournaments, simulations, seed));
+    }
+
+    @GetMapping("{id}/export")
+    @Operation(summary = "Export every finished tournament of a season",
+            description = "Streams a zip archive with one tournament export per entry, each of which can be " +
+                    "imported with /tournaments/import.")
+    ResponseEntity<StreamingResponseBody> exportSeason(@PathVariable("id") String seasonName) {
+        List<TournamentExporter.ExportHeader> headers = tournamentExporter.getSeasonExportHeaders(seasonName);
+        String filename = "season_export_" + seasonName + ".zip";
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .body(out -> tournamentExporter.writeSeason(headers, out));
+    }
+
+    @PostMapping("{id}/import")
+    @Operation(summary = "Import a season export into a season",
+            description = "Imports every tournament of a zip archive written by the season export in one " +
+                    "transaction and reports the rows inserted per second.")
+    ResponseEntity<TournamentImportDTO> importSeason(@PathVariable("id") String seasonName,
+                                                    @RequestParam("file") MultipartFile file) {
+        Path archive = null;
+        try {
+            // The archive is read entry by entry from a file, twice per entry
+            archive = Files.createTempFile("season_import_", ".zip");
+            file.transferTo(archive);
+            return ResponseEntity.ok(tournamentImporter.importSeason(archive, seasonName));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        } finally {
+            if (archive != null) {
+                try {
+                    Files.deleteIfExists(archive);
+                } catch (IOException ignored) {
+                    // Left for the temp directory cleanup
+                }
+            }
+        }
+    }
+
     // ==================== Update Season ====================
     @PostMapping("/{seasonName}/finish")
     @Operation(summary = "Finish a season and get season standing")
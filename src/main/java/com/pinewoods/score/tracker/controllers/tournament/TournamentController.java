@@ -2,15 +2,23 @@ package com.pinewoods.score.tracker.controllers.tournament;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.pinewoods.score.tracker.controllers.admin.utilities.ControllerUtilities;
-import com.pinewoods.score.tracker.dao.admin.PlayerRepository;
 import com.pinewoods.score.tracker.dao.course.CourseRepository;
+import com.pinewoods.score.tracker.dto.ReadView;
 import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.dto.tournament.ExpectedScoreDTO;
+import com.pinewoods.score.tracker.dto.tournament.LeaderboardEntryDTO;
 import com.pinewoods.score.tracker.dto.tournament.TournamentDTO;
+import com.pinewoods.score.tracker.dto.tournament.TournamentImportDTO;
+import com.pinewoods.score.tracker.dto.tournament.TournamentRescoreDTO;
+import com.pinewoods.score.tracker.dto.tournament.TournamentSummaryDTO;
+import com.pinewoods.score.tracker.entities.tournament.ScoringDefinition;
 import com.pinewoods.score.tracker.entities.tournament.Tournament;
 import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
-import com.pinewoods.score.tracker.services.course.CourseService;
 import com.pinewoods.score.tracker.services.scoring.IScoringStrategy;
 import com.pinewoods.score.tracker.services.scoring.ScoringStrategyFactory;
+import com.pinewoods.score.tracker.services.tournament.LeaderboardPublisher;
+import com.pinewoods.score.tracker.services.tournament.TournamentExporter;
+import com.pinewoods.score.tracker.services.tournament.TournamentImporter;
 import com.pinewoods.score.tracker.services.tournament.TournamentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -18,7 +26,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -27,31 +34,39 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.net.URI;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/tournaments")
 @RequiredArgsConstructor
 @Tag(name = "Tournament Management", description = "Endpoints for managing the golf tournament lifecycle")
 public class TournamentController {
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+    private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
 
     private final TournamentService tournamentService;
     private final ScoringStrategyFactory strategyFactory;
-    private final PlayerRepository playerRepository;
     private final CourseRepository courseRepository;
-
-    private final CourseService courseService;
+    private final LeaderboardPublisher leaderboardPublisher;
+    private final TournamentExporter tournamentExporter;
+    private final TournamentImporter tournamentImporter;
 
     @PostMapping("/start")
     @Operation(summary = "Create and start a new tournament session",
             description = "Initializes the scoring strategy and parks it in memory until the tournament is finalized.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Tournament successfully started"),
+            @ApiResponse(responseCode = "400", description = "Unknown format, or a STABLEFORD format without a points map"),
             @ApiResponse(responseCode = "404", description = "Season not found")
     })
     public ResponseEntity<TournamentDTO> startTournament(@Valid @RequestBody TournamentCreateRequest request) {
@@ -64,8 +79,7 @@ public class TournamentController {
                 courseId,
                 request.getPointsMap(),
                 request.getHandicapMultiplier(),
-                playerRepository,
-                courseService
+                request.getCustomScoring()
         );
 
         Tournament tournament = tournamentService.createTournament(
@@ -82,37 +96,117 @@ public class TournamentController {
     @PostMapping("/{id}/end")
     @Operation(summary = "End and finalize the tournament",
             description = "Calculates awards (100/66/33), updates team standings, and clears the session from memory.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tournament ended"),
+            @ApiResponse(responseCode = "404", description = "Tournament not found"),
+            @ApiResponse(responseCode = "409", description = "Accepted flights are still being linked; retry later")
+    })
     public ResponseEntity<Void> endTournament(@PathVariable Long id) {
         tournamentService.endTournament(id);
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/rescore")
+    @Operation(summary = "Re-score all flights of an active tournament",
+            description = "Recalculates the leaderboard with the current course and reports the time per phase. " +
+                    "Playing handicaps stay as frozen at the start unless refreshHandicaps is set.")
+    public ResponseEntity<TournamentRescoreDTO> rescoreTournament(
+            @PathVariable Long id,
+            @RequestParam(value = "refreshHandicaps", defaultValue = "false") boolean refreshHandicaps) {
+        return ResponseEntity.ok(tournamentService.rescoreTournament(id, refreshHandicaps));
+    }
+
     @GetMapping("/{tournamentName}")
     @Operation(summary = "Get tournament by the name",
-            description = "Returns a list of tournaments with the given name")
-    public ResponseEntity<List<TournamentDTO>> getTournamentByName(@PathVariable String tournamentName) {
-        List<TournamentDTO> tournaments = tournamentService.getTournamentsByName(tournamentName);
-        return ResponseEntity.ok(tournaments);
+            description = "Returns a list of tournaments with the given name. The detail view, the default, " +
+                    "includes awards, flights and scores; the summary view has flight and player counts only.")
+    public ResponseEntity<List<?>> getTournamentByName(
+            @PathVariable String tournamentName,
+            @RequestParam(value = "view", defaultValue = "detail") String view,
+            WebRequest request) {
+        ReadView readView = ReadView.of(view);
+        // Both views share the tournaments' version, so the view is part of the tag
+        String eTag = tournamentService.getTournamentsETag(tournamentName);
+        return conditional(request, eTag.substring(0, eTag.length() - 1) + "-" + readView + "\"",
+                () -> readView == ReadView.DETAIL
+                        ? tournamentService.getTournamentsByName(tournamentName)
+                        : tournamentService.getTournamentSummariesByName(tournamentName));
     }
 
     @GetMapping("/{seasonName}/{tournamentName}")
     @Operation(summary = "Get a tournament by name and season name")
     public ResponseEntity<TournamentDTO> getTournament(@PathVariable("tournamentName") String tournamentName,
-                                                       @PathVariable("seasonName") String seasonName) {
-        return ResponseEntity.ok(tournamentService.getTournamentBySeasonAndName(seasonName, tournamentName).toDTO());
+                                                       @PathVariable("seasonName") String seasonName,
+                                                       WebRequest request) {
+        String eTag = tournamentService.findTournamentId(seasonName, tournamentName)
+                .map(tournamentService::getTournamentETag)
+                .orElse(null);
+        return conditional(request, eTag,
+                () -> tournamentService.getTournamentDetail(seasonName, tournamentName));
     }
 
     @GetMapping("")
-    @Operation(summary = "Get all active tournaments")
-    public ResponseEntity<List<TournamentDTO>> getAllActiveTournaments() {
+    @Operation(summary = "Get all active tournaments",
+            description = "Returns a summary of each running tournament with its flight and player counts.")
+    public ResponseEntity<List<TournamentSummaryDTO>> getAllActiveTournaments() {
         return ResponseEntity.ok(tournamentService.getAllActiveTournaments());
     }
 
     @GetMapping("/{seasonName}/{tournamentName}/leaderBoard")
     @Operation(summary = "Get the current tournament's leaderboard")
     public ResponseEntity<List<FlightScoreDTO>> getLeaderBoard(@PathVariable("tournamentName") String tournamentName,
-                                                               @PathVariable("seasonName") String seasonName) {
-        return ResponseEntity.ok(tournamentService.getTournamentLeaderBoard(seasonName, tournamentName));
+                                                               @PathVariable("seasonName") String seasonName,
+                                                               WebRequest request) {
+        String eTag = tournamentService.findTournamentId(seasonName, tournamentName)
+                .map(tournamentService::getLeaderboardETag)
+                .orElse(null);
+        return conditional(request, eTag,
+                () -> tournamentService.getTournamentLeaderBoard(seasonName, tournamentName));
+    }
+
+    @GetMapping("/{tournamentId}/leaderboard")
+    @Operation(summary = "Get a page of the ranked leaderboard",
+            description = "Returns the entries from rank offset + 1 onwards; offset 0 gives the top of the board.")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboardPage(
+            @PathVariable("tournamentId") Long tournamentId,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "10") int limit,
+            WebRequest request) {
+        return conditional(request, tournamentService.getLeaderboardETag(tournamentId),
+                () -> tournamentService.getLeaderboardPage(tournamentId, offset, limit));
+    }
+
+    @GetMapping(value = "/{tournamentId}/leaderboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live leaderboard changes",
+            description = "Sends a 'snapshot' event with the whole board, then a 'delta' event with the changed " +
+                    "entries and removed players after every linked flight or re-score. A 'closed' event is sent " +
+                    "when the tournament ends.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "409", description = "Tournament has no running session")
+    })
+    public SseEmitter streamLeaderboard(@PathVariable("tournamentId") Long tournamentId) {
+        return leaderboardPublisher.subscribe(tournamentId);
+    }
+
+    @GetMapping("/{tournamentId}/leaderboard/{playerId}")
+    @Operation(summary = "Get the rank and score of a player on the leaderboard")
+    public ResponseEntity<LeaderboardEntryDTO> getLeaderboardEntry(@PathVariable("tournamentId") Long tournamentId,
+                                                                   @PathVariable("playerId") Long playerId,
+                                                                   WebRequest request) {
+        return conditional(request, tournamentService.getLeaderboardETag(tournamentId),
+                () -> tournamentService.getLeaderboardEntry(tournamentId, playerId));
+    }
+
+    @GetMapping("/{tournamentId}/leaderboard/{playerId}/around")
+    @Operation(summary = "Get the leaderboard entries around a player")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboardAround(
+            @PathVariable("tournamentId") Long tournamentId,
+            @PathVariable("playerId") Long playerId,
+            @RequestParam(value = "span", defaultValue = "2") int span,
+            WebRequest request) {
+        return conditional(request, tournamentService.getLeaderboardETag(tournamentId),
+                () -> tournamentService.getLeaderboardAround(tournamentId, playerId, span));
     }
 
     @GetMapping("/{tournamentId}/{playerId}/score")
@@ -122,6 +216,13 @@ public class TournamentController {
         return ResponseEntity.ok(tournamentService.getDefaultScores(tournamentId, playerId));
     }
 
+    @GetMapping("/{tournamentId}/expected-scores")
+    @Operation(summary = "Get the net pars of every entrant of a running tournament",
+            description = "Returns each entrant's playing handicap and net par per hole in one response.")
+    public ResponseEntity<List<ExpectedScoreDTO>> getExpectedScores(@PathVariable("tournamentId") Long tournamentId) {
+        return ResponseEntity.ok(tournamentService.getExpectedScores(tournamentId));
+    }
+
     // ------------ Delete Tournament -----------
     @DeleteMapping("/{tournamentId}")
     @Operation(summary = "Delete a tournament by name")
@@ -144,46 +245,71 @@ public class TournamentController {
         private String seasonName;
         @JsonProperty("strategy_type")
         @NotBlank
-        private String strategyType; // "STABLEFORD", "STROKEPLAY", etc.
+        private String strategyType; // "STABLEFORD", "STROKEPLAY", "CUSTOM"...
         @JsonProperty("courseName")
         private String courseName;
+        // Only used by "STABLEFORD", which requires it. Skipped differences score like the nearest lower one.
         @JsonProperty("pointsMap")
-        @NotEmpty
         private Map<Integer, Integer> pointsMap;
         @JsonProperty("handicapMultiplier")
         private double handicapMultiplier;
+        @JsonProperty("customScoring")
+        private ScoringDefinition customScoring; // Only used by "CUSTOM"
+    }
+
+    /**
+     * Answers 304 Not Modified when the request's If-None-Match holds the current tag, before the body is
+     * loaded or mapped. Without a tag the body is always returned.
+     */
+    private static <T> ResponseEntity<T> conditional(WebRequest request, String eTag, Supplier<T> body) {
+        if (eTag == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(body.get());
     }
 
     // ============= Import and export ================
     @GetMapping("/{id}/export")
-    public ResponseEntity<byte[]> exportTournament(@PathVariable Long id) {
-        try {
-            byte[] jsonData = tournamentService.exportTournament(id);
-            String filename = "tournament_export_" + id + ".json";
+    @Operation(summary = "Export a finished tournament",
+            description = "Streams the tournament as JSON, gzip compressed if gzip is set.")
+    public ResponseEntity<StreamingResponseBody> exportTournament(
+            @PathVariable Long id,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        TournamentExporter.ExportHeader header = tournamentExporter.getExportHeader(id);
+        String filename = header.fileName() + (gzip ? ".gz" : "");
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .body(jsonData);
-        } catch (IOException e) {
-            return ResponseEntity.internalServerError().build();
-        }
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, EXPORT_BUFFER_SIZE);
+                tournamentExporter.writeTournament(header, compressed);
+                compressed.finish();
+            } else {
+                tournamentExporter.writeTournament(header, out);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(gzip ? GZIP : MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     /**
-     * Uploads a previously exported JSON file to import it into a season.
+     * Uploads a previously exported JSON file, plain or gzip compressed, to import it into a season.
      */
     @PostMapping("/import")
-    public ResponseEntity<String> importTournament(
+    @Operation(summary = "Import an exported tournament",
+            description = "Streams the file into the season and reports the rows inserted per second.")
+    public ResponseEntity<TournamentImportDTO> importTournament(
             @RequestParam("file") MultipartFile file,
             @RequestParam("seasonName") String seasonName) {
         try {
-            tournamentService.importTournament(file.getBytes(), seasonName);
-            return ResponseEntity.ok("Tournament imported successfully into " + seasonName);
+            return ResponseEntity.ok(tournamentImporter.importTournament(file, seasonName));
         } catch (IOException e) {
-            return ResponseEntity.badRequest().body("Failed to process the import file.");
-        } catch (ResourceNotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+            return ResponseEntity.badRequest().build();
         }
     }
 }
@@ -1,13 +1,40 @@
 package com.pinewoods.score.tracker.dao.admin;
 
 import com.pinewoods.score.tracker.entities.admin.Player;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface PlayerRepository extends JpaRepository<Player, Long> {
     Optional<Player> findByName(String name);
     List<Player> findByTeam_Name(String teamName);
     boolean existsByName(String name);
+
+    /**
+     * @return rows of player id, team id and team name for the given players
+     */
+    @Query("select p.id, t.id, t.name from Player p join p.team t where p.id in :ids")
+    List<Object[]> findTeamsByPlayerIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * @return rows of player id and name for the players with the given names
+     */
+    @Query("select p.id, p.name from Player p where p.name in :names")
+    List<Object[]> findIdsByNames(@Param("names") Collection<String> names);
+
+    /**
+     * @return rows of player id and name for the players with the given ids
+     */
+    @Query("select p.id, p.name from Player p where p.id in :ids")
+    List<Object[]> findNamesByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * @return rows of player id and handicap for the players on a team, who can enter a tournament
+     */
+    @Query("select p.id, p.handicap from Player p where p.team is not null")
+    List<Object[]> findHandicapsOfTeamPlayers();
 }
@@ -2,6 +2,33 @@ package com.pinewoods.score.tracker.dao.flight;
 
 import com.pinewoods.score.tracker.entities.flight.Flight;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+import java.util.Collection;
+import java.util.List;
+
+public interface FlightRepository extends JpaRepository<Flight, Long>, FlightRepositoryCustom {
+
+    /**
+     * Loads the flights linked to a tournament together with their scores and players,
+     * so they can be scored outside of a persistence context.
+     */
+    @Query("select distinct f from Tournament t join t.flights f " +
+            "left join fetch f.flightScores fs left join fetch fs.player where t.id = :tournamentId")
+    List<Flight> findAllByTournamentId(@Param("tournamentId") long tournamentId);
+
+    @Query("select distinct f from Tournament t join t.flights f " +
+            "left join fetch f.flightScores fs left join fetch fs.player where t.id in :tournamentIds")
+    List<Flight> findAllByTournamentIds(@Param("tournamentIds") Collection<Long> tournamentIds);
+
+    @Query("select distinct f from Flight f left join fetch f.flightScores fs left join fetch fs.player p " +
+            "left join fetch p.team where f.id in :ids")
+    List<Flight> findAllWithScoresByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * @return rows of player id and player name for the scores of the flight
+     */
+    @Query("select p.id, p.name from FlightScore fs join fs.player p where fs.flight.id = :id")
+    List<Object[]> findPlayersById(@Param("id") long id);
 }
@@ -0,0 +1,69 @@
+package com.pinewoods.score.tracker.dao.flight;
+
+import com.pinewoods.score.tracker.dto.flight.FlightDTO;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface FlightRepositoryCustom {
+
+    /**
+     * Optional criteria of a flight listing; {@code null} fields match every flight.
+     *
+     * @param playerName flights with a card of this player
+     * @param courseName flights with a card on this course
+     * @param from flights played at or after this time
+     * @param to flights played before this time
+     */
+    record FlightFilter(String playerName, String courseName, LocalDateTime from, LocalDateTime to) {}
+
+    /**
+     * Position of the last flight of a page. Flights are listed newest first, by date and then id.
+     */
+    record FlightCursor(LocalDateTime date, long id) {
+        private static final String SEPARATOR = "_";
+
+        /**
+         * @param cursor cursor handed out with the previous page
+         * @throws IllegalArgumentException if the cursor is malformed
+         */
+        public static FlightCursor parse(String cursor) {
+            int separator = cursor.lastIndexOf(SEPARATOR);
+            try {
+                return new FlightCursor(LocalDateTime.parse(cursor.substring(0, separator)),
+                        Long.parseLong(cursor.substring(separator + 1)));
+            } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return date + SEPARATOR + id;
+        }
+    }
+
+    /**
+     * Flights with their scores and player names, newest first, read with a single query.
+     */
+    record FlightPage(List<FlightDTO> flights, FlightCursor last) {}
+
+    /**
+     * @param filter criteria the flights must match
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit maximum number of flights
+     * @return the page and the cursor of its last flight, {@code null} if the page is empty
+     */
+    FlightPage findPage(FlightFilter filter, FlightCursor after, int limit);
+
+    /**
+     * Reads every matching flight, newest first, with a cursor so memory use does not grow with the number of
+     * flights. Must run inside a transaction.
+     *
+     * @param filter criteria the flights must match
+     * @param consumer called once per flight, in order
+     */
+    void forEach(FlightFilter filter, Consumer<FlightDTO> consumer);
+}
@@ -0,0 +1,130 @@
+package com.pinewoods.score.tracker.dao.flight;
+
+import com.pinewoods.score.tracker.dto.flight.FlightDTO;
+import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.entities.flight.HoleScoresConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class FlightRepositoryImpl implements FlightRepositoryCustom {
+    private static final int FETCH_SIZE = 500;
+    private static final HoleScoresConverter HOLE_SCORES = new HoleScoresConverter();
+
+    // The CTE picks the flights on the index of (date, id); their scores are joined in the same statement
+    private static final String SELECT_SCORES =
+            "SELECT page.id, page.date, p.name AS player_name, fs.score, fs.birdies, fs.hole_bytes, fs.course_name " +
+                    "FROM page " +
+                    "LEFT JOIN flight_scores fs ON fs.flight_id = page.id " +
+                    "LEFT JOIN players p ON p.id = fs.player_id " +
+                    "ORDER BY page.date DESC, page.id DESC, fs.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public FlightPage findPage(FlightFilter filter, FlightCursor after, int limit) {
+        List<Object> args = new ArrayList<>();
+        String sql = "WITH page AS (" + selectFlights(filter, after, args) + " LIMIT ?) " + SELECT_SCORES;
+        args.add(limit);
+
+        List<FlightDTO> flights = new ArrayList<>();
+        LocalDateTime[] lastDate = new LocalDateTime[1];
+        FlightRows rows = new FlightRows(flights::add);
+        jdbcTemplate.query(sql, rs -> {
+            lastDate[0] = rs.getObject("date", LocalDateTime.class);
+            rows.add(rs);
+        }, args.toArray());
+        rows.finish();
+
+        FlightCursor last = flights.isEmpty() ? null : new FlightCursor(lastDate[0], flights.getLast().id());
+        return new FlightPage(flights, last);
+    }
+
+    @Override
+    public void forEach(FlightFilter filter, Consumer<FlightDTO> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = "WITH page AS (" + selectFlights(filter, null, args) + ") " + SELECT_SCORES;
+
+        FlightRows rows = new FlightRows(consumer);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                ps.setObject(i + 1, args.get(i));
+            }
+            return ps;
+        }, rows::add);
+        rows.finish();
+    }
+
+    private static String selectFlights(FlightFilter filter, FlightCursor after, List<Object> args) {
+        StringBuilder sql = new StringBuilder("SELECT f.id, f.date FROM flights f WHERE TRUE");
+        if (filter.playerName() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM flight_scores s JOIN players sp ON sp.id = s.player_id " +
+                    "WHERE s.flight_id = f.id AND sp.name = ?)");
+            args.add(filter.playerName());
+        }
+        if (filter.courseName() != null) {
+            sql.append(" AND EXISTS (SELECT 1 FROM flight_scores s WHERE s.flight_id = f.id AND s.course_name = ?)");
+            args.add(filter.courseName());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND f.date >= ?");
+            args.add(filter.from());
+        }
+        if (filter.to() != null) {
+            sql.append(" AND f.date < ?");
+            args.add(filter.to());
+        }
+        if (after != null) {
+            sql.append(" AND (f.date, f.id) < (?, ?)");
+            args.add(after.date());
+            args.add(after.id());
+        }
+        return sql.append(" ORDER BY f.date DESC, f.id DESC").toString();
+    }
+
+    /**
+     * Groups the joined rows, one per score, back into flights.
+     */
+    @RequiredArgsConstructor
+    private static final class FlightRows {
+        private final Consumer<FlightDTO> consumer;
+        private long flightId = -1;
+        private Timestamp date;
+        private List<FlightScoreDTO> scores;
+
+        void add(ResultSet rs) throws SQLException {
+            long id = rs.getLong("id");
+            if (id != flightId) {
+                finish();
+                flightId = id;
+                date = rs.getTimestamp("date");
+                scores = new ArrayList<>();
+            }
+
+            String playerName = rs.getString("player_name");
+            if (playerName == null) {
+                return; // Flight without scores
+            }
+            scores.add(new FlightScoreDTO(playerName, rs.getInt("score"), rs.getInt("birdies"),
+                    HOLE_SCORES.convertToEntityAttribute(rs.getBytes("hole_bytes")), rs.getString("course_name")));
+        }
+
+        void finish() {
+            if (scores != null) {
+                consumer.accept(new FlightDTO(date, scores, flightId));
+                scores = null;
+            }
+        }
+    }
+}
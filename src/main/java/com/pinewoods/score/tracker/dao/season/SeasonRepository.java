@@ -2,6 +2,7 @@ package com.pinewoods.score.tracker.dao.season;
 
 import com.pinewoods.score.tracker.entities.season.Season;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,4 +10,7 @@ import java.util.Optional;
 public interface SeasonRepository extends JpaRepository<Season, Long> {
     Optional<Season> findByName(String name);
     List<Season> findByNameStartingWith(String datePrefix);
+
+    @Query("select s.name from Season s order by s.id")
+    List<String> findAllNames();
 }
@@ -2,11 +2,16 @@ package com.pinewoods.score.tracker.dao.season;
 
 import com.pinewoods.score.tracker.entities.season.TeamStanding;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface TeamStandingRepository extends JpaRepository<TeamStanding, Long> {
+public interface TeamStandingRepository extends JpaRepository<TeamStanding, Long>, TeamStandingRepositoryCustom {
     Optional<TeamStanding> findBySeasonNameAndTeamName(String seasonName, String teamName);
     List<TeamStanding> findAllByTeamName(String TeamName);
+
+    @Query("select ts from TeamStanding ts join fetch ts.team where ts.season.id = :seasonId order by ts.id")
+    List<TeamStanding> findAllWithTeamBySeasonId(@Param("seasonId") Long seasonId);
 }
@@ -0,0 +1,30 @@
+package com.pinewoods.score.tracker.dao.season;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface TeamStandingRepositoryCustom {
+
+    /**
+     * Points and wins a team gained in one tournament.
+     */
+    record TeamResult(long teamId, int points, int wins) {}
+
+    /**
+     * Adds tournament results to the season standings in one batched statement, creating the
+     * standings of teams that have none yet.
+     *
+     * @param seasonId season id
+     * @param results results per team
+     */
+    void addResults(long seasonId, Collection<TeamResult> results);
+
+    /**
+     * Atomically adds birdies to existing season standings, one batched statement for all teams.
+     * Teams without a standing in the season are left alone.
+     *
+     * @param seasonId season id
+     * @param birdiesByTeam birdies to add per team id, negative to take birdies off, e.g. after a re-score
+     */
+    void addBirdies(long seasonId, Map<Long, Integer> birdiesByTeam);
+}
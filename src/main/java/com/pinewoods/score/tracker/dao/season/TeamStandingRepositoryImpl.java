@@ -0,0 +1,47 @@
+package com.pinewoods.score.tracker.dao.season;
+
+import com.pinewoods.score.tracker.entities.IdSequences;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class TeamStandingRepositoryImpl implements TeamStandingRepositoryCustom {
+    // A nextval reserves a whole pooled-lo block, so the id never collides with one Hibernate hands out.
+    // Needs the unique index on (season_id, team_id) that TeamStandingMigration guarantees.
+    private static final String UPSERT_RESULT =
+            "INSERT INTO team_standing (id, season_id, team_id, points, wins, losses, draws, birdies) " +
+                    "VALUES (nextval('" + IdSequences.TEAM_STANDING + "'), ?, ?, ?, ?, 0, 0, 0) " +
+                    "ON CONFLICT (season_id, team_id) DO UPDATE SET " +
+                    "points = team_standing.points + EXCLUDED.points, " +
+                    "wins = team_standing.wins + EXCLUDED.wins";
+    private static final String ADD_BIRDIES =
+            "UPDATE team_standing SET birdies = birdies + ? WHERE season_id = ? AND team_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addResults(long seasonId, Collection<TeamResult> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = results.stream()
+                .map(r -> new Object[]{seasonId, r.teamId(), r.points(), r.wins()})
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_RESULT, rows);
+    }
+
+    @Override
+    public void addBirdies(long seasonId, Map<Long, Integer> birdiesByTeam) {
+        if (birdiesByTeam.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = birdiesByTeam.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), seasonId, e.getKey()})
+                .toList();
+        jdbcTemplate.batchUpdate(ADD_BIRDIES, rows);
+    }
+}
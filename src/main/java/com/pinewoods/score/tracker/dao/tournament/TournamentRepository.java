@@ -1,11 +1,72 @@
 package com.pinewoods.score.tracker.dao.tournament;
 
+import com.pinewoods.score.tracker.dto.tournament.TournamentSummaryDTO;
 import com.pinewoods.score.tracker.entities.tournament.Tournament;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TournamentRepository extends JpaRepository<Tournament, Long> {
     List<Tournament> findBySeasonId(Long seasonId);
     List<Tournament> findAllByName(String name);
+
+    @Query("select t from Tournament t where t.isFinished = false")
+    List<Tournament> findAllActive();
+
+    String SUMMARY_SELECT = "select new com.pinewoods.score.tracker.dto.tournament.TournamentSummaryDTO(" +
+            "t.id, t.name, s.id, s.name, t.strategyName, " +
+            "(select count(f) from Tournament t2 join t2.flights f where t2.id = t.id), " +
+            "(select count(distinct fs.player.id) from Tournament t3 join t3.flights f3 join f3.flightScores fs " +
+            "where t3.id = t.id)) " +
+            "from Tournament t join t.season s ";
+
+    /**
+     * @return summaries of the running tournaments, without loading their flights
+     */
+    @Query(SUMMARY_SELECT + "where t.isFinished = false order by t.id")
+    List<TournamentSummaryDTO> findActiveSummaries();
+
+    @Query(SUMMARY_SELECT + "where t.name = :name order by t.id")
+    List<TournamentSummaryDTO> findSummariesByName(@Param("name") String name);
+
+    @Query(SUMMARY_SELECT + "where s.id = :seasonId order by t.id")
+    List<TournamentSummaryDTO> findSummariesBySeasonId(@Param("seasonId") Long seasonId);
+
+    @Query("select t.id from Tournament t where t.season.id = :seasonId order by t.id")
+    List<Long> findIdsBySeasonId(@Param("seasonId") Long seasonId);
+
+    /**
+     * Loads tournaments with their season and flights. Load the flights' scores first with
+     * {@link com.pinewoods.score.tracker.dao.flight.FlightRepository#findAllByTournamentIds} so the eager score
+     * collections are already initialized.
+     */
+    @Query("select t from Tournament t join fetch t.season left join fetch t.flights where t.id in :ids order by t.id")
+    List<Tournament> findWithFlightsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Loads a tournament with its frozen playing handicaps, the largest collection its scoring strategy is rebuilt
+     * from. Call inside a transaction, so the small points map can still be loaded lazily.
+     */
+    @Query("select t from Tournament t left join fetch t.playingHandicaps where t.id = :id")
+    Optional<Tournament> findWithHandicapsById(@Param("id") Long id);
+
+    @Query("select t from Tournament t left join fetch t.awards where t.id in :ids")
+    List<Tournament> findWithAwardsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select t.id from Tournament t where t.name = :name order by t.id")
+    List<Long> findIdsByName(@Param("name") String name);
+
+    @Query("select t.id from Tournament t where t.season.name = :seasonName and t.name = :name order by t.id")
+    List<Long> findIdsBySeasonNameAndName(@Param("seasonName") String seasonName, @Param("name") String name);
+
+    /**
+     * @return rows of (player name, award rank) for the tournament's award holders
+     */
+    @Query("select p.name, value(a) from Tournament t join t.awards a join Player p on p.id = key(a) " +
+            "where t.id = :id")
+    List<Object[]> findAwardsWithPlayerNames(@Param("id") long id);
 }
@@ -0,0 +1,24 @@
+package com.pinewoods.score.tracker.dto;
+
+import java.util.Locale;
+
+/**
+ * Shape of a read, selected with the {@code view} query parameter: a summary without flights and scores, or the
+ * full detail.
+ */
+public enum ReadView {
+    SUMMARY,
+    DETAIL;
+
+    /**
+     * @param view "summary" or "detail", in any case
+     * @throws IllegalArgumentException for any other value
+     */
+    public static ReadView of(String view) {
+        return switch (view.toLowerCase(Locale.ROOT)) {
+            case "summary" -> SUMMARY;
+            case "detail" -> DETAIL;
+            default -> throw new IllegalArgumentException("View must be summary or detail: " + view);
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.pinewoods.score.tracker.dto.flight;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record FlightBatchDTO(
+        @Schema(description = "Tournament the flights were linked to, if any", example = "7")
+        Long tournamentId,
+        @Schema(description = "Ids of the created flights, in request order")
+        List<Long> flightIds,
+        @Schema(description = "Number of player scores created", example = "160")
+        int scores,
+        long millis,
+        @Schema(description = "Flights created per second")
+        double flightsPerSecond){}
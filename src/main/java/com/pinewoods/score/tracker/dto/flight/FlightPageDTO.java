@@ -0,0 +1,11 @@
+package com.pinewoods.score.tracker.dto.flight;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record FlightPageDTO(
+        List<FlightDTO> flights,
+        @Schema(description = "Cursor of the next page, null on the last page",
+                example = "2026-05-02T09:14:31.512_1042")
+        String nextCursor){}
@@ -0,0 +1,17 @@
+package com.pinewoods.score.tracker.dto.flight;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record LiveCardDTO(
+        @Schema(description = "Player name", example = "Tiger Woods")
+        String playerName,
+        @Schema(description = "Holes played", example = "9", minimum = "0", maximum = "18")
+        int thru,
+        @Schema(description = "Strokes over the holes played", example = "40")
+        int gross,
+        @Schema(description = "Gross minus the strokes received on the holes played", example = "36")
+        int net,
+        @Schema(description = "Stableford points, 0 unless the tournament is played as Stableford", example = "18")
+        int stableford,
+        @Schema(example = "2", minimum = "0", maximum = "18")
+        int birdies){}
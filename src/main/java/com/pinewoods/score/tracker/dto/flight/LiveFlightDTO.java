@@ -0,0 +1,14 @@
+package com.pinewoods.score.tracker.dto.flight;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record LiveFlightDTO(
+        @Schema(description = "Id of the flight in progress, used to record its holes", example = "3")
+        Long id,
+        Long tournamentId,
+        @Schema(description = "Running totals of each player, in flight order")
+        List<LiveCardDTO> cards,
+        @Schema(description = "Id of the stored flight once every hole is in, null while the round is played")
+        Long flightId){}
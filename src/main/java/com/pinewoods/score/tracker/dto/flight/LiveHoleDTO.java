@@ -0,0 +1,9 @@
+package com.pinewoods.score.tracker.dto.flight;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record LiveHoleDTO(
+        @Schema(description = "Player name", example = "Tiger Woods")
+        String playerName,
+        @Schema(description = "Strokes played on the hole", example = "4", minimum = "1")
+        Integer strokes){}
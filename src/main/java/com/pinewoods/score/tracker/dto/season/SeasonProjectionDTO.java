@@ -0,0 +1,10 @@
+package com.pinewoods.score.tracker.dto.season;
+
+import java.util.List;
+
+public record SeasonProjectionDTO(
+        String seasonName,
+        int remainingTournaments,
+        int simulations,
+        long elapsedMillis,
+        List<TeamProjectionDTO> teams) {}
@@ -0,0 +1,12 @@
+package com.pinewoods.score.tracker.dto.season;
+
+import com.pinewoods.score.tracker.dto.tournament.TournamentSummaryDTO;
+
+import java.util.List;
+
+public record SeasonSummaryDTO(Long id,
+                               String name,
+                               boolean finished,
+                               List<TeamStandingDTO> standings,
+                               List<TournamentSummaryDTO> tournaments) {
+}
@@ -0,0 +1,13 @@
+package com.pinewoods.score.tracker.dto.season;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TeamProjectionDTO(
+        String teamName,
+        @Schema(description = "Points already won this season")
+        int points,
+        @Schema(description = "Average points at the end of the season over all simulations")
+        double expectedPoints,
+        @Schema(description = "Share of simulations in which the team finished first, ties split evenly",
+                example = "0.42")
+        double titleProbability) {}
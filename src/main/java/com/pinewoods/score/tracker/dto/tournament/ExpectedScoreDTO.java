@@ -0,0 +1,14 @@
+package com.pinewoods.score.tracker.dto.tournament;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record ExpectedScoreDTO(
+        Long playerId,
+        @Schema(description = "Player name", example = "Tiger Woods")
+        String playerName,
+        @Schema(description = "Playing handicap frozen for the tournament", example = "12")
+        int playingHandicap,
+        @Schema(description = "Par plus strokes received for each hole")
+        List<Integer> netPars){}
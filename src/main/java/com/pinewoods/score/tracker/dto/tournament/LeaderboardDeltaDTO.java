@@ -0,0 +1,14 @@
+package com.pinewoods.score.tracker.dto.tournament;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record LeaderboardDeltaDTO(
+        Long tournamentId,
+        @Schema(description = "Increases with every update of the leaderboard")
+        long version,
+        @Schema(description = "Entries that are new or whose rank or score changed; the whole board in a snapshot")
+        List<LeaderboardEntryDTO> changed,
+        @Schema(description = "Players no longer on the leaderboard")
+        List<Long> removed){}
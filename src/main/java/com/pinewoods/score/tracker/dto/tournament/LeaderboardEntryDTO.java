@@ -0,0 +1,16 @@
+package com.pinewoods.score.tracker.dto.tournament;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record LeaderboardEntryDTO(
+        @Schema(description = "Position on the leaderboard, starting at 1", example = "1")
+        int rank,
+        Long playerId,
+        @Schema(description = "Player name", example = "Tiger Woods")
+        String playerName,
+        @Schema(example = "36", minimum = "0", maximum = "100")
+        Integer score,
+        @Schema(example = "3", minimum = "0", maximum = "18")
+        Integer birdies,
+        @Schema(description = "Holes played, 18 once the card is finished", example = "18", minimum = "0", maximum = "18")
+        int thru){}
@@ -0,0 +1,15 @@
+package com.pinewoods.score.tracker.dto.tournament;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TournamentImportDTO(
+        String seasonName,
+        @Schema(description = "Number of tournaments imported", example = "1")
+        int tournaments,
+        @Schema(description = "Number of flights imported", example = "40")
+        int flights,
+        @Schema(description = "Number of player scores imported", example = "160")
+        int scores,
+        long millis,
+        @Schema(description = "Flights and scores inserted per second")
+        double rowsPerSecond){}
@@ -0,0 +1,14 @@
+package com.pinewoods.score.tracker.dto.tournament;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TournamentRescoreDTO(
+        Long tournamentId,
+        @Schema(description = "Number of flights re-scored", example = "40")
+        int flights,
+        @Schema(description = "Time spent loading the flights, scores and players")
+        long loadMillis,
+        @Schema(description = "Time spent scoring the flights in parallel")
+        long scoreMillis,
+        @Schema(description = "Time spent swapping the cached leaderboard")
+        long swapMillis){}
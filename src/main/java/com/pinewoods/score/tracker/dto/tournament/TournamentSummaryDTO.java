@@ -0,0 +1,15 @@
+package com.pinewoods.score.tracker.dto.tournament;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record TournamentSummaryDTO(
+        Long id,
+        @Schema(description = "Tournament name", example = "02_02_2026_PineWoodsMMR")
+        String name,
+        Long seasonId,
+        String seasonName,
+        String strategyName,
+        @Schema(description = "Number of flights linked so far", example = "10")
+        Long flightCount,
+        @Schema(description = "Number of players with a card", example = "40")
+        Long playerCount){}
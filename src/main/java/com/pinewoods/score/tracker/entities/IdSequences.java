@@ -0,0 +1,19 @@
+package com.pinewoods.score.tracker.entities;
+
+/**
+ * Sequences of the write-heavy entities. Hibernate hands out ids from blocks of {@link #ALLOCATION_SIZE} with the
+ * pooled-lo optimizer: a {@code nextval} of {@code n} reserves ids {@code n} to {@code n + ALLOCATION_SIZE - 1},
+ * so inserts need no round trip for their id and can be sent as JDBC batches. JDBC writers reserve ids the
+ * same way.
+ */
+public final class IdSequences {
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String FLIGHTS = "flights_seq";
+    public static final String FLIGHT_SCORES = "flight_scores_seq";
+    public static final String TOURNAMENTS = "tournaments_seq";
+    public static final String TEAM_STANDING = "team_standing_seq";
+
+    private IdSequences() {
+    }
+}
@@ -2,6 +2,7 @@ package com.pinewoods.score.tracker.entities.flight;
 
 import com.pinewoods.score.tracker.dto.flight.FlightDTO;
 import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.entities.IdSequences;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +13,7 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "flights")
+@Table(name = "flights", indexes = @Index(name = "idx_flights_date_id", columnList = "date, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,7 +22,9 @@ import java.util.List;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Flight {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.FLIGHTS)
+    @SequenceGenerator(name = IdSequences.FLIGHTS, sequenceName = IdSequences.FLIGHTS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private long id;
 
     @NotNull
@@ -1,6 +1,7 @@
 package com.pinewoods.score.tracker.entities.flight;
 
 import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.entities.IdSequences;
 import com.pinewoods.score.tracker.entities.admin.Player;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -18,13 +19,17 @@ import java.util.List;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class FlightScore {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.FLIGHT_SCORES)
+    @SequenceGenerator(name = IdSequences.FLIGHT_SCORES, sequenceName = IdSequences.FLIGHT_SCORES,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "id")
     private int id;
 
     @NotNull
     Integer score;
 
+    @Convert(converter = HoleScoresConverter.class)
+    @Column(name = "hole_bytes")
     List<Integer> holeScores;
 
     String courseName;
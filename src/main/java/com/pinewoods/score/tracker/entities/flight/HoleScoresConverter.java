@@ -0,0 +1,52 @@
+package com.pinewoods.score.tracker.entities.flight;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores hole scores as one unsigned byte per hole (18 bytes for a full round) instead of a
+ * serialized {@code ArrayList}. Single holes can be queried in SQL with {@code get_byte(hole_bytes, n)}.
+ */
+@Converter
+public class HoleScoresConverter implements AttributeConverter<List<Integer>, byte[]> {
+    public static final int MAX_STROKES = 0xFF;
+
+    @Override
+    public byte[] convertToDatabaseColumn(List<Integer> holeScores) {
+        if (holeScores == null) {
+            return null;
+        }
+        byte[] packed = new byte[holeScores.size()];
+        for (int i = 0; i < packed.length; i++) {
+            packed[i] = pack(holeScores.get(i));
+        }
+        return packed;
+    }
+
+    @Override
+    public List<Integer> convertToEntityAttribute(byte[] packed) {
+        if (packed == null) {
+            return null;
+        }
+        List<Integer> holeScores = new ArrayList<>(packed.length);
+        for (byte strokes : packed) {
+            holeScores.add(Byte.toUnsignedInt(strokes));
+        }
+        return holeScores;
+    }
+
+    /**
+     * @param strokes strokes on a hole
+     * @return the strokes packed into an unsigned byte
+     * @throws IllegalArgumentException if the strokes are missing or do not fit into a byte
+     */
+    public static byte pack(Integer strokes) {
+        if (strokes == null || strokes < 0 || strokes > MAX_STROKES) {
+            throw new IllegalArgumentException("Hole score must be between 0 and " + MAX_STROKES + ": " + strokes);
+        }
+        return (byte) strokes.intValue();
+    }
+}
@@ -1,11 +1,13 @@
 package com.pinewoods.score.tracker.entities.season;
 
 import com.pinewoods.score.tracker.dto.season.TeamStandingDTO;
+import com.pinewoods.score.tracker.entities.IdSequences;
 import com.pinewoods.score.tracker.entities.admin.Team;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"season_id", "team_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,7 +16,9 @@ import lombok.*;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class TeamStanding {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.TEAM_STANDING)
+    @SequenceGenerator(name = IdSequences.TEAM_STANDING, sequenceName = IdSequences.TEAM_STANDING,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(optional = false)
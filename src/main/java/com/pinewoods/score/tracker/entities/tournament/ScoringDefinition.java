@@ -0,0 +1,46 @@
+package com.pinewoods.score.tracker.entities.tournament;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/**
+ * Definition of a CUSTOM scoring format. Formulas are compiled once when the tournament starts,
+ * see {@link com.pinewoods.score.tracker.services.scoring.formula.ScoringFormula}.
+ */
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScoringDefinition {
+    @JsonProperty("holeFormula")
+    @Schema(description = "Points for a single hole. Variables: gross, net, par, index, strokes, toPar, hole",
+            example = "max(0, 2 - toPar)")
+    @Column(name = "custom_hole_formula", length = 1024)
+    private String holeFormula;
+
+    @JsonProperty("aggregate")
+    @Schema(description = "How hole points are combined: SUM (default), MAX or MIN", example = "SUM")
+    @Column(name = "custom_aggregate")
+    private String aggregate;
+
+    @JsonProperty("totalFormula")
+    @Schema(description = "Final score of the card. Variables: points, gross, net, par, handicap, birdies",
+            example = "points")
+    @Column(name = "custom_total_formula", length = 1024)
+    private String totalFormula;
+
+    @JsonProperty("holeMax")
+    @Schema(description = "Upper cap on the points of a single hole", example = "5")
+    @Column(name = "custom_hole_max")
+    private Integer holeMax;
+
+    @JsonProperty("totalMax")
+    @Schema(description = "Upper cap on the final score of the card")
+    @Column(name = "custom_total_max")
+    private Integer totalMax;
+}
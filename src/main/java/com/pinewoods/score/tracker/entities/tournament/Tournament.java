@@ -3,6 +3,7 @@ package com.pinewoods.score.tracker.entities.tournament;
 import com.pinewoods.score.tracker.dao.admin.PlayerRepository;
 import com.pinewoods.score.tracker.dto.flight.FlightDTO;
 import com.pinewoods.score.tracker.dto.tournament.TournamentDTO;
+import com.pinewoods.score.tracker.entities.IdSequences;
 import com.pinewoods.score.tracker.entities.season.Season;
 import com.pinewoods.score.tracker.entities.flight.Flight;
 import com.pinewoods.score.tracker.services.scoring.IScoringStrategy;
@@ -14,7 +15,7 @@ import lombok.*;
 import java.util.*;
 
 @Entity
-@Table(name = "tournaments")
+@Table(name = "tournaments", indexes = @Index(name = "idx_tournaments_is_finished", columnList = "is_finished"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,7 +25,9 @@ import java.util.*;
 public class Tournament {
     @Id
     @EqualsAndHashCode.Include
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.TOURNAMENTS)
+    @SequenceGenerator(name = IdSequences.TOURNAMENTS, sequenceName = IdSequences.TOURNAMENTS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private long id;
 
     @NotNull
@@ -43,6 +46,27 @@ public class Tournament {
 
     private String strategyName; // e.g., "STABLEFORD"
 
+    // Strategy configuration, kept so the session can be rebuilt after a restart
+    private Long courseId;
+
+    private double handicapMultiplier;
+
+    @ElementCollection
+    @CollectionTable(name = "tournament_points_map", joinColumns = @JoinColumn(name = "tournament_id"))
+    @MapKeyColumn(name = "score_to_par")
+    @Column(name = "points")
+    private Map<Integer, Integer> pointsMap = new HashMap<>();
+
+    @Embedded
+    private ScoringDefinition scoringDefinition;
+
+    // Playing handicaps frozen when the tournament started, kept for audit and restarts
+    @ElementCollection
+    @CollectionTable(name = "tournament_handicaps", joinColumns = @JoinColumn(name = "tournament_id"))
+    @MapKeyColumn(name = "player_id")
+    @Column(name = "playing_handicap")
+    private Map<Long, Integer> playingHandicaps = new HashMap<>();
+
     @Transient
     private IScoringStrategy scoringEngine;
 
@@ -0,0 +1,10 @@
+package com.pinewoods.score.tracker.services.admin;
+
+/**
+ * Published when a player is renamed or deleted, so the cards shown with their name change too, and handled once
+ * the change is committed.
+ *
+ * @param playerId player id
+ */
+public record PlayerChangedEvent(long playerId) {
+}
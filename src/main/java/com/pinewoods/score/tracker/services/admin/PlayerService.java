@@ -15,6 +15,7 @@ import com.pinewoods.score.tracker.exceptions.ResourceConflictException;
 import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
 import java.util.List;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -33,14 +34,16 @@ public class PlayerService {
     private final TeamRepository teamRepository;
     private final BCryptPasswordEncoder passwordEncoder;
     private final FlightScoreRepository flightScoreRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PlayerService(PlayerRepository playerRepository, TeamRepository teamRepository,
                          FlightScoreRepository flightScoreRepository,
-                         BCryptPasswordEncoder passwordEncoder) {
+                         BCryptPasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher) {
         this.playerRepository = playerRepository;
         this.teamRepository = teamRepository;
         this.passwordEncoder = passwordEncoder;
         this.flightScoreRepository = flightScoreRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     // ----------- Create Player -----------
@@ -157,6 +160,10 @@ public class PlayerService {
             if (!request.newName().equals(player.getName()) && playerRepository.existsByName(request.newName())) {
                 throw new ResourceConflictException("Name taken");
             }
+            if (!request.newName().equals(player.getName())) {
+                // Tournament details show the player's cards by name
+                eventPublisher.publishEvent(new PlayerChangedEvent(player.getId()));
+            }
             player.setName(request.newName());
         }
 
@@ -196,6 +203,8 @@ public class PlayerService {
             .orElseThrow(() -> new ResourceNotFoundException("Player with name " + playerName + " does not exist."));
 
         playerRepository.delete(player);
+        // Their cards go with them
+        eventPublisher.publishEvent(new PlayerChangedEvent(player.getId()));
     }
 
 }
@@ -0,0 +1,130 @@
+package com.pinewoods.score.tracker.services.course;
+
+import com.pinewoods.score.tracker.entities.course.Course;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Immutable, primitive snapshot of a {@link Course} used on the scoring hot path.
+ * Pars and stroke indexes are copied into {@code int[]} once so that scoring a card
+ * never touches the database or unboxes the entity's element collections.
+ */
+public final class CompiledCourse {
+    public static final int HOLES = 18;
+    // Playing handicaps whose net pars are cached; anything outside is computed on each call
+    static final int MIN_CACHED_HANDICAP = -HOLES;
+    static final int MAX_CACHED_HANDICAP = 6 * HOLES;
+
+    @Getter
+    private final long id;
+    @Getter
+    private final String name;
+    @Getter
+    private final int totalPar;
+    @Getter
+    private final double slopeRating;
+    @Getter
+    private final double courseRating;
+
+    private final int[] pars;
+    private final int[] indexes;
+    // Net pars per playing handicap, filled on first use. A course edit compiles a new snapshot, which starts empty
+    private final AtomicReferenceArray<List<Integer>> netPars =
+            new AtomicReferenceArray<>(MAX_CACHED_HANDICAP - MIN_CACHED_HANDICAP + 1);
+
+    private CompiledCourse(long id, String name, int[] pars, int[] indexes, double slopeRating, double courseRating) {
+        this.id = id;
+        this.name = name;
+        this.pars = pars;
+        this.indexes = indexes;
+        this.slopeRating = slopeRating;
+        this.courseRating = courseRating;
+
+        int total = 0;
+        for (int par : pars) {
+            total += par;
+        }
+        this.totalPar = total;
+    }
+
+    /**
+     * Compiles the given course entity. Its element collections must be loaded.
+     *
+     * @param course course entity with 18 pars and 18 stroke indexes
+     * @return compiled snapshot of the course
+     */
+    public static CompiledCourse of(Course course) {
+        return new CompiledCourse(course.getId(), course.getName(),
+                toArray(course.getPars(), "pars"), toArray(course.getIndexes(), "stroke indexes"),
+                course.getSlopeRating(), course.getCourseRating());
+    }
+
+    /**
+     * @param hole zero based hole number
+     * @return par of the hole
+     */
+    public int par(int hole) {
+        return pars[hole];
+    }
+
+    /**
+     * @param hole zero based hole number
+     * @return stroke index of the hole (1 is the hardest)
+     */
+    public int index(int hole) {
+        return indexes[hole];
+    }
+
+    /**
+     * Strokes a player receives on a hole: one per full 18 of handicap plus one more on the
+     * hardest {@code handicap % 18} holes. Plus handicaps receive nothing.
+     *
+     * @param hole zero based hole number
+     * @param handicap playing handicap
+     * @return strokes received on the hole
+     */
+    public int strokesReceived(int hole, int handicap) {
+        return handicap / HOLES + (handicap % HOLES >= indexes[hole] ? 1 : 0);
+    }
+
+    /**
+     * Net par of every hole for a playing handicap, cached per handicap for the life of this snapshot.
+     *
+     * @param handicap playing handicap
+     * @return unmodifiable list of par plus strokes received for each hole
+     */
+    public List<Integer> netPars(int handicap) {
+        if (handicap < MIN_CACHED_HANDICAP || handicap > MAX_CACHED_HANDICAP) {
+            return computeNetPars(handicap);
+        }
+        int slot = handicap - MIN_CACHED_HANDICAP;
+        List<Integer> cached = netPars.get(slot);
+        if (cached == null) {
+            // Racing callers compute equal lists, so whichever lands first is kept
+            netPars.compareAndSet(slot, null, computeNetPars(handicap));
+            cached = netPars.get(slot);
+        }
+        return cached;
+    }
+
+    private List<Integer> computeNetPars(int handicap) {
+        Integer[] result = new Integer[HOLES];
+        for (int i = 0; i < HOLES; i++) {
+            result[i] = pars[i] + strokesReceived(i, handicap);
+        }
+        return List.of(result);
+    }
+
+    private static int[] toArray(List<Integer> values, String label) {
+        if (values == null || values.size() != HOLES) {
+            throw new IllegalStateException("Course must have exactly " + HOLES + " " + label);
+        }
+        int[] result = new int[HOLES];
+        for (int i = 0; i < HOLES; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.pinewoods.score.tracker.services.course;
+
+import com.pinewoods.score.tracker.dao.course.CourseRepository;
+import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application wide cache of {@link CompiledCourse} snapshots keyed by course id.
+ * Entries are loaded on first use and evicted by {@link CourseService} whenever a course changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompiledCourseCache {
+
+    private final CourseRepository courseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, CompiledCourse> courses = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the compiled snapshot of a course, loading it from the database on a cache miss.
+     *
+     * @param courseId id of the course
+     * @return compiled course
+     * @throws ResourceNotFoundException if the course does not exist
+     */
+    public CompiledCourse get(Long courseId) {
+        CompiledCourse course = courses.get(courseId);
+        if (course != null) {
+            return course;
+        }
+        return courses.computeIfAbsent(courseId, this::load);
+    }
+
+    /**
+     * Evicts a course now and again once the surrounding transaction commits, so a concurrent
+     * reader cannot re-cache the old pars and indexes before the update is visible.
+     *
+     * @param courseId id of the course that changed
+     */
+    public void invalidate(Long courseId) {
+        courses.remove(courseId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    courses.remove(courseId);
+                }
+            });
+        }
+    }
+
+    private CompiledCourse load(Long courseId) {
+        // The pars and indexes are lazy element collections, so compile inside a transaction
+        return transactionTemplate.execute(status -> courseRepository.findById(courseId)
+                .map(CompiledCourse::of)
+                .orElseThrow(() -> new ResourceNotFoundException("Course not found: " + courseId)));
+    }
+}
@@ -13,7 +13,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -23,6 +25,7 @@ public class CourseService {
     private final CourseRepository courseRepository;
     private final CourseHandicapRepository courseHandicapRepository;
     private final PlayerRepository playerRepository;
+    private final CompiledCourseCache compiledCourses;
 
     public Course createCourse(CourseDTO dto) {
 
@@ -53,11 +56,15 @@ public class CourseService {
         course.setIndexes(dto.getIndexes());
         courseRepository.save(course);
 
+        // Running tournaments score against the compiled snapshot, so drop it
+        compiledCourses.invalidate(course.getId());
+
         return course;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteCourse(String name) {
+        courseRepository.findByName(name).ifPresent(course -> compiledCourses.invalidate(course.getId()));
         courseRepository.deleteByName(name);
     }
 
@@ -66,16 +73,44 @@ public class CourseService {
         return courseHandicapRepository.findById(id)
                 .orElseGet(() -> {
                     Player player = playerRepository.findById(playerId).orElseThrow();
-                    Course course = courseRepository.findById(courseId).orElseThrow();
-                    // calculate handicap for player and course
-                    double scalingFactor = course.getSlopeRating()/113.0;
-                    double additionFactor = course.getCourseRating() - course.getPars().stream().mapToInt(Integer::intValue).sum();
-                    double handicap = scalingFactor * player.getHandicap() + additionFactor;
+                    double handicap = calculateCourseHandicap(player, compiledCourses.get(courseId));
 
-                    return updatePlayerHandicap(course.getId(), player.getId(), handicap);
+                    return updatePlayerHandicap(courseId, player.getId(), handicap);
                 });
     }
 
+    /**
+     * Course handicap of every player on a team on a course, read-only: stored handicaps are used where they
+     * exist and the rest are calculated from the player's handicap without being saved. Only ids and handicaps
+     * are loaded; players without a team are left out and get their handicap when they play.
+     *
+     * @param courseId course id
+     * @return course handicap per player id
+     */
+    public Map<Long, Double> getCourseHandicaps(Long courseId) {
+        CompiledCourse course = compiledCourses.get(courseId);
+
+        Map<Long, Double> handicaps = new HashMap<>();
+        for (Object[] row : playerRepository.findHandicapsOfTeamPlayers()) {
+            handicaps.put((Long) row[0], calculateCourseHandicap((Double) row[1], course));
+        }
+        for (CourseHandicap stored : courseHandicapRepository.findAllByCourseId(courseId)) {
+            handicaps.computeIfPresent(stored.getId().getPlayerId(), (playerId, calculated) -> stored.getHandicap());
+        }
+        return handicaps;
+    }
+
+    private static double calculateCourseHandicap(Player player, CompiledCourse course) {
+        return calculateCourseHandicap(player.getHandicap(), course);
+    }
+
+    private static double calculateCourseHandicap(double handicap, CompiledCourse course) {
+        // calculate handicap for player and course
+        double scalingFactor = course.getSlopeRating()/113.0;
+        double additionFactor = course.getCourseRating() - course.getTotalPar();
+        return scalingFactor * handicap + additionFactor;
+    }
+
     public List<CourseDTO> getAllCourses() {
         return courseRepository.findAll().stream().map(Course::toDTO).toList();
     }
@@ -0,0 +1,135 @@
+package com.pinewoods.score.tracker.services.flight;
+
+import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.entities.IdSequences;
+import com.pinewoods.score.tracker.entities.flight.HoleScoresConverter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts flights, their scores and tournament links with JDBC batches: one round trip per table instead of one
+ * per row. Ids are reserved from the entity sequences in blocks, like Hibernate does, so no keys have to be
+ * returned. Runs in the caller's transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlightBatchWriter {
+    private static final String NEXT_BLOCKS_SQL = "SELECT nextval(?::regclass) FROM generate_series(1, ?)";
+    private static final String INSERT_FLIGHT_SQL = "INSERT INTO flights (id, date) VALUES (?, ?)";
+    private static final String INSERT_SCORE_SQL = "INSERT INTO flight_scores " +
+            "(id, score, hole_bytes, course_name, birdies, player_id, flight_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LINK_SQL =
+            "INSERT INTO tournament_flights (tournament_id, flight_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HoleScoresConverter holeScoresConverter = new HoleScoresConverter();
+
+    /**
+     * Flight to insert, with the scores exactly as they are stored.
+     */
+    public record NewFlight(Date date, List<FlightScoreDTO> scores) {}
+
+    /**
+     * @param flights flights to insert
+     * @param playerIds player id per player name, covering every score
+     * @return ids of the inserted flights, in order
+     */
+    public List<Long> insert(List<NewFlight> flights, Map<String, Long> playerIds) {
+        long[] flightIds = reserveIds(IdSequences.FLIGHTS, flights.size());
+        jdbcTemplate.batchUpdate(INSERT_FLIGHT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, flightIds[i]);
+                ps.setTimestamp(2, new Timestamp(flights.get(i).date().getTime()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return flights.size();
+            }
+        });
+
+        List<FlightScoreDTO> scores = new ArrayList<>();
+        List<Long> scoreFlightIds = new ArrayList<>();
+        for (int i = 0; i < flights.size(); i++) {
+            for (FlightScoreDTO score : flights.get(i).scores()) {
+                scores.add(score);
+                scoreFlightIds.add(flightIds[i]);
+            }
+        }
+        long[] scoreIds = reserveIds(IdSequences.FLIGHT_SCORES, scores.size());
+
+        jdbcTemplate.batchUpdate(INSERT_SCORE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                FlightScoreDTO score = scores.get(i);
+                ps.setLong(1, scoreIds[i]);
+                ps.setInt(2, score.score() != null ? score.score() : 0);
+                byte[] holes = holeScoresConverter.convertToDatabaseColumn(score.holeScores());
+                if (holes != null) {
+                    ps.setBytes(3, holes);
+                } else {
+                    ps.setNull(3, Types.BINARY);
+                }
+                ps.setString(4, score.courseName());
+                ps.setInt(5, score.birdies() != null ? score.birdies() : 0);
+                ps.setLong(6, playerIds.get(score.playerName()));
+                ps.setLong(7, scoreFlightIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return scores.size();
+            }
+        });
+        return Arrays.stream(flightIds).boxed().toList();
+    }
+
+    /**
+     * @return {@code count} new ids of the sequence, taken in blocks of {@link IdSequences#ALLOCATION_SIZE}
+     */
+    private long[] reserveIds(String sequence, int count) {
+        int blocks = (count + IdSequences.ALLOCATION_SIZE - 1) / IdSequences.ALLOCATION_SIZE;
+        List<Long> blockStarts = blocks == 0 ? List.of()
+                : jdbcTemplate.queryForList(NEXT_BLOCKS_SQL, Long.class, sequence, blocks);
+
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = blockStarts.get(i / IdSequences.ALLOCATION_SIZE) + i % IdSequences.ALLOCATION_SIZE;
+        }
+        return ids;
+    }
+
+    /**
+     * Adds the join rows only, so the tournament's flight collection is neither loaded nor rewritten.
+     *
+     * @param tournamentId tournament id
+     * @param flightIds flights to link
+     */
+    public void link(long tournamentId, List<Long> flightIds) {
+        jdbcTemplate.batchUpdate(INSERT_LINK_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, tournamentId);
+                ps.setLong(2, flightIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return flightIds.size();
+            }
+        });
+    }
+}
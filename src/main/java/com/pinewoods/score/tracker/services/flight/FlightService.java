@@ -1,26 +1,41 @@
 package com.pinewoods.score.tracker.services.flight;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pinewoods.score.tracker.dao.admin.PlayerRepository;
-import com.pinewoods.score.tracker.dao.course.CourseRepository;
 import com.pinewoods.score.tracker.dao.flight.FlightRepository;
+import com.pinewoods.score.tracker.dao.flight.FlightRepositoryCustom;
+import com.pinewoods.score.tracker.dao.flight.FlightRepositoryCustom.FlightCursor;
+import com.pinewoods.score.tracker.dao.flight.FlightRepositoryCustom.FlightFilter;
 import com.pinewoods.score.tracker.dao.flight.FlightScoreRepository;
 import com.pinewoods.score.tracker.dto.flight.FlightDTO;
+import com.pinewoods.score.tracker.dto.flight.FlightPageDTO;
 import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
 import com.pinewoods.score.tracker.entities.admin.Player;
-import com.pinewoods.score.tracker.entities.course.Course;
 import com.pinewoods.score.tracker.entities.flight.Flight;
 import com.pinewoods.score.tracker.entities.flight.FlightScore;
 import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
 import com.pinewoods.score.tracker.services.course.CourseService;
 import jakarta.transaction.Transactional;
-import java.util.ArrayList;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Service for flight management
@@ -28,39 +43,36 @@ import java.util.List;
 @Service
 @Transactional
 public class FlightService {
+    private static final int MAX_BATCH_FLIGHTS = 1000;
+    private static final int MAX_PAGE_SIZE = 500;
 
     private final FlightRepository flightRepository;
     private final PlayerRepository playerRepository;
     private final FlightScoreRepository flightScoreRepository;
-    private final CourseRepository courseRepository;
+
+    private final FlightBatchWriter flightBatchWriter;
+    private final ObjectMapper objectMapper;
 
     private final CourseService courseService;
+    private final CompiledCourseCache compiledCourses;
 
     public FlightService(FlightRepository flightRepository, PlayerRepository playerRepository, FlightScoreRepository flightScoreRepository,
-        CourseRepository courseRepository, CourseService courseService) {
+        FlightBatchWriter flightBatchWriter, ObjectMapper objectMapper, CourseService courseService,
+        CompiledCourseCache compiledCourses) {
         this.flightRepository = flightRepository;
         this.playerRepository = playerRepository;
         this.flightScoreRepository = flightScoreRepository;
-        this.courseRepository = courseRepository;
+        this.flightBatchWriter = flightBatchWriter;
+        this.objectMapper = objectMapper;
         this.courseService = courseService;
+        this.compiledCourses = compiledCourses;
     }
 
     // ----------- Create Flight -----------
 
     @PreAuthorize("isAuthenticated()")
     public Flight createFlight(List<FlightScoreDTO> scores) {
-        boolean isAdmin = SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
-        if (!isAdmin) {
-            String currentUser = SecurityContextHolder.getContext().getAuthentication().getName();
-
-            boolean containsCurrentUser = scores.stream()
-                    .anyMatch(dto -> dto.playerName().equals(currentUser));
-
-            if (!containsCurrentUser) {
-                throw new AccessDeniedException("Reporting Player must be part of flight");
-            }
-        }
+        checkReporter(playerNames(scores), isAdmin());
 
         Flight flight = Flight.builder()
                 .date(new Date())
@@ -89,14 +101,169 @@ public class FlightService {
         return flight;
     }
 
+    /**
+     * Creates many flights at once, e.g. the end-of-round upload of a scorer's tablet. Every player name is
+     * resolved with one query and flights and scores are inserted in JDBC batches.
+     *
+     * @param flights scores of each flight
+     * @return ids of the created flights, in request order
+     */
+    @PreAuthorize("isAuthenticated()")
+    public List<Long> createFlights(List<List<FlightScoreDTO>> flights) {
+        if (flights.size() > MAX_BATCH_FLIGHTS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_FLIGHTS + " flights can be created at once");
+        }
+        boolean isAdmin = isAdmin();
+        Set<String> names = new HashSet<>();
+        for (List<FlightScoreDTO> scores : flights) {
+            checkReporter(playerNames(scores), isAdmin);
+            scores.forEach(dto -> names.add(dto.playerName()));
+        }
+        if (flights.isEmpty()) {
+            return List.of();
+        }
+
+        Map<String, Long> playerIds = findPlayerIds(names);
+
+        Date date = new Date();
+        List<FlightBatchWriter.NewFlight> newFlights = flights.stream()
+                .map(scores -> new FlightBatchWriter.NewFlight(date, scores.stream()
+                        .map(FlightService::toStoredScore)
+                        .toList()))
+                .toList();
+        return flightBatchWriter.insert(newFlights, playerIds);
+    }
+
+    /**
+     * Resolves the players of a flight that is about to be scored, checking that the caller may report it.
+     *
+     * @param playerNames players of the flight
+     * @return player id by name
+     * @throws AccessDeniedException if the caller is neither an admin nor one of the players
+     * @throws ResourceNotFoundException if a player does not exist
+     */
+    @PreAuthorize("isAuthenticated()")
+    public Map<String, Long> getFlightPlayerIds(Collection<String> playerNames) {
+        checkReporter(playerNames);
+        return findPlayerIds(playerNames);
+    }
+
+    /**
+     * @param playerNames players of the flight
+     * @throws AccessDeniedException if the caller is neither an admin nor one of the players
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public void checkReporter(Collection<String> playerNames) {
+        checkReporter(playerNames, isAdmin());
+    }
+
+    private Map<String, Long> findPlayerIds(Collection<String> names) {
+        Map<String, Long> playerIds = new HashMap<>();
+        for (Object[] row : playerRepository.findIdsByNames(names)) {
+            playerIds.put((String) row[1], (Long) row[0]);
+        }
+        Set<String> missing = new TreeSet<>(names);
+        missing.removeAll(playerIds.keySet());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Player not found: " + String.join(", ", missing));
+        }
+        return playerIds;
+    }
+
+    private static List<String> playerNames(List<FlightScoreDTO> scores) {
+        return scores.stream().map(FlightScoreDTO::playerName).toList();
+    }
+
+    /**
+     * @return the score as {@link #createFlight} stores it: the sum of the holes, and no birdies if none are given
+     */
+    private static FlightScoreDTO toStoredScore(FlightScoreDTO dto) {
+        if (dto.holeScores() == null) {
+            throw new IllegalArgumentException("Hole scores missing for " + dto.playerName());
+        }
+        return new FlightScoreDTO(dto.playerName(), dto.holeScores().stream().mapToInt(Integer::intValue).sum(),
+                dto.birdies() != null ? dto.birdies() : 0, dto.holeScores(), dto.courseName());
+    }
+
+    private static boolean isAdmin() {
+        return SecurityContextHolder.getContext().getAuthentication().getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    private static void checkReporter(Collection<String> playerNames, boolean isAdmin) {
+        if (!isAdmin) {
+            String currentUser = SecurityContextHolder.getContext().getAuthentication().getName();
+
+            boolean containsCurrentUser = playerNames.contains(currentUser);
+
+            if (!containsCurrentUser) {
+                throw new AccessDeniedException("Reporting Player must be part of flight");
+            }
+        }
+    }
+
     // ----------- Get Methods --------------
     public Flight getFlight(long id) {
         return flightRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight not found: " + id));
     }
 
-    public List<Flight> getAllFlights() {
-        return flightRepository.findAll();
+    /**
+     * @param filter criteria the flights must match
+     * @param cursor cursor of the previous page, {@code null} for the first page
+     * @param limit maximum number of flights, at most {@value #MAX_PAGE_SIZE}
+     * @return flights newest first, read with one query, and the cursor of the next page
+     */
+    public FlightPageDTO getFlights(FlightFilter filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        FlightRepositoryCustom.FlightPage page = flightRepository.findPage(filter,
+                cursor == null ? null : FlightCursor.parse(cursor), limit);
+
+        String nextCursor = page.flights().size() < limit ? null : page.last().toString();
+        return new FlightPageDTO(page.flights(), nextCursor);
+    }
+
+    /**
+     * Writes every matching flight as newline-delimited JSON, newest first, while it is read from the database.
+     * The stream is flushed but not closed.
+     */
+    public void exportFlights(FlightFilter filter, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            writeFlights(filter, generator);
+            generator.writeRaw('\n');
+        }
+    }
+
+    /**
+     * Writes every matching flight as one JSON array, newest first, for clients of the former full listing. The
+     * flights are read like an export, so memory use does not grow with their number. The stream is flushed but
+     * not closed.
+     */
+    public void exportFlightsAsArray(FlightFilter filter, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            generator.writeStartArray();
+            writeFlights(filter, generator);
+            generator.writeEndArray();
+        }
+    }
+
+    private void writeFlights(FlightFilter filter, JsonGenerator generator) throws IOException {
+        try {
+            flightRepository.forEach(filter, flight -> {
+                try {
+                    objectMapper.writeValue(generator, flight);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
     }
 
     public List<Integer> getDefaultScores(Long courseId, Long playerId, double handicapMultiplier) {
@@ -112,14 +279,7 @@ public class FlightService {
     }
 
     private List<Integer> getDefaultScore(Long courseId, double effectiveHandicap) {
-        Course course = courseRepository.findById(courseId).orElseThrow();
-        List<Integer> expectedPars = new ArrayList<>();
-        for (int i = 0; i < 18; i++) {
-            int strokesReceived = (int) ((effectiveHandicap / 18) +
-                (effectiveHandicap % 18 >= course.getIndexes().get(i) ? 1 : 0));
-            expectedPars.add(course.getPars().get(i) + strokesReceived);
-        }
-
-        return expectedPars;
+        // Truncating gives the same strokes per hole as the (int) cast of the fractional handicap formula
+        return compiledCourses.get(courseId).netPars((int) effectiveHandicap);
     }
 }
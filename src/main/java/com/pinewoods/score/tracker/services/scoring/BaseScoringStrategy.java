@@ -1,23 +1,77 @@
 package com.pinewoods.score.tracker.services.scoring;
 
-import com.pinewoods.score.tracker.dto.course.CourseDTO;
+import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.flight.FlightScore;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
 import com.pinewoods.score.tracker.services.course.CourseService;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.Hibernate;
 
+import java.util.Date;
 import java.util.List;
+import java.util.OptionalInt;
 
 public abstract class BaseScoringStrategy implements IScoringStrategy {
     @Getter
     Long courseId;
     double handicapMultiplier;
     CourseService courseService;
+    CompiledCourseCache compiledCourses;
+    @Getter
+    @Setter
+    volatile PlayingHandicapTable playingHandicaps;
 
     protected BaseScoringStrategy(double handicapMultiplier) {
         this.handicapMultiplier = handicapMultiplier;
     }
 
+    @Override
+    public Flight calculateScores(Flight flight) {
+        Flight calculatedFlight = Flight.builder()
+                .id(flight.getId()) // Keep the link to the stored flight it was calculated from
+                .date(new Date())
+                .build();
+
+        CompiledCourse course = getCourse();
+
+        for (FlightScore card : flight.getFlightScores()) {
+            // Initialise the player so the calculated score can be read after the session closes
+            Player player = (Player) Hibernate.unproxy(card.getPlayer());
+            int handicap = getPlayingHandicap(player.getId());
+
+            HoleStats stats = ScoringKernel.score(card.getHoleScores(), course, handicap, getPointsTable());
+
+            FlightScore fs = FlightScore.builder()
+                    .player(player)
+                    .score(calculatePoints(stats, card.getHoleScores(), course, handicap))
+                    .birdies(stats.birdies())
+                    .flight(calculatedFlight) // Set back-reference
+                    .build();
+
+            calculatedFlight.getFlightScores().add(fs);
+        }
+        return calculatedFlight;
+    }
+
+    @Override
+    public LiveCard startLiveCard(long playerId, String playerName) {
+        return new LiveCard(playerId, playerName, getCourse(), getPlayingHandicap(playerId), getPointsTable());
+    }
+
+    /**
+     * Net strokes beaten against par over the holes played, the running form of the
+     * {@link StrokeplayScoringStrategy} score. Formats with a different scale override it.
+     */
+    @Override
+    public int livePoints(LiveCard card) {
+        return card.getParPlayed() + card.getStrokesReceived() - card.getGross();
+    }
+
     @Override
     public String getCourseName() {
         return getCourse().getName();
@@ -27,9 +81,10 @@ public abstract class BaseScoringStrategy implements IScoringStrategy {
     public int countBirdies(
             @NotNull @Size(min = 18, max = 18, message = "Exactly 18 hole scores must be provided.")
             List<Integer> scores) {
+        CompiledCourse course = getCourse();
         int birdies = 0;
         for (int i = 0; i < 18; i++) {
-            if (scores.get(i) - getCourse().getPars().get(i) < 0) {
+            if (scores.get(i) < course.par(i)) {
                 birdies++;
             }
         }
@@ -41,11 +96,47 @@ public abstract class BaseScoringStrategy implements IScoringStrategy {
         return handicapMultiplier > 0 ? handicapMultiplier : 1;
     }
 
+    /**
+     * Converts the card totals into the tournament score. Higher is better.
+     *
+     * @param stats totals of the card
+     * @param holes gross score of each hole
+     * @param course course the card was played on
+     * @param handicap playing handicap of the player
+     * @return tournament score of the card
+     */
+    protected abstract int calculatePoints(HoleStats stats, List<Integer> holes, CompiledCourse course, int handicap);
+
+    /**
+     * @return Stableford points table, or {@code null} when the strategy does not need Stableford points
+     */
+    protected PointsTable getPointsTable() {
+        return null;
+    }
+
+    /**
+     * Reads the handicap frozen when the tournament started. Players missing from the snapshot, e.g.
+     * registered after the start, fall back to their current course handicap.
+     */
+    protected int getPlayingHandicap(Long playerId) {
+        if (playingHandicaps != null) {
+            OptionalInt frozen = playingHandicaps.get(playerId);
+            if (frozen.isPresent()) {
+                return frozen.getAsInt();
+            }
+        }
+        return (int) Math.round(getCourseHandicap(playerId, courseId) * getHandicapMultiplier());
+    }
+
     protected double getCourseHandicap(Long playerId, Long courseId) {
         return courseService.getCourseHandicap(playerId, courseId).getHandicap();
     }
 
-    protected CourseDTO getCourse() {
-        return courseService.getCourse(courseId);
+    /**
+     * The snapshot is looked up per flight rather than held, so course edits are picked up
+     * by running tournaments as soon as the cache entry is invalidated.
+     */
+    protected CompiledCourse getCourse() {
+        return compiledCourses.get(courseId);
     }
 }
@@ -0,0 +1,52 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+import com.pinewoods.score.tracker.entities.tournament.ScoringDefinition;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
+import com.pinewoods.score.tracker.services.course.CourseService;
+import com.pinewoods.score.tracker.services.scoring.formula.ScoringFormula;
+
+import java.util.List;
+
+/**
+ * Scoring format described by a {@link ScoringDefinition} instead of code, compiled once per tournament.
+ */
+public class CustomScoringStrategy extends BaseScoringStrategy {
+
+    final ScoringDefinition definition;
+    final ScoringFormula formula;
+
+    public CustomScoringStrategy(Long courseId, ScoringDefinition definition, double handicapMultiplier,
+                                 CourseService courseService, CompiledCourseCache compiledCourses) {
+        super(handicapMultiplier);
+        this.definition = definition;
+        this.formula = ScoringFormula.compile(definition);
+        this.courseService = courseService;
+        this.compiledCourses = compiledCourses;
+        this.courseId = courseId;
+    }
+
+    @Override
+    public String getName() {
+        return "CUSTOM";
+    }
+
+    @Override
+    public ScoringDefinition getScoringDefinition() {
+        return definition;
+    }
+
+    @Override
+    protected int calculatePoints(HoleStats stats, List<Integer> holes, CompiledCourse course, int handicap) {
+        return formula.score(holes, course, handicap, stats);
+    }
+
+    /**
+     * Evaluates the formulas on the holes played so far, so cards in progress are ranked on the same scale as
+     * finished cards.
+     */
+    @Override
+    public int livePoints(LiveCard card) {
+        return formula.score(card);
+    }
+}
@@ -0,0 +1,16 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+/**
+ * Totals of a single card produced by {@link ScoringKernel}.
+ *
+ * @param gross total strokes played
+ * @param net gross minus strokes received
+ * @param stableford Stableford points, 0 when no points table was supplied
+ * @param birdies holes finished under par (birdie or better)
+ * @param eagles holes finished two or more under par
+ * @param bogeys holes finished over par (bogey or worse)
+ * @param strokesReceived handicap strokes received over the round
+ */
+public record HoleStats(int gross, int net, int stableford, int birdies, int eagles, int bogeys,
+                        int strokesReceived) {
+}
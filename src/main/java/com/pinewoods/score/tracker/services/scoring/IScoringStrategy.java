@@ -1,10 +1,12 @@
 package com.pinewoods.score.tracker.services.scoring;
 
 import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.tournament.ScoringDefinition;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.util.List;
+import java.util.Map;
 
 public interface IScoringStrategy {
     Flight calculateScores(Flight flight);
@@ -17,5 +19,45 @@ public interface IScoringStrategy {
 
     String getCourseName();
 
+    Long getCourseId();
+
     double getHandicapMultiplier();
+
+    /**
+     * @return playing handicaps frozen for the tournament, {@code null} if none were taken
+     */
+    PlayingHandicapTable getPlayingHandicaps();
+
+    void setPlayingHandicaps(PlayingHandicapTable playingHandicaps);
+
+    /**
+     * Starts a card to be scored hole by hole, with the handicap a finished card of the player is scored with.
+     *
+     * @param playerId player id
+     * @param playerName player name
+     * @return empty card
+     */
+    LiveCard startLiveCard(long playerId, String playerName);
+
+    /**
+     * Tournament score of a card in progress, on the same scale as finished cards so both can be ranked together.
+     *
+     * @param card card in progress
+     * @return score over the holes played so far, higher is better
+     */
+    int livePoints(LiveCard card);
+
+    /**
+     * @return points per net score against par, empty for strategies that do not use a points table
+     */
+    default Map<Integer, Integer> getPointsMap() {
+        return Map.of();
+    }
+
+    /**
+     * @return definition of a custom scoring format, {@code null} for the built-in formats
+     */
+    default ScoringDefinition getScoringDefinition() {
+        return null;
+    }
 }
@@ -0,0 +1,159 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+import com.pinewoods.score.tracker.entities.flight.HoleScoresConverter;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Running totals of a card that is scored hole by hole while the round is played.
+ * <p>
+ * Recording a hole adds only that hole's gross, net, Stableford and birdie contributions, the same per-hole terms
+ * {@link ScoringKernel} sums for a full card. Correcting a hole first takes off its old contributions. Either way
+ * the cost is constant and does not depend on the number of holes played. Holes may be recorded in any order,
+ * e.g. for a shotgun start.
+ * <p>
+ * Not thread-safe; callers serialize the updates of a flight.
+ */
+public final class LiveCard {
+    private static final int NOT_PLAYED = 0;
+
+    @Getter
+    private final long playerId;
+    @Getter
+    private final String playerName;
+    @Getter
+    private final CompiledCourse course;
+    @Getter
+    private final int handicap;
+    private final PointsTable points;
+    private final int[] strokes = new int[CompiledCourse.HOLES];
+
+    @Getter
+    private int thru;
+    @Getter
+    private int gross;
+    @Getter
+    private int strokesReceived;
+    @Getter
+    private int parPlayed;
+    @Getter
+    private int stableford;
+    @Getter
+    private int birdies;
+
+    /**
+     * @param playerId player id
+     * @param playerName player name
+     * @param course compiled course the round is played on
+     * @param handicap playing handicap
+     * @param points Stableford points table, or {@code null} when Stableford points are not needed
+     */
+    public LiveCard(long playerId, String playerName, CompiledCourse course, int handicap, PointsTable points) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.course = course;
+        this.handicap = handicap;
+        this.points = points;
+    }
+
+    /**
+     * Records or corrects the score of a hole.
+     *
+     * @param hole zero based hole number
+     * @param holeStrokes strokes played on the hole
+     * @throws IllegalArgumentException if the hole or the strokes are out of range
+     */
+    public void record(int hole, int holeStrokes) {
+        checkHole(hole, holeStrokes);
+
+        if (strokes[hole] == NOT_PLAYED) {
+            thru++;
+        } else {
+            apply(hole, strokes[hole], -1);
+        }
+        strokes[hole] = holeStrokes;
+        apply(hole, holeStrokes, 1);
+    }
+
+    /**
+     * Checks a hole score before it is recorded, e.g. to reject a whole update before any card changes.
+     *
+     * @param hole zero based hole number
+     * @param holeStrokes strokes played on the hole
+     * @throws IllegalArgumentException if the hole or the strokes are out of range
+     */
+    public static void checkHole(int hole, int holeStrokes) {
+        if (hole < 0 || hole >= CompiledCourse.HOLES) {
+            throw new IllegalArgumentException("Hole must be between 1 and " + CompiledCourse.HOLES + ": "
+                    + (hole + 1));
+        }
+        if (holeStrokes < 1 || holeStrokes > HoleScoresConverter.MAX_STROKES) {
+            throw new IllegalArgumentException("Hole score must be between 1 and " + HoleScoresConverter.MAX_STROKES
+                    + ": " + holeStrokes);
+        }
+    }
+
+    private void apply(int hole, int holeStrokes, int sign) {
+        int par = course.par(hole);
+        int received = course.strokesReceived(hole, handicap);
+
+        gross += sign * holeStrokes;
+        strokesReceived += sign * received;
+        parPlayed += sign * par;
+        if (points != null) {
+            stableford += sign * points.pointsFor(holeStrokes - received - par);
+        }
+        if (holeStrokes < par) {
+            birdies += sign;
+        }
+    }
+
+    /**
+     * @return gross minus the strokes received on the holes played
+     */
+    public int getNet() {
+        return gross - strokesReceived;
+    }
+
+    /**
+     * @param hole zero based hole number
+     * @return whether the hole has been recorded
+     */
+    public boolean isPlayed(int hole) {
+        return strokes[hole] != NOT_PLAYED;
+    }
+
+    /**
+     * @param hole zero based hole number
+     * @return strokes recorded on the hole, 0 if it has not been played yet
+     */
+    public int getStrokes(int hole) {
+        return strokes[hole];
+    }
+
+    public String getCourseName() {
+        return course.getName();
+    }
+
+    public boolean isComplete() {
+        return thru == CompiledCourse.HOLES;
+    }
+
+    /**
+     * @return gross score of each hole, once every hole is recorded
+     * @throws IllegalStateException if the card is not complete
+     */
+    public List<Integer> holeScores() {
+        if (!isComplete()) {
+            throw new IllegalStateException("Card of " + playerName + " is only thru " + thru);
+        }
+        List<Integer> holeScores = new ArrayList<>(CompiledCourse.HOLES);
+        for (int holeStrokes : strokes) {
+            holeScores.add(holeStrokes);
+        }
+        return holeScores;
+    }
+}
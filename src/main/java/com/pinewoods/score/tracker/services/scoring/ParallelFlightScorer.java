@@ -0,0 +1,34 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scores many flights at once on a dedicated fork-join pool sized to the available cores,
+ * so bulk scoring does not compete with the common pool used by request handling.
+ */
+@Component
+public class ParallelFlightScorer implements DisposableBean {
+    private final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+    /**
+     * @param flights flights with their scores and players loaded
+     * @param strategy strategy to score the flights with
+     * @return calculated flights, in the order of {@code flights}
+     */
+    public List<Flight> scoreAll(List<Flight> flights, IScoringStrategy strategy) {
+        return pool.submit(() -> flights.parallelStream()
+                        .map(strategy::calculateScores)
+                        .toList())
+                .join();
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+}
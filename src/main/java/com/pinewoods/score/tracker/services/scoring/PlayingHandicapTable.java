@@ -0,0 +1,85 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalInt;
+
+/**
+ * Playing handicaps of a tournament, frozen when it starts. Player ids are kept sorted in a
+ * primitive array next to their handicaps, so a lookup is a binary search with no boxing.
+ */
+public final class PlayingHandicapTable {
+    private final long[] playerIds;
+    private final int[] handicaps;
+
+    private PlayingHandicapTable(long[] playerIds, int[] handicaps) {
+        this.playerIds = playerIds;
+        this.handicaps = handicaps;
+    }
+
+    /**
+     * @param courseHandicaps course handicap per player id
+     * @param handicapMultiplier share of the course handicap the format allows
+     * @return table of the rounded playing handicaps
+     */
+    public static PlayingHandicapTable of(Map<Long, Double> courseHandicaps, double handicapMultiplier) {
+        Map<Long, Integer> playing = new LinkedHashMap<>();
+        courseHandicaps.forEach((playerId, handicap) ->
+                playing.put(playerId, (int) Math.round(handicap * handicapMultiplier)));
+        return of(playing);
+    }
+
+    /**
+     * @param playingHandicaps playing handicap per player id, e.g. as persisted with the tournament
+     * @return table of the handicaps
+     */
+    public static PlayingHandicapTable of(Map<Long, Integer> playingHandicaps) {
+        long[] playerIds = playingHandicaps.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int[] handicaps = new int[playerIds.length];
+        for (int i = 0; i < playerIds.length; i++) {
+            handicaps[i] = playingHandicaps.get(playerIds[i]);
+        }
+        return new PlayingHandicapTable(playerIds, handicaps);
+    }
+
+    /**
+     * @param playerId player id
+     * @return the frozen playing handicap, or empty if the player was not in the table
+     */
+    public OptionalInt get(long playerId) {
+        int i = Arrays.binarySearch(playerIds, playerId);
+        return i >= 0 ? OptionalInt.of(handicaps[i]) : OptionalInt.empty();
+    }
+
+    public int size() {
+        return playerIds.length;
+    }
+
+    /**
+     * @param i position in the table, from 0 to {@link #size()}, in player id order
+     * @return player id at that position
+     */
+    public long playerId(int i) {
+        return playerIds[i];
+    }
+
+    /**
+     * @param i position in the table, from 0 to {@link #size()}, in player id order
+     * @return playing handicap at that position
+     */
+    public int handicap(int i) {
+        return handicaps[i];
+    }
+
+    /**
+     * @return playing handicap per player id, for persisting the snapshot
+     */
+    public Map<Long, Integer> toMap() {
+        Map<Long, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < playerIds.length; i++) {
+            map.put(playerIds[i], handicaps[i]);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,57 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Stableford points table flattened into an offset array indexed by {@code (net - par) - minDiff}.
+ * Differences outside the table are clamped to its first or last entry, like the map lookup it replaces.
+ * Differences missing between the lowest and highest key score like the nearest lower key, e.g.
+ * {@code {-1: 3, 1: 1}} scores a net par with 3.
+ */
+public final class PointsTable {
+    private final int minDiff;
+    private final int[] points;
+
+    private PointsTable(int minDiff, int[] points) {
+        this.minDiff = minDiff;
+        this.points = points;
+    }
+
+    /**
+     * Flattens a points map (net score relative to par -> points).
+     *
+     * @param pointsMap points map, which may skip differences between its lowest and highest key
+     * @return flattened table
+     * @throws IllegalArgumentException if the map is empty
+     */
+    public static PointsTable of(Map<Integer, Integer> pointsMap) {
+        if (pointsMap == null || pointsMap.isEmpty()) {
+            throw new IllegalArgumentException("Points map must not be empty");
+        }
+        int minDiff = Collections.min(pointsMap.keySet());
+        int maxDiff = Collections.max(pointsMap.keySet());
+
+        int[] points = new int[maxDiff - minDiff + 1];
+        for (int diff = minDiff; diff <= maxDiff; diff++) {
+            Integer value = pointsMap.get(diff);
+            // The lowest key is always present, so a gap copies the entry filled before it
+            points[diff - minDiff] = value != null ? value : points[diff - minDiff - 1];
+        }
+        return new PointsTable(minDiff, points);
+    }
+
+    /**
+     * @param diff net score minus par for a hole
+     * @return points awarded for the hole
+     */
+    public int pointsFor(int diff) {
+        int offset = diff - minDiff;
+        if (offset < 0) {
+            offset = 0;
+        } else if (offset >= points.length) {
+            offset = points.length - 1;
+        }
+        return points[offset];
+    }
+}
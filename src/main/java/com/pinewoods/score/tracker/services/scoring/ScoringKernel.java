@@ -0,0 +1,57 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+
+import java.util.List;
+
+/**
+ * Single pass hole statistics shared by every scoring strategy.
+ * A card is walked once against a {@link CompiledCourse}; nothing is allocated per hole.
+ */
+public final class ScoringKernel {
+
+    private ScoringKernel() {
+    }
+
+    /**
+     * Scores an 18 hole card.
+     *
+     * @param holes gross score of each hole
+     * @param course compiled course the card was played on
+     * @param handicap playing handicap
+     * @param points Stableford points table, or {@code null} when Stableford points are not needed
+     * @return totals of the card
+     */
+    public static HoleStats score(List<Integer> holes, CompiledCourse course, int handicap, PointsTable points) {
+        int gross = 0;
+        int received = 0;
+        int stableford = 0;
+        int birdies = 0;
+        int eagles = 0;
+        int bogeys = 0;
+
+        for (int i = 0; i < CompiledCourse.HOLES; i++) {
+            int strokes = holes.get(i);
+            int par = course.par(i);
+            int holeReceived = course.strokesReceived(i, handicap);
+
+            gross += strokes;
+            received += holeReceived;
+            if (points != null) {
+                stableford += points.pointsFor(strokes - holeReceived - par);
+            }
+
+            int toPar = strokes - par;
+            if (toPar < 0) {
+                birdies++;
+                if (toPar <= -2) {
+                    eagles++;
+                }
+            } else if (toPar > 0) {
+                bogeys++;
+            }
+        }
+
+        return new HoleStats(gross, gross - received, stableford, birdies, eagles, bogeys, received);
+    }
+}
@@ -1,23 +1,63 @@
 package com.pinewoods.score.tracker.services.scoring;
 
-import com.pinewoods.score.tracker.dao.admin.PlayerRepository;
-import com.pinewoods.score.tracker.entities.course.Course;
+import com.pinewoods.score.tracker.entities.tournament.ScoringDefinition;
+import com.pinewoods.score.tracker.entities.tournament.Tournament;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
 import com.pinewoods.score.tracker.services.course.CourseService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
 import java.util.Map;
 
 @Component
+@RequiredArgsConstructor
 public class ScoringStrategyFactory {
+    private final CourseService courseService;
+    private final CompiledCourseCache compiledCourses;
+
     public IScoringStrategy getStrategy(String type, Long courseId,
-                                        Map<Integer, Integer> pointsMap, double handicapMultiplier,
-                                        PlayerRepository playerRepository, CourseService courseService) {
+                                        Map<Integer, Integer> pointsMap, double handicapMultiplier) {
+        return getStrategy(type, courseId, pointsMap, handicapMultiplier, null);
+    }
+
+    /**
+     * @param pointsMap points per net score against par, required by STABLEFORD and ignored by the other formats
+     * @param definition formulas of a CUSTOM format, ignored by the built-in formats
+     * @throws IllegalArgumentException if the type is unknown, a STABLEFORD points map is missing or the custom
+     * definition does not compile
+     */
+    public IScoringStrategy getStrategy(String type, Long courseId, Map<Integer, Integer> pointsMap,
+                                        double handicapMultiplier, ScoringDefinition definition) {
         return switch (type.trim().toUpperCase()) { // Added .trim()
-            case "STABLEFORD" -> new StablefordScoringStrategy(courseId, pointsMap, handicapMultiplier,
-                    playerRepository, courseService);
-            case "STROKEPLAY" -> new StrokeplayScoringStrategy(courseId, playerRepository, handicapMultiplier, courseService);
+            case "STABLEFORD" -> {
+                if (pointsMap == null || pointsMap.isEmpty()) {
+                    throw new IllegalArgumentException("A STABLEFORD tournament needs a points map");
+                }
+                yield new StablefordScoringStrategy(courseId, pointsMap, handicapMultiplier,
+                        courseService, compiledCourses);
+            }
+            case "STROKEPLAY" -> new StrokeplayScoringStrategy(courseId, handicapMultiplier,
+                    courseService, compiledCourses);
+            case "CUSTOM" -> new CustomScoringStrategy(courseId, definition, handicapMultiplier,
+                    courseService, compiledCourses);
             default -> throw new IllegalArgumentException("Unsupported scoring strategy: " + type);
         };
     }
+
+    /**
+     * Rebuilds the strategy of a tournament from its persisted configuration. The points map and the handicap
+     * snapshot are lazy collections, so call inside the transaction that loaded the tournament, ideally with
+     * {@link com.pinewoods.score.tracker.dao.tournament.TournamentRepository#findWithHandicapsById}.
+     *
+     * @param tournament tournament with a stored course, points map, handicap multiplier and handicap snapshot
+     * @return scoring strategy equivalent to the one the tournament was started with
+     */
+    public IScoringStrategy getStrategy(Tournament tournament) {
+        IScoringStrategy strategy = getStrategy(tournament.getStrategyName(), tournament.getCourseId(),
+                tournament.getPointsMap(), tournament.getHandicapMultiplier(), tournament.getScoringDefinition());
+        if (tournament.getPlayingHandicaps() != null && !tournament.getPlayingHandicaps().isEmpty()) {
+            strategy.setPlayingHandicaps(PlayingHandicapTable.of(tournament.getPlayingHandicaps()));
+        }
+        return strategy;
+    }
 }
@@ -1,86 +1,51 @@
 package com.pinewoods.score.tracker.services.scoring;
 
-import com.pinewoods.score.tracker.dao.admin.PlayerRepository;
-import com.pinewoods.score.tracker.dto.admin.PlayerDTO;
-import com.pinewoods.score.tracker.entities.admin.Player;
-import com.pinewoods.score.tracker.entities.flight.Flight;
-import com.pinewoods.score.tracker.entities.flight.FlightScore;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
 import com.pinewoods.score.tracker.services.course.CourseService;
-import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Size;
 
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 
 public class StablefordScoringStrategy extends BaseScoringStrategy {
 
     final Map<Integer, Integer> pointsMap;
-    PlayerRepository playerRepo;
+    final PointsTable pointsTable;
 
     public StablefordScoringStrategy(Long courseId,
                                      Map<Integer, Integer> pointsMap, double handicapMultiplier,
-                                     PlayerRepository playerRepo, CourseService courseService) {
+                                     CourseService courseService, CompiledCourseCache compiledCourses) {
 
         super(handicapMultiplier);
         this.pointsMap = pointsMap;
-        this.playerRepo = playerRepo;
+        this.pointsTable = PointsTable.of(pointsMap);
         this.courseService = courseService;
+        this.compiledCourses = compiledCourses;
         this.courseId = courseId;
     }
 
     @Override
-    public Flight calculateScores(Flight flight) {
-        Flight calculatedFlight = Flight.builder()
-                .date(new Date())
-                .build();
-
-        for (FlightScore card : flight.getFlightScores()) {
-            Player player = card.getPlayer();
-            PlayerDTO playerDTO = player.toDTO();
-            int handicap = (int) Math.round(getCourseHandicap(player.getId(), getCourse().getId()) * handicapMultiplier);
-
-            // Perform the handicap/par/index math we discussed
-            int totalPoints = calculateScore(card.getHoleScores(), handicap);
-            int birdies = countBirdies(card.getHoleScores());
-
-            FlightScore fs = FlightScore.builder()
-                    .player(playerRepo.findByName(playerDTO.name()).orElseThrow())
-                    .score(totalPoints)
-                    .birdies(birdies)
-                    .flight(calculatedFlight) // Set back-reference
-                    .build();
+    public String getName() {
+        return "STABLEFORD";
+    }
 
-            calculatedFlight.getFlightScores().add(fs);
-        }
-        return calculatedFlight;
+    @Override
+    public Map<Integer, Integer> getPointsMap() {
+        return pointsMap;
     }
 
     @Override
-    public String getName() {
-        return "STABLEFORD";
+    protected int calculatePoints(HoleStats stats, List<Integer> holes, CompiledCourse course, int handicap) {
+        return stats.stableford();
     }
 
-    private int calculateScore(
-            @NotNull @Size(min = 18, max = 18, message = "Exactly 18 hole scores must be provided.")
-            List<Integer> scores,
-            @NotNull double hcp) {
-        List<Integer> pars = getCourse().getPars();
-        List<Integer> indexes = getCourse().getIndexes();
-        int totalPoints = 0;
-        int minDiff = pointsMap.keySet().stream().min(Integer::compare).orElse(-2);
-        int maxDiff = pointsMap.keySet().stream().max(Integer::compare).orElse(2);
-        for (int i = 0; i < 18; i++) {
-            int par = pars.get(i);
-            int index = indexes.get(i);
-            int gross = scores.get(i);
-            int strokesReceived = (int) ((hcp / 18) + (hcp % 18 >= index ? 1 : 0));
-            int net = gross - strokesReceived;
-            int diff = net - par;
-            // Points calculation
-            totalPoints += diff < minDiff ? pointsMap.get(minDiff) :
-                    diff > maxDiff ? pointsMap.get(maxDiff) :
-                            pointsMap.get(diff);
-        }
+    @Override
+    public int livePoints(LiveCard card) {
+        return card.getStableford();
+    }
 
-        return totalPoints;
+    @Override
+    protected PointsTable getPointsTable() {
+        return pointsTable;
     }
 }
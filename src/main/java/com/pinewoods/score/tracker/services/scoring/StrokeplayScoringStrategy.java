@@ -1,58 +1,29 @@
 package com.pinewoods.score.tracker.services.scoring;
 
-import com.pinewoods.score.tracker.dao.admin.PlayerRepository;
-import com.pinewoods.score.tracker.dto.admin.PlayerDTO;
-import com.pinewoods.score.tracker.entities.admin.Player;
-import com.pinewoods.score.tracker.entities.flight.Flight;
-import com.pinewoods.score.tracker.entities.flight.FlightScore;
-
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
 import com.pinewoods.score.tracker.services.course.CourseService;
-import java.util.Date;
 
-public class StrokeplayScoringStrategy extends BaseScoringStrategy {
+import java.util.List;
 
-    PlayerRepository playerRepo;
+public class StrokeplayScoringStrategy extends BaseScoringStrategy {
 
-    public StrokeplayScoringStrategy(
-        Long courseId, PlayerRepository playerRepo,
-                                     double handicapMultiplier, CourseService courseService) {
+    public StrokeplayScoringStrategy(Long courseId, double handicapMultiplier,
+                                     CourseService courseService, CompiledCourseCache compiledCourses) {
         super(handicapMultiplier);
-        this.playerRepo = playerRepo;
         this.courseService = courseService;
+        this.compiledCourses = compiledCourses;
         this.courseId = courseId;
     }
 
     @Override
-    public Flight calculateScores(Flight originalFlight) {
-        Flight calculatedFlight = Flight.builder()
-                .date(new Date())
-                .build();
-
-        int totalPar = getCourse().getPars().stream().mapToInt(Integer::intValue).sum();
-
-        for (FlightScore card : originalFlight.getFlightScores()) {
-            Player player = card.getPlayer();
-            PlayerDTO playerDto = player.toDTO();
-            int handicap = (int) Math.round(getCourseHandicap(player.getId(), getCourse().getId()) * handicapMultiplier);
-            int totalScore = card.getHoleScores().stream().mapToInt(Integer::intValue).sum();
-            int birdies = countBirdies(card.getHoleScores());
-            int totalPoints = totalPar + handicap - totalScore;
-
-            FlightScore fs = FlightScore.builder()
-                    .player(playerRepo.findByName(playerDto.name()).orElseThrow())
-                    .score(totalPoints)
-                    .birdies(birdies)
-                    .flight(calculatedFlight)
-                    .build();
-
-            calculatedFlight.getFlightScores().add(fs);
-        }
-
-        return calculatedFlight;
+    public String getName() {
+        return "STROKEPLAY";
     }
 
     @Override
-    public String getName() {
-        return "STROKEPLAY";
+    protected int calculatePoints(HoleStats stats, List<Integer> holes, CompiledCourse course, int handicap) {
+        // Strokes beaten against par plus the full handicap, so higher is better like Stableford
+        return course.getTotalPar() + handicap - stats.gross();
     }
 }
@@ -0,0 +1,245 @@
+package com.pinewoods.score.tracker.services.scoring.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recursive-descent parser that compiles an integer formula straight into nested lambdas.
+ * <pre>
+ * expression := additive (("<" | "<=" | ">" | ">=" | "==" | "!=") additive)?
+ * additive   := term (("+" | "-") term)*
+ * term       := unary (("*" | "/" | "%") unary)*
+ * unary      := "-" unary | primary
+ * primary    := number | variable | function "(" expression ("," expression)* ")" | "(" expression ")"
+ * </pre>
+ * Comparisons yield 1 or 0. Functions are {@code min}, {@code max}, {@code abs}, {@code clamp(x, lo, hi)}
+ * and {@code if(condition, then, else)}. Division and remainder by zero yield 0.
+ */
+final class FormulaParser {
+    private final String source;
+    private final Map<String, Integer> slots;
+    private int pos;
+
+    private FormulaParser(String source, Map<String, Integer> slots) {
+        this.source = source;
+        this.slots = slots;
+    }
+
+    /**
+     * @param source formula text
+     * @param slots index in the variables array of every variable the formula may use
+     * @return compiled formula
+     * @throws IllegalArgumentException if the formula is not valid
+     */
+    static IntFormula compile(String source, Map<String, Integer> slots) {
+        FormulaParser parser = new FormulaParser(source, slots);
+        IntFormula formula = parser.expression();
+        parser.skipWhitespace();
+        if (parser.pos < source.length()) {
+            throw parser.error("Unexpected '" + source.charAt(parser.pos) + "'");
+        }
+        return formula;
+    }
+
+    private IntFormula expression() {
+        IntFormula left = additive();
+        if (accept("<=")) {
+            IntFormula right = additive();
+            return vars -> left.evaluate(vars) <= right.evaluate(vars) ? 1 : 0;
+        }
+        if (accept(">=")) {
+            IntFormula right = additive();
+            return vars -> left.evaluate(vars) >= right.evaluate(vars) ? 1 : 0;
+        }
+        if (accept("==")) {
+            IntFormula right = additive();
+            return vars -> left.evaluate(vars) == right.evaluate(vars) ? 1 : 0;
+        }
+        if (accept("!=")) {
+            IntFormula right = additive();
+            return vars -> left.evaluate(vars) != right.evaluate(vars) ? 1 : 0;
+        }
+        if (accept("<")) {
+            IntFormula right = additive();
+            return vars -> left.evaluate(vars) < right.evaluate(vars) ? 1 : 0;
+        }
+        if (accept(">")) {
+            IntFormula right = additive();
+            return vars -> left.evaluate(vars) > right.evaluate(vars) ? 1 : 0;
+        }
+        return left;
+    }
+
+    private IntFormula additive() {
+        IntFormula result = term();
+        while (true) {
+            IntFormula left = result;
+            if (accept("+")) {
+                IntFormula right = term();
+                result = vars -> left.evaluate(vars) + right.evaluate(vars);
+            } else if (accept("-")) {
+                IntFormula right = term();
+                result = vars -> left.evaluate(vars) - right.evaluate(vars);
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private IntFormula term() {
+        IntFormula result = unary();
+        while (true) {
+            IntFormula left = result;
+            if (accept("*")) {
+                IntFormula right = unary();
+                result = vars -> left.evaluate(vars) * right.evaluate(vars);
+            } else if (accept("/")) {
+                IntFormula right = unary();
+                result = vars -> {
+                    int divisor = right.evaluate(vars);
+                    return divisor == 0 ? 0 : left.evaluate(vars) / divisor;
+                };
+            } else if (accept("%")) {
+                IntFormula right = unary();
+                result = vars -> {
+                    int divisor = right.evaluate(vars);
+                    return divisor == 0 ? 0 : left.evaluate(vars) % divisor;
+                };
+            } else {
+                return result;
+            }
+        }
+    }
+
+    private IntFormula unary() {
+        if (accept("-")) {
+            IntFormula operand = unary();
+            return vars -> -operand.evaluate(vars);
+        }
+        return primary();
+    }
+
+    private IntFormula primary() {
+        skipWhitespace();
+        if (accept("(")) {
+            IntFormula inner = expression();
+            expect(")");
+            return inner;
+        }
+        if (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+            return number();
+        }
+        if (pos < source.length() && Character.isLetter(source.charAt(pos))) {
+            String name = identifier();
+            if (accept("(")) {
+                return function(name, arguments());
+            }
+            Integer slot = slots.get(name);
+            if (slot == null) {
+                throw error("Unknown variable '" + name + "', expected one of " + slots.keySet());
+            }
+            int index = slot;
+            return vars -> vars[index];
+        }
+        throw error(pos < source.length() ? "Unexpected '" + source.charAt(pos) + "'" : "Unexpected end of formula");
+    }
+
+    private IntFormula number() {
+        int start = pos;
+        while (pos < source.length() && Character.isDigit(source.charAt(pos))) {
+            pos++;
+        }
+        int value;
+        try {
+            value = Integer.parseInt(source.substring(start, pos));
+        } catch (NumberFormatException e) {
+            throw error("Number out of range");
+        }
+        return vars -> value;
+    }
+
+    private String identifier() {
+        int start = pos;
+        while (pos < source.length() && Character.isLetterOrDigit(source.charAt(pos))) {
+            pos++;
+        }
+        return source.substring(start, pos);
+    }
+
+    private List<IntFormula> arguments() {
+        List<IntFormula> arguments = new ArrayList<>();
+        if (accept(")")) {
+            return arguments;
+        }
+        do {
+            arguments.add(expression());
+        } while (accept(","));
+        expect(")");
+        return arguments;
+    }
+
+    private IntFormula function(String name, List<IntFormula> args) {
+        switch (name) {
+            case "min" -> {
+                requireArguments(name, args, 2, Integer.MAX_VALUE);
+                return args.stream().reduce((a, b) -> vars -> Math.min(a.evaluate(vars), b.evaluate(vars))).orElseThrow();
+            }
+            case "max" -> {
+                requireArguments(name, args, 2, Integer.MAX_VALUE);
+                return args.stream().reduce((a, b) -> vars -> Math.max(a.evaluate(vars), b.evaluate(vars))).orElseThrow();
+            }
+            case "abs" -> {
+                requireArguments(name, args, 1, 1);
+                IntFormula value = args.get(0);
+                return vars -> Math.abs(value.evaluate(vars));
+            }
+            case "clamp" -> {
+                requireArguments(name, args, 3, 3);
+                IntFormula value = args.get(0);
+                IntFormula low = args.get(1);
+                IntFormula high = args.get(2);
+                return vars -> Math.max(low.evaluate(vars), Math.min(high.evaluate(vars), value.evaluate(vars)));
+            }
+            case "if" -> {
+                requireArguments(name, args, 3, 3);
+                IntFormula condition = args.get(0);
+                IntFormula then = args.get(1);
+                IntFormula otherwise = args.get(2);
+                return vars -> condition.evaluate(vars) != 0 ? then.evaluate(vars) : otherwise.evaluate(vars);
+            }
+            default -> throw error("Unknown function '" + name + "'");
+        }
+    }
+
+    private void requireArguments(String name, List<IntFormula> args, int min, int max) {
+        if (args.size() < min || args.size() > max) {
+            throw error("Wrong number of arguments for '" + name + "'");
+        }
+    }
+
+    private boolean accept(String token) {
+        skipWhitespace();
+        if (source.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String token) {
+        if (!accept(token)) {
+            throw error("Expected '" + token + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " in formula: " + source);
+    }
+}
@@ -0,0 +1,10 @@
+package com.pinewoods.score.tracker.services.scoring.formula;
+
+/**
+ * A compiled formula. Variables are read from fixed slots of {@code vars}, resolved when the
+ * formula was parsed, so evaluation involves no lookups or boxing.
+ */
+@FunctionalInterface
+public interface IntFormula {
+    int evaluate(int[] vars);
+}
@@ -0,0 +1,161 @@
+package com.pinewoods.score.tracker.services.scoring.formula;
+
+import com.pinewoods.score.tracker.entities.tournament.ScoringDefinition;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.scoring.HoleStats;
+import com.pinewoods.score.tracker.services.scoring.LiveCard;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A {@link ScoringDefinition} compiled once into formulas that score a card in a single pass:
+ * the hole formula is evaluated per hole, capped, aggregated, and the result fed to the total formula.
+ */
+public final class ScoringFormula {
+    // Slots of the hole formula variables
+    private static final int GROSS = 0;
+    private static final int NET = 1;
+    private static final int PAR = 2;
+    private static final int INDEX = 3;
+    private static final int STROKES = 4;
+    private static final int TO_PAR = 5;
+    private static final int HOLE = 6;
+    private static final Map<String, Integer> HOLE_VARIABLES = Map.of(
+            "gross", GROSS, "net", NET, "par", PAR, "index", INDEX,
+            "strokes", STROKES, "toPar", TO_PAR, "hole", HOLE);
+
+    // Slots of the total formula variables
+    private static final int POINTS = 0;
+    private static final int TOTAL_GROSS = 1;
+    private static final int TOTAL_NET = 2;
+    private static final int TOTAL_PAR = 3;
+    private static final int HANDICAP = 4;
+    private static final int BIRDIES = 5;
+    private static final Map<String, Integer> TOTAL_VARIABLES = Map.of(
+            "points", POINTS, "gross", TOTAL_GROSS, "net", TOTAL_NET,
+            "par", TOTAL_PAR, "handicap", HANDICAP, "birdies", BIRDIES);
+
+    private enum Aggregate { SUM, MAX, MIN }
+
+    private final IntFormula hole;
+    private final Aggregate aggregate;
+    private final IntFormula total;
+    private final int holeMax;
+    private final int totalMax;
+
+    private ScoringFormula(IntFormula hole, Aggregate aggregate, IntFormula total, int holeMax, int totalMax) {
+        this.hole = hole;
+        this.aggregate = aggregate;
+        this.total = total;
+        this.holeMax = holeMax;
+        this.totalMax = totalMax;
+    }
+
+    /**
+     * @param definition custom scoring definition
+     * @return compiled formula
+     * @throws IllegalArgumentException if the definition is missing or any formula is invalid
+     */
+    public static ScoringFormula compile(ScoringDefinition definition) {
+        if (definition == null || (isBlank(definition.getHoleFormula()) && isBlank(definition.getTotalFormula()))) {
+            throw new IllegalArgumentException("A custom scoring definition needs a hole or a total formula");
+        }
+
+        IntFormula hole = isBlank(definition.getHoleFormula())
+                ? vars -> 0
+                : FormulaParser.compile(definition.getHoleFormula(), HOLE_VARIABLES);
+        IntFormula total = isBlank(definition.getTotalFormula())
+                ? vars -> vars[POINTS]
+                : FormulaParser.compile(definition.getTotalFormula(), TOTAL_VARIABLES);
+
+        Aggregate aggregate;
+        try {
+            aggregate = isBlank(definition.getAggregate())
+                    ? Aggregate.SUM
+                    : Aggregate.valueOf(definition.getAggregate().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported aggregate: " + definition.getAggregate());
+        }
+
+        return new ScoringFormula(hole, aggregate, total,
+                definition.getHoleMax() == null ? Integer.MAX_VALUE : definition.getHoleMax(),
+                definition.getTotalMax() == null ? Integer.MAX_VALUE : definition.getTotalMax());
+    }
+
+    /**
+     * @param holes gross score of each hole
+     * @param course compiled course the card was played on
+     * @param handicap playing handicap
+     * @param stats totals of the card
+     * @return score of the card, higher is better
+     */
+    public int score(List<Integer> holes, CompiledCourse course, int handicap, HoleStats stats) {
+        int[] vars = new int[HOLE_VARIABLES.size()];
+        int points = initialPoints();
+        for (int i = 0; i < CompiledCourse.HOLES; i++) {
+            points = addHole(points, vars, i, holes.get(i), course, handicap);
+        }
+        return total(points, stats.gross(), stats.net(), course.getTotalPar(), handicap, stats.birdies());
+    }
+
+    /**
+     * Scores a card in progress as if the round ended after the holes played so far: holes not played yet are
+     * left out of the aggregate, and the total formula sees the totals and the par of the holes played.
+     *
+     * @param card card in progress
+     * @return score of the holes played, higher is better, on the scale of a finished card
+     */
+    public int score(LiveCard card) {
+        if (card.getThru() == 0) {
+            return total(0, 0, 0, 0, card.getHandicap(), 0);
+        }
+        int[] vars = new int[HOLE_VARIABLES.size()];
+        int points = initialPoints();
+        for (int i = 0; i < CompiledCourse.HOLES; i++) {
+            if (card.isPlayed(i)) {
+                points = addHole(points, vars, i, card.getStrokes(i), card.getCourse(), card.getHandicap());
+            }
+        }
+        return total(points, card.getGross(), card.getNet(), card.getParPlayed(), card.getHandicap(),
+                card.getBirdies());
+    }
+
+    private int initialPoints() {
+        return aggregate == Aggregate.MIN ? Integer.MAX_VALUE : aggregate == Aggregate.MAX ? Integer.MIN_VALUE : 0;
+    }
+
+    private int addHole(int points, int[] vars, int i, int gross, CompiledCourse course, int handicap) {
+        int strokes = course.strokesReceived(i, handicap);
+        vars[GROSS] = gross;
+        vars[NET] = gross - strokes;
+        vars[PAR] = course.par(i);
+        vars[INDEX] = course.index(i);
+        vars[STROKES] = strokes;
+        vars[TO_PAR] = gross - strokes - course.par(i);
+        vars[HOLE] = i + 1;
+
+        int holePoints = Math.min(holeMax, hole.evaluate(vars));
+        return switch (aggregate) {
+            case SUM -> points + holePoints;
+            case MAX -> Math.max(points, holePoints);
+            case MIN -> Math.min(points, holePoints);
+        };
+    }
+
+    private int total(int points, int gross, int net, int par, int handicap, int birdies) {
+        int[] totals = new int[TOTAL_VARIABLES.size()];
+        totals[POINTS] = points;
+        totals[TOTAL_GROSS] = gross;
+        totals[TOTAL_NET] = net;
+        totals[TOTAL_PAR] = par;
+        totals[HANDICAP] = handicap;
+        totals[BIRDIES] = birdies;
+        return Math.min(totalMax, total.evaluate(totals));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
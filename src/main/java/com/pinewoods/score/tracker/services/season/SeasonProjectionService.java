@@ -0,0 +1,158 @@
+package com.pinewoods.score.tracker.services.season;
+
+import com.pinewoods.score.tracker.dao.season.SeasonRepository;
+import com.pinewoods.score.tracker.dto.season.SeasonProjectionDTO;
+import com.pinewoods.score.tracker.dto.season.TeamProjectionDTO;
+import com.pinewoods.score.tracker.entities.season.Season;
+import com.pinewoods.score.tracker.exceptions.ResourceConflictException;
+import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Projects the final season standings by simulating the remaining tournaments, see {@link SeasonSimulator}.
+ * <p>
+ * A card is sampled as its net score against par ({@code par + handicap - gross}), the same measure stroke play
+ * uses, so cards from different courses can be compared. Only complete 18 hole cards are used. The field is every
+ * player who has played in the season, or every player with a card if the season has not started yet.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeasonProjectionService {
+    public static final int MAX_SIMULATIONS = 1_000_000;
+    public static final int MAX_REMAINING_TOURNAMENTS = 100;
+
+    private static final String UNASSIGNED_TEAM = "UNASSIGNED";
+
+    private final SeasonRepository seasonRepo;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * @param seasonName name of the season
+     * @param remainingTournaments number of tournaments left in the season
+     * @param simulations number of simulated seasons
+     * @param seed seed of the random generator, {@code null} for a random one
+     * @return projected points and title probability of each team, most likely champion first
+     */
+    public SeasonProjectionDTO project(String seasonName, int remainingTournaments, int simulations, Long seed) {
+        if (remainingTournaments < 0 || remainingTournaments > MAX_REMAINING_TOURNAMENTS) {
+            throw new IllegalArgumentException("Remaining tournaments must be between 0 and " + MAX_REMAINING_TOURNAMENTS);
+        }
+        if (simulations < 1 || simulations > MAX_SIMULATIONS) {
+            throw new IllegalArgumentException("Simulations must be between 1 and " + MAX_SIMULATIONS);
+        }
+
+        Season season = seasonRepo.findByName(seasonName)
+                .orElseThrow(() -> new ResourceNotFoundException("Season not found"));
+        if (season.isFinished()) {
+            throw new ResourceConflictException("Season is already finished");
+        }
+
+        long start = System.nanoTime();
+
+        // Teams: current standings first, then teams of players without points yet
+        Map<Long, String> teamNames = new HashMap<>();
+        jdbcTemplate.query("SELECT id, name FROM teams",
+                rs -> { teamNames.put(rs.getLong("id"), rs.getString("name")); });
+
+        Map<Long, Integer> teamIndexes = new LinkedHashMap<>();
+        List<Integer> teamPoints = new ArrayList<>();
+        jdbcTemplate.query("SELECT team_id, points FROM team_standing WHERE season_id = ?",
+                rs -> {
+                    teamIndexes.put(rs.getLong("team_id"), teamPoints.size());
+                    teamPoints.add(rs.getInt("points"));
+                }, season.getId());
+
+        Set<Long> field = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT fs.player_id FROM flight_scores fs " +
+                        "JOIN tournament_flights tf ON tf.flight_id = fs.flight_id " +
+                        "JOIN tournaments t ON t.id = tf.tournament_id " +
+                        "WHERE t.season_id = ?", Long.class, season.getId()));
+
+        // Cards grouped by player, in compressed rows
+        List<Integer> offsets = new ArrayList<>();
+        List<Integer> playerTeams = new ArrayList<>();
+        List<Integer> scores = new ArrayList<>();
+        List<Integer> birdies = new ArrayList<>();
+        long[] currentPlayer = {-1};
+        jdbcTemplate.query(
+                "SELECT fs.player_id, p.team_id, p.handicap, fs.hole_bytes, fs.birdies, " +
+                        "(SELECT sum(cp.par) FROM course_pars cp JOIN courses c ON c.id = cp.course_id " +
+                        "WHERE c.name = fs.course_name) AS total_par " +
+                        "FROM flight_scores fs JOIN players p ON p.id = fs.player_id " +
+                        "WHERE fs.hole_bytes IS NOT NULL AND length(fs.hole_bytes) = 18 " +
+                        "ORDER BY fs.player_id",
+                rs -> {
+                    long playerId = rs.getLong("player_id");
+                    int totalPar = rs.getInt("total_par");
+                    if (rs.wasNull() || (!field.isEmpty() && !field.contains(playerId))) {
+                        return;
+                    }
+
+                    if (playerId != currentPlayer[0]) {
+                        currentPlayer[0] = playerId;
+                        offsets.add(scores.size());
+                        playerTeams.add(teamIndex(rs.getLong("team_id"), rs.wasNull(), teamNames,
+                                teamIndexes, teamPoints));
+                    }
+
+                    int gross = 0;
+                    for (byte strokes : rs.getBytes("hole_bytes")) {
+                        gross += Byte.toUnsignedInt(strokes);
+                    }
+                    scores.add(totalPar + (int) Math.round(rs.getDouble("handicap")) - gross);
+                    birdies.add(rs.getInt("birdies"));
+                });
+        offsets.add(scores.size());
+
+        int[] teamPointsArray = toArray(teamPoints);
+        SeasonSimulator.Result result = new SeasonSimulator(toArray(offsets), toArray(scores), toArray(birdies),
+                toArray(playerTeams), teamPointsArray)
+                .run(playerTeams.isEmpty() ? 0 : remainingTournaments, simulations,
+                        seed != null ? seed : System.nanoTime());
+
+        List<TeamProjectionDTO> teams = new ArrayList<>();
+        teamIndexes.forEach((teamId, index) -> teams.add(new TeamProjectionDTO(
+                teamNames.get(teamId),
+                teamPointsArray[index],
+                result.expectedPoints()[index],
+                result.titleProbability()[index])));
+        teams.sort(Comparator.comparingDouble(TeamProjectionDTO::titleProbability).reversed()
+                .thenComparing(Comparator.comparingInt(TeamProjectionDTO::points).reversed()));
+
+        return new SeasonProjectionDTO(season.getName(), remainingTournaments, simulations,
+                (System.nanoTime() - start) / 1_000_000, teams);
+    }
+
+    /**
+     * @return index of the player's team, added with no points if new, or -1 if the team does not score
+     */
+    private static int teamIndex(long teamId, boolean noTeam, Map<Long, String> teamNames,
+                                 Map<Long, Integer> teamIndexes, List<Integer> teamPoints) {
+        if (noTeam || UNASSIGNED_TEAM.equalsIgnoreCase(teamNames.get(teamId))) {
+            return -1;
+        }
+        return teamIndexes.computeIfAbsent(teamId, id -> {
+            teamPoints.add(0);
+            return teamPoints.size() - 1;
+        });
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
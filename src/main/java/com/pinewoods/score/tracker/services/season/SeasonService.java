@@ -1,7 +1,9 @@
 package com.pinewoods.score.tracker.services.season;
 
 import com.pinewoods.score.tracker.dao.season.SeasonRepository;
+import com.pinewoods.score.tracker.dao.season.TeamStandingRepository;
 import com.pinewoods.score.tracker.dto.season.SeasonDTO;
+import com.pinewoods.score.tracker.dto.season.SeasonSummaryDTO;
 import com.pinewoods.score.tracker.dto.season.TeamStandingDTO;
 import com.pinewoods.score.tracker.dto.tournament.TournamentDTO;
 import com.pinewoods.score.tracker.entities.season.Season;
@@ -9,6 +11,7 @@ import com.pinewoods.score.tracker.entities.season.TeamStanding;
 import com.pinewoods.score.tracker.entities.tournament.Tournament;
 import com.pinewoods.score.tracker.exceptions.ResourceConflictException;
 import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import com.pinewoods.score.tracker.services.tournament.TournamentService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -25,6 +28,8 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SeasonService {
     private final SeasonRepository seasonRepo;
+    private final TeamStandingRepository standingRepo;
+    private final TournamentService tournamentService;
 
     /**
      * Creates a season with the given name.
@@ -59,8 +64,40 @@ public class SeasonService {
                 .orElseThrow(() -> new ResourceNotFoundException("Season not found"));
     }
 
-    public List<Season> getAllSeasons() {
-        return seasonRepo.findAll();
+    /**
+     * @param id season id
+     * @return season with its standings and tournament summaries, without flights
+     */
+    public SeasonSummaryDTO getSeasonSummary(Long id) {
+        Season season = getSeasonById(id);
+        return new SeasonSummaryDTO(season.getId(),
+                season.getName(),
+                season.isFinished(),
+                getStandingDTOs(season),
+                tournamentService.getTournamentSummariesBySeason(season.getName()));
+    }
+
+    /**
+     * Loads the whole season graph in a fixed number of queries, see {@link TournamentService#getTournamentDetails}.
+     *
+     * @param id season id
+     * @return season with its standings and every tournament's flights and scores
+     */
+    public SeasonDTO getSeasonDetail(Long id) {
+        Season season = getSeasonById(id);
+        return new SeasonDTO(season.getName(),
+                getStandingDTOs(season),
+                tournamentService.getTournamentsBySeason(season.getName()));
+    }
+
+    private List<TeamStandingDTO> getStandingDTOs(Season season) {
+        return standingRepo.findAllWithTeamBySeasonId(season.getId()).stream()
+                .map(TeamStanding::toDTO)
+                .toList();
+    }
+
+    public List<String> getAllSeasonNames() {
+        return seasonRepo.findAllNames();
     }
 
     /************************** drill downs ****************************
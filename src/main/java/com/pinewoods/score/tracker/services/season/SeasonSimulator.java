@@ -0,0 +1,183 @@
+package com.pinewoods.score.tracker.services.season;
+
+import com.pinewoods.score.tracker.services.tournament.TournamentAwards;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo simulation of the rest of a season, over primitive arrays only.
+ * <p>
+ * In every simulated tournament each player of the field plays one card drawn from their history, and
+ * points are awarded like {@link TournamentAwards}: the top score groups share 100/66/33 and the most birdies
+ * earn 50, ties on birdies going to the higher score. Simulations are split into chunks that run in
+ * parallel, each with its own {@link SplittableRandom}, so a run is reproducible for a given seed.
+ */
+public final class SeasonSimulator {
+    private static final int CHUNKS_PER_CORE = 8;
+
+    // Cards of player p are at [cardOffsets[p], cardOffsets[p + 1])
+    private final int[] cardOffsets;
+    private final int[] cardScores;
+    private final int[] cardBirdies;
+    // Team index of each player, -1 for players whose points do not count for a team
+    private final int[] playerTeams;
+    private final int[] teamPoints;
+
+    /**
+     * @param cardOffsets start of each player's cards, with one extra entry for the end of the last player
+     * @param cardScores tournament score of each card, higher is better
+     * @param cardBirdies birdies of each card
+     * @param playerTeams team index of each player, or -1
+     * @param teamPoints points each team has already won this season
+     */
+    public SeasonSimulator(int[] cardOffsets, int[] cardScores, int[] cardBirdies, int[] playerTeams, int[] teamPoints) {
+        this.cardOffsets = cardOffsets;
+        this.cardScores = cardScores;
+        this.cardBirdies = cardBirdies;
+        this.playerTeams = playerTeams;
+        this.teamPoints = teamPoints;
+    }
+
+    public record Result(double[] titleProbability, double[] expectedPoints) {}
+
+    public Result run(int remainingTournaments, int simulations, long seed) {
+        int chunks = Math.max(1, Math.min(simulations,
+                Runtime.getRuntime().availableProcessors() * CHUNKS_PER_CORE));
+
+        // Split the generators up front so the outcome does not depend on thread scheduling
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+
+        double[][] totals = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> runChunk(remainingTournaments,
+                        simulations / chunks + (c < simulations % chunks ? 1 : 0), randoms[c]))
+                .reduce(SeasonSimulator::add)
+                .orElseThrow();
+
+        int teams = teamPoints.length;
+        double[] titles = new double[teams];
+        double[] expected = new double[teams];
+        for (int t = 0; t < teams; t++) {
+            titles[t] = totals[0][t] / simulations;
+            expected[t] = totals[1][t] / simulations;
+        }
+        return new Result(titles, expected);
+    }
+
+    /**
+     * @return title shares and summed final points per team
+     */
+    private double[][] runChunk(int remainingTournaments, int simulations, SplittableRandom random) {
+        int teams = teamPoints.length;
+        int players = playerTeams.length;
+        double[] titles = new double[teams];
+        double[] finalPoints = new double[teams];
+
+        int[] points = new int[teams];
+        int[] scores = new int[players];
+        int[] birdies = new int[players];
+        int[] groupScores = new int[TournamentAwards.prizedRanks()];
+        int[] groupSizes = new int[TournamentAwards.prizedRanks()];
+
+        for (int s = 0; s < simulations; s++) {
+            System.arraycopy(teamPoints, 0, points, 0, teams);
+            for (int r = 0; r < remainingTournaments; r++) {
+                playTournament(random, points, scores, birdies, groupScores, groupSizes);
+            }
+
+            int best = Integer.MIN_VALUE;
+            int leaders = 0;
+            for (int t = 0; t < teams; t++) {
+                finalPoints[t] += points[t];
+                if (points[t] > best) {
+                    best = points[t];
+                    leaders = 1;
+                } else if (points[t] == best) {
+                    leaders++;
+                }
+            }
+            for (int t = 0; t < teams; t++) {
+                if (points[t] == best) {
+                    titles[t] += 1.0 / leaders;
+                }
+            }
+        }
+        return new double[][]{titles, finalPoints};
+    }
+
+    private void playTournament(SplittableRandom random, int[] points, int[] scores, int[] birdies,
+                                int[] groupScores, int[] groupSizes) {
+        int groups = 0;
+        for (int p = 0; p < playerTeams.length; p++) {
+            int card = cardOffsets[p] + random.nextInt(cardOffsets[p + 1] - cardOffsets[p]);
+            int score = cardScores[card];
+            scores[p] = score;
+            birdies[p] = cardBirdies[card];
+            groups = addToTopGroups(score, groupScores, groupSizes, groups);
+        }
+
+        int mostBirdies = 0;
+        int birdieWinner = -1;
+        for (int p = 0; p < playerTeams.length; p++) {
+            int team = playerTeams[p];
+            if (team >= 0) {
+                for (int g = 0; g < groups; g++) {
+                    if (scores[p] == groupScores[g]) {
+                        points[team] += TournamentAwards.prizePool(g) / groupSizes[g];
+                        break;
+                    }
+                }
+            }
+            if (birdies[p] > mostBirdies || (birdies[p] > 0 && birdies[p] == mostBirdies
+                    && scores[p] > scores[birdieWinner])) {
+                mostBirdies = birdies[p];
+                birdieWinner = p;
+            }
+        }
+
+        if (birdieWinner >= 0 && playerTeams[birdieWinner] >= 0) {
+            points[playerTeams[birdieWinner]] += TournamentAwards.MOST_BIRDIES_POINTS;
+        }
+    }
+
+    /**
+     * Keeps the highest distinct scores, highest first, and how many players made each.
+     *
+     * @return number of groups in use
+     */
+    private static int addToTopGroups(int score, int[] groupScores, int[] groupSizes, int groups) {
+        for (int g = 0; g < groups; g++) {
+            if (score == groupScores[g]) {
+                groupSizes[g]++;
+                return groups;
+            }
+            if (score > groupScores[g]) {
+                int last = Math.min(groups, groupScores.length - 1);
+                System.arraycopy(groupScores, g, groupScores, g + 1, last - g);
+                System.arraycopy(groupSizes, g, groupSizes, g + 1, last - g);
+                groupScores[g] = score;
+                groupSizes[g] = 1;
+                return Math.min(groups + 1, groupScores.length);
+            }
+        }
+        if (groups < groupScores.length) {
+            groupScores[groups] = score;
+            groupSizes[groups] = 1;
+            return groups + 1;
+        }
+        return groups;
+    }
+
+    private static double[][] add(double[][] a, double[][] b) {
+        for (int i = 0; i < a.length; i++) {
+            for (int t = 0; t < a[i].length; t++) {
+                a[i][t] += b[i][t];
+            }
+        }
+        return a;
+    }
+}
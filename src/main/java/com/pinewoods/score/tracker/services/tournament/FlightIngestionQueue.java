@@ -0,0 +1,266 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import com.pinewoods.score.tracker.dao.flight.FlightRepository;
+import com.pinewoods.score.tracker.exceptions.ResourceConflictException;
+import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Links flights to running tournaments through one mailbox per tournament.
+ * <p>
+ * Request threads only queue the flight id. Each mailbox is drained by its own virtual thread, the single writer
+ * of that tournament, which scores, persists and publishes the flights in arrival order. Flights that arrive
+ * while a batch is being written are linked together in the next transaction. If a batch fails, its flights are
+ * retried one at a time so one bad flight does not hold back the others.
+ * <p>
+ * Queued flights are kept in memory only; after a crash they stay unlinked and can be linked again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FlightIngestionQueue implements DisposableBean {
+    private static final int MAX_BATCH = 100;
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(30);
+    // Queued to stop a writer once it has written everything queued before it
+    private static final long STOP = Long.MIN_VALUE;
+
+    private final TournamentService tournamentService;
+    private final FlightRepository flightRepo;
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    private final class Mailbox {
+        final long tournamentId;
+        final BlockingQueue<Long> flightIds = new LinkedBlockingQueue<>();
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition drained = lock.newCondition();
+        // Queued or being written
+        int pending;
+        // Players of the flights queued or being written, so a second card is rejected before it is queued
+        final Map<Long, Set<Long>> playersByFlight = new HashMap<>();
+        final Set<Long> pendingPlayers = new HashSet<>();
+        // Set once the STOP is queued; guarded by the lock so no flight is queued behind it
+        boolean closed;
+        final Thread writer;
+
+        Mailbox(long tournamentId) {
+            this.tournamentId = tournamentId;
+            this.writer = Thread.ofVirtual()
+                    .name("flight-ingestion-" + tournamentId)
+                    .start(() -> drain(this));
+        }
+
+        /**
+         * The players are checked under the lock that {@link #done} takes after the flights are linked, so a
+         * card is always caught either here or on the leaderboard.
+         *
+         * @param playerNames names of the flight's players by id
+         * @return false if the mailbox is closed and the flight was not queued
+         * @throws ResourceConflictException if a player of the flight has a card queued or in the tournament
+         */
+        boolean add(long flightId, Map<Long, String> playerNames) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                playerNames.forEach((playerId, name) -> {
+                    if (pendingPlayers.contains(playerId)) {
+                        throw new ResourceConflictException("Player " + name + " already has a card queued for " +
+                                "tournament " + tournamentId);
+                    }
+                });
+                tournamentService.checkNewCards(tournamentId, playerNames);
+                pendingPlayers.addAll(playerNames.keySet());
+                playersByFlight.put(flightId, playerNames.keySet());
+                pending++;
+                flightIds.add(flightId);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Stops the writer once it has written everything queued so far.
+         */
+        void close() {
+            lock.lock();
+            try {
+                if (!closed) {
+                    closed = true;
+                    flightIds.add(STOP);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void done(List<Long> flightIds) {
+            lock.lock();
+            try {
+                for (Long flightId : flightIds) {
+                    Set<Long> players = playersByFlight.remove(flightId);
+                    if (players != null) {
+                        pendingPlayers.removeAll(players);
+                    }
+                }
+                pending -= flightIds.size();
+                if (pending == 0) {
+                    drained.signalAll();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean awaitDrained(Duration timeout) throws InterruptedException {
+            long remaining = timeout.toNanos();
+            lock.lock();
+            try {
+                while (pending > 0) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = drained.awaitNanos(remaining);
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Queues a flight to be linked to a running tournament and returns without waiting for it.
+     *
+     * @param flightId flight id
+     * @param tournamentId tournament id
+     * @throws ResourceNotFoundException if the flight does not exist
+     * @throws ResourceConflictException if the tournament has no running session, including one that ends
+     * while the flight is submitted, or a player of the flight already has a card in it or queued for it
+     */
+    public void submit(long flightId, long tournamentId) {
+        if (closed || !tournamentService.isSessionActive(tournamentId)) {
+            throw new ResourceConflictException("Tournament session expired");
+        }
+        if (!flightRepo.existsById(flightId)) {
+            throw new ResourceNotFoundException("Flight not found: " + flightId);
+        }
+        Map<Long, String> playerNames = new HashMap<>();
+        for (Object[] row : flightRepo.findPlayersById(flightId)) {
+            playerNames.put((Long) row[0], (String) row[1]);
+        }
+        // A mailbox is only created for a running session. The session ends before its mailbox is removed, and
+        // both steps on the same key are serialized, so an ended tournament never gets a new writer.
+        Mailbox mailbox = mailboxes.compute(tournamentId, (id, existing) ->
+                existing != null || closed || !tournamentService.isSessionActive(id) ? existing : new Mailbox(id));
+        if (mailbox == null || !mailbox.add(flightId, playerNames)) {
+            throw new ResourceConflictException("Tournament session expired");
+        }
+    }
+
+    /**
+     * Waits until every flight queued for the tournament so far has been written, e.g. before it ends.
+     *
+     * @return false if the flights were still being written when the timeout passed
+     */
+    public boolean flush(long tournamentId) {
+        Mailbox mailbox = mailboxes.get(tournamentId);
+        if (mailbox == null) {
+            return true;
+        }
+        try {
+            return mailbox.awaitDrained(FLUSH_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @EventListener
+    public void onTournamentEnding(TournamentEndingEvent event) {
+        if (!flush(event.tournamentId())) {
+            throw new ResourceConflictException("Flights of tournament " + event.tournamentId() +
+                    " are still being linked, try ending it again");
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeaderboardChanged(LeaderboardChangedEvent event) {
+        if (event.closed()) {
+            Mailbox mailbox = mailboxes.remove(event.tournamentId());
+            if (mailbox != null) {
+                mailbox.close();
+            }
+        }
+    }
+
+    private void drain(Mailbox mailbox) {
+        List<Long> batch = new ArrayList<>(MAX_BATCH);
+        boolean stop = false;
+        while (!stop) {
+            try {
+                batch.add(mailbox.flightIds.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            mailbox.flightIds.drainTo(batch, MAX_BATCH - 1);
+            stop = batch.removeIf(flightId -> flightId == STOP);
+
+            if (!batch.isEmpty()) {
+                link(mailbox.tournamentId, batch);
+                mailbox.done(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void link(long tournamentId, List<Long> flightIds) {
+        try {
+            tournamentService.addFlightsToTournament(tournamentId, flightIds);
+        } catch (RuntimeException e) {
+            if (flightIds.size() == 1) {
+                log.warn("Could not link flight {} to tournament {}: {}", flightIds.getFirst(), tournamentId,
+                        e.getMessage());
+                return;
+            }
+            for (Long flightId : flightIds) {
+                link(tournamentId, List.of(flightId));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        closed = true;
+        for (Mailbox mailbox : mailboxes.values()) {
+            mailbox.close();
+        }
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT.toNanos();
+        for (Mailbox mailbox : mailboxes.values()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                mailbox.writer.join(Duration.ofNanos(remaining));
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+/**
+ * Published when the leaderboard of a running tournament changes, and handled once the change is committed.
+ *
+ * @param tournamentId tournament id
+ * @param closed true when the tournament ended or was deleted and its leaderboard is gone
+ */
+public record LeaderboardChangedEvent(long tournamentId, boolean closed) {
+}
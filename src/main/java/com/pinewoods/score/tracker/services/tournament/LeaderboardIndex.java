@@ -0,0 +1,454 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.dto.tournament.LeaderboardEntryDTO;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.flight.FlightScore;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Ranked leaderboard of a running tournament, kept as an order-statistic treap.
+ * <p>
+ * Entries are ordered by score, highest first, and then by arrival, so the order matches a stable
+ * sort of the cards in the order they were added. Every node knows the size of its subtree, which
+ * makes inserts, rank lookups and page selection O(log n). A player holds a single entry: each live update
+ * replaces the previous one, and the finished card replaces the live entry. Running tournaments reject a second
+ * finished card when it is linked; only flights linked twice before that check, and restored from the database,
+ * still replace the player's earlier card.
+ * <p>
+ * The cards themselves live in a {@link TournamentScoreboard}; nodes only refer to their row. Rounds still being
+ * played are ranked on the same board as {@link LiveEntry live entries} until their finished card replaces them.
+ * Live entries are left out of {@link #cards()} and {@link #standings()}, so they never earn awards.
+ */
+public class LeaderboardIndex {
+    private static final int NO_ROW = -1;
+    private static final int FINISHED = CompiledCourse.HOLES;
+
+    private final TournamentScoreboard scoreboard = new TournamentScoreboard();
+    private final Map<Long, Node> byPlayer = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * Cards in leaderboard order, highest score first, one column per field.
+     */
+    public record Standings(long[] playerIds, int[] scores, int[] birdies) {
+        public int size() {
+            return playerIds.length;
+        }
+    }
+
+    /**
+     * Running totals of a round in progress.
+     *
+     * @param score tournament score over the holes played
+     * @param thru number of holes played
+     */
+    public record LiveEntry(long playerId, String playerName, int score, int birdies, int thru) {
+    }
+
+    /**
+     * @param flights calculated flights, in the order they were added to the tournament
+     * @return index holding every card of the flights
+     */
+    public static LeaderboardIndex of(Collection<Flight> flights) {
+        LeaderboardIndex index = new LeaderboardIndex();
+        flights.forEach(index::putAll);
+        return index;
+    }
+
+    /**
+     * @param flight calculated flight, with the players of its scores loaded
+     */
+    public void putAll(Flight flight) {
+        lock.writeLock().lock();
+        try {
+            for (FlightScore score : flight.getFlightScores()) {
+                put(scoreboard.add(flight.getId(), score));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the cards of another index, in their arrival order, e.g. flights linked while a re-score was running.
+     *
+     * @param other index to copy from
+     * @param flightFilter flights whose cards are copied
+     */
+    public void putAll(LeaderboardIndex other, LongPredicate flightFilter) {
+        lock.writeLock().lock();
+        other.lock.readLock().lock();
+        try {
+            for (int row = 0; row < other.scoreboard.size(); row++) {
+                if (flightFilter.test(other.scoreboard.flightId(row))) {
+                    put(scoreboard.add(other.scoreboard, row));
+                }
+            }
+            // A live entry is newer than any card of the player in the other index, so it goes last
+            for (Node node : other.byPlayer.values()) {
+                if (node.live != null) {
+                    put(node.live);
+                }
+            }
+        } finally {
+            other.lock.readLock().unlock();
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Shows rounds in progress on the board, each replacing the player's previous entry.
+     *
+     * @param entries current totals of the rounds
+     */
+    public void putLive(Collection<LiveEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            entries.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Takes rounds in progress off the board, e.g. when their flight is cancelled. Finished cards stay.
+     *
+     * @param playerIds players whose live entries are removed
+     */
+    public void removeLive(Collection<Long> playerIds) {
+        lock.writeLock().lock();
+        try {
+            for (long playerId : playerIds) {
+                Node node = byPlayer.get(playerId);
+                if (node != null && node.live != null) {
+                    byPlayer.remove(playerId);
+                    root = remove(root, node);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param playerId player id
+     * @return whether the board holds a finished card of the player
+     */
+    public boolean hasCard(long playerId) {
+        lock.readLock().lock();
+        try {
+            Node node = byPlayer.get(playerId);
+            return node != null && node.live == null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void put(int row) {
+        put(scoreboard.playerId(row), new Node(row, null, scoreboard.score(row), nextSequence++,
+                ThreadLocalRandom.current().nextInt()));
+    }
+
+    private void put(LiveEntry live) {
+        put(live.playerId(), new Node(NO_ROW, live, live.score(), nextSequence++, ThreadLocalRandom.current().nextInt()));
+    }
+
+    private void put(long playerId, Node node) {
+        Node previous = byPlayer.remove(playerId);
+        if (previous != null) {
+            root = remove(root, previous);
+        }
+        root = insert(root, node);
+        byPlayer.put(playerId, node);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return every finished card, highest score first
+     */
+    public List<FlightScoreDTO> cards() {
+        lock.readLock().lock();
+        try {
+            List<FlightScoreDTO> cards = new ArrayList<>(size(root));
+            for (Node node : nodes(0, size(root))) {
+                if (node.live == null) {
+                    cards.add(scoreboard.toDto(node.row));
+                }
+            }
+            return cards;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return every finished card, highest score first, copied out for the award rules
+     */
+    public Standings standings() {
+        lock.readLock().lock();
+        try {
+            int[] rows = Arrays.stream(nodes(0, size(root)))
+                    .filter(node -> node.live == null)
+                    .mapToInt(node -> node.row)
+                    .toArray();
+            long[] playerIds = new long[rows.length];
+            int[] scores = new int[rows.length];
+            int[] birdies = new int[rows.length];
+            for (int i = 0; i < rows.length; i++) {
+                playerIds[i] = scoreboard.playerId(rows[i]);
+                scores[i] = scoreboard.score(rows[i]);
+                birdies[i] = scoreboard.birdies(rows[i]);
+            }
+            return new Standings(playerIds, scores, birdies);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param offset number of entries to skip, 0 for the top of the board
+     * @param limit maximum number of entries to return
+     * @return entries from rank {@code offset + 1} onwards
+     */
+    public List<LeaderboardEntryDTO> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return entries(offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param playerId player id
+     * @return the player's entry, or empty if the player has no card on the board
+     */
+    public Optional<LeaderboardEntryDTO> entry(long playerId) {
+        lock.readLock().lock();
+        try {
+            Node node = byPlayer.get(playerId);
+            return node == null ? Optional.empty() : Optional.of(toEntry(rank(node) + 1, node));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param playerId player id
+     * @param span number of entries to include on each side of the player
+     * @return the player's entry with up to {@code span} neighbours above and below,
+     * or an empty list if the player has no card on the board
+     */
+    public List<LeaderboardEntryDTO> around(long playerId, int span) {
+        lock.readLock().lock();
+        try {
+            Node node = byPlayer.get(playerId);
+            if (node == null) {
+                return List.of();
+            }
+            int from = Math.max(0, rank(node) - span);
+            return entries(from, rank(node) + span + 1 - from);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<LeaderboardEntryDTO> entries(int offset, int limit) {
+        int from = Math.max(0, offset);
+        int to = (int) Math.min(size(root), (long) from + Math.max(0, limit));
+        Node[] nodes = nodes(from, to);
+
+        List<LeaderboardEntryDTO> entries = new ArrayList<>(nodes.length);
+        for (int i = 0; i < nodes.length; i++) {
+            entries.add(toEntry(from + i + 1, nodes[i]));
+        }
+        return entries;
+    }
+
+    /**
+     * @return nodes at positions [from, to), in order
+     */
+    private Node[] nodes(int from, int to) {
+        Node[] nodes = new Node[Math.max(0, to - from)];
+        collect(root, from, to, nodes, new int[1]);
+        return nodes;
+    }
+
+    private LeaderboardEntryDTO toEntry(int rank, Node node) {
+        LiveEntry live = node.live;
+        if (live != null) {
+            return new LeaderboardEntryDTO(rank, live.playerId(), live.playerName(), live.score(), live.birdies(),
+                    live.thru());
+        }
+        int row = node.row;
+        return new LeaderboardEntryDTO(rank, scoreboard.playerId(row), scoreboard.playerName(row),
+                scoreboard.score(row), scoreboard.birdies(row), FINISHED);
+    }
+
+    // ==================== Treap operations ====================
+
+    private static final class Node {
+        // Scoreboard row of a finished card, NO_ROW for a live entry
+        final int row;
+        final LiveEntry live;
+        final int points;
+        final long sequence;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(int row, LiveEntry live, int points, long sequence, int priority) {
+            this.row = row;
+            this.live = live;
+            this.points = points;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Leaderboard order: higher score first, then earlier arrival.
+     */
+    private static int compare(Node a, Node b) {
+        int byScore = Integer.compare(b.points, a.points);
+        return byScore != 0 ? byScore : Long.compare(a.sequence, b.sequence);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            update(node);
+            return node;
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        update(tree);
+        return tree;
+    }
+
+    /**
+     * @return the nodes ordered before {@code key} and the nodes ordered after it
+     */
+    private static Node[] split(Node tree, Node key) {
+        if (tree == null) {
+            return new Node[2];
+        }
+        if (compare(tree, key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            update(tree);
+            parts[0] = tree;
+            return parts;
+        }
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        update(tree);
+        parts[1] = tree;
+        return parts;
+    }
+
+    private static Node remove(Node tree, Node node) {
+        if (tree == node) {
+            return merge(tree.left, tree.right);
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = remove(tree.left, node);
+        } else {
+            tree.right = remove(tree.right, node);
+        }
+        update(tree);
+        return tree;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    /**
+     * @return number of nodes ordered before {@code node}
+     */
+    private int rank(Node node) {
+        int rank = 0;
+        Node tree = root;
+        while (tree != node) {
+            if (compare(node, tree) < 0) {
+                tree = tree.left;
+            } else {
+                rank += size(tree.left) + 1;
+                tree = tree.right;
+            }
+        }
+        return rank + size(tree.left);
+    }
+
+    /**
+     * Writes the nodes at positions [from, to) of the subtree, in order, to {@code out} starting at {@code next[0]}.
+     */
+    private static void collect(Node tree, int from, int to, Node[] out, int[] next) {
+        if (tree == null || from >= to) {
+            return;
+        }
+        int leftSize = size(tree.left);
+        if (from < leftSize) {
+            collect(tree.left, from, Math.min(to, leftSize), out, next);
+        }
+        if (from <= leftSize && leftSize < to) {
+            out[next[0]++] = tree;
+        }
+        if (to > leftSize + 1) {
+            collect(tree.right, Math.max(0, from - leftSize - 1), to - leftSize - 1, out, next);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pinewoods.score.tracker.dto.tournament.LeaderboardDeltaDTO;
+import com.pinewoods.score.tracker.dto.tournament.LeaderboardEntryDTO;
+import com.pinewoods.score.tracker.exceptions.ResourceConflictException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streams leaderboard changes of running tournaments to subscribers as server-sent events.
+ * <p>
+ * Each tournament has one channel. On every committed change the delta against the previous board is computed
+ * and serialized once, then queued for every subscriber. All channel work runs on a single dispatcher thread, so
+ * subscribers see a snapshot followed by deltas in order. Each subscriber is written to by its own virtual thread
+ * from a bounded buffer, so neither request threads nor the dispatcher wait on slow clients. A subscriber whose
+ * buffer is full has fallen too far behind and is dropped; it can subscribe again for a fresh snapshot.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LeaderboardPublisher implements DisposableBean {
+    private static final long EMITTER_TIMEOUT_MILLIS = Duration.ofMinutes(30).toMillis();
+    // Events a subscriber may fall behind before it is dropped
+    private static final int MAX_PENDING_EVENTS = 64;
+    // Queued to complete a subscriber once everything queued before it is sent
+    private static final Event STOP = new Event(null, 0, null);
+
+    private final TournamentService tournamentService;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("leaderboard-publisher").daemon().factory());
+
+    private static final class Channel {
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        // Board last sent to the subscribers, only used on the dispatcher thread
+        Map<Long, LeaderboardEntryDTO> entries;
+        long version;
+        // Set once the tournament has ended, only used on the dispatcher thread
+        boolean closed;
+    }
+
+    private record Event(String name, long version, String json) {
+    }
+
+    private static final class Subscriber {
+        final long tournamentId;
+        final Channel channel;
+        final SseEmitter emitter;
+        final BlockingQueue<Event> events = new ArrayBlockingQueue<>(MAX_PENDING_EVENTS);
+        volatile boolean stopped;
+
+        Subscriber(long tournamentId, Channel channel, SseEmitter emitter) {
+            this.tournamentId = tournamentId;
+            this.channel = channel;
+            this.emitter = emitter;
+            Thread.ofVirtual()
+                    .name("leaderboard-subscriber-" + tournamentId)
+                    .start(this::run);
+        }
+
+        /**
+         * Queues an event, or drops the subscriber if it is too far behind to take it.
+         */
+        void offer(Event event) {
+            if (!events.offer(event)) {
+                log.debug("Dropping a slow leaderboard subscriber of tournament {}", tournamentId);
+                stop();
+            }
+        }
+
+        /**
+         * Completes the emitter once the events queued so far are sent.
+         */
+        void finish() {
+            if (!events.offer(STOP)) {
+                stop();
+            }
+        }
+
+        /**
+         * Completes the emitter without sending what is still queued.
+         */
+        void stop() {
+            stopped = true;
+            channel.subscribers.remove(this);
+            events.clear();
+            events.offer(STOP);
+        }
+
+        private void run() {
+            while (true) {
+                Event event;
+                try {
+                    event = events.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (stopped || event == STOP) {
+                    // Completing an emitter that already timed out or failed does nothing
+                    emitter.complete();
+                    return;
+                }
+                try {
+                    emitter.send(SseEmitter.event()
+                            .name(event.name())
+                            .id(String.valueOf(event.version()))
+                            .data(event.json(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away
+                    channel.subscribers.remove(this);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param tournamentId tournament id
+     * @return emitter that first receives a "snapshot" event with the whole board, then "delta" events
+     * @throws ResourceConflictException if the tournament has no running session
+     */
+    public SseEmitter subscribe(long tournamentId) {
+        // Fail the request up front rather than on the stream
+        if (!tournamentService.isSessionActive(tournamentId)) {
+            throw new ResourceConflictException("Tournament session expired or not initialized");
+        }
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MILLIS);
+        Channel channel = channels.computeIfAbsent(tournamentId, id -> new Channel());
+        Subscriber subscriber = new Subscriber(tournamentId, channel, emitter);
+        emitter.onCompletion(subscriber::stop);
+        emitter.onTimeout(subscriber::stop);
+        emitter.onError(e -> subscriber.stop());
+
+        dispatcher.execute(() -> {
+            // The tournament may have ended since the channel was looked up; its channel is then closed, or a
+            // new one was created for a session that no longer exists
+            if (!channel.closed && channel.entries == null) {
+                try {
+                    channel.entries = currentBoard(tournamentId);
+                } catch (ResourceConflictException e) {
+                    channel.closed = true;
+                    channels.remove(tournamentId, channel);
+                }
+            }
+            if (channel.closed) {
+                subscriber.finish();
+                return;
+            }
+            LeaderboardDeltaDTO snapshot = new LeaderboardDeltaDTO(tournamentId, channel.version,
+                    new ArrayList<>(channel.entries.values()), List.of());
+            Event event = toEvent("snapshot", snapshot);
+            if (event == null) {
+                subscriber.finish();
+                return;
+            }
+            subscriber.offer(event);
+            channel.subscribers.add(subscriber);
+            // The client may have gone away before it was added
+            if (subscriber.stopped) {
+                channel.subscribers.remove(subscriber);
+            }
+        });
+        return emitter;
+    }
+
+    // Live scoring changes the board without a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLeaderboardChanged(LeaderboardChangedEvent event) {
+        dispatcher.execute(() -> {
+            if (event.closed()) {
+                close(event.tournamentId());
+            } else {
+                publish(event.tournamentId());
+            }
+        });
+    }
+
+    private void publish(long tournamentId) {
+        Channel channel = channels.get(tournamentId);
+        if (channel == null) {
+            return;
+        }
+        if (channel.subscribers.isEmpty()) {
+            // Nobody is watching; recompute on the next subscription instead
+            channel.entries = null;
+            return;
+        }
+
+        Map<Long, LeaderboardEntryDTO> current;
+        try {
+            current = currentBoard(tournamentId);
+        } catch (ResourceConflictException e) {
+            close(tournamentId);
+            return;
+        }
+
+        Map<Long, LeaderboardEntryDTO> previous = channel.entries != null ? channel.entries : Map.of();
+        List<LeaderboardEntryDTO> changed = new ArrayList<>();
+        current.forEach((playerId, entry) -> {
+            if (!entry.equals(previous.get(playerId))) {
+                changed.add(entry);
+            }
+        });
+        List<Long> removed = previous.keySet().stream()
+                .filter(playerId -> !current.containsKey(playerId))
+                .toList();
+
+        channel.entries = current;
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        channel.version++;
+        Event event = toEvent("delta", new LeaderboardDeltaDTO(tournamentId, channel.version, changed, removed));
+        if (event != null) {
+            channel.subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+
+    private void close(long tournamentId) {
+        Channel channel = channels.remove(tournamentId);
+        if (channel == null) {
+            return;
+        }
+        channel.closed = true;
+        Event event = toEvent("closed",
+                new LeaderboardDeltaDTO(tournamentId, channel.version + 1, List.of(), List.of()));
+        for (Subscriber subscriber : channel.subscribers) {
+            if (event != null) {
+                subscriber.offer(event);
+            }
+            subscriber.finish();
+        }
+    }
+
+    /**
+     * @return the event, or {@code null} if the delta could not be serialized
+     */
+    private Event toEvent(String name, LeaderboardDeltaDTO delta) {
+        try {
+            return new Event(name, delta.version(), objectMapper.writeValueAsString(delta));
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize leaderboard update of tournament {}", delta.tournamentId(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Reads the in-memory leaderboard, without a database transaction.
+     *
+     * @return current entries by player id, in rank order
+     */
+    private Map<Long, LeaderboardEntryDTO> currentBoard(long tournamentId) {
+        Map<Long, LeaderboardEntryDTO> entries = new LinkedHashMap<>();
+        for (LeaderboardEntryDTO entry : tournamentService.getLeaderboardPage(tournamentId, 0, Integer.MAX_VALUE)) {
+            entries.put(entry.playerId(), entry);
+        }
+        return entries;
+    }
+
+    @Override
+    public void destroy() {
+        dispatcher.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(Subscriber::finish));
+    }
+}
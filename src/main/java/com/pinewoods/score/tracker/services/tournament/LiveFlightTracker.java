@@ -0,0 +1,226 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.dto.flight.LiveCardDTO;
+import com.pinewoods.score.tracker.dto.flight.LiveFlightDTO;
+import com.pinewoods.score.tracker.dto.flight.LiveHoleDTO;
+import com.pinewoods.score.tracker.exceptions.ResourceConflictException;
+import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import com.pinewoods.score.tracker.services.flight.FlightService;
+import com.pinewoods.score.tracker.services.scoring.LiveCard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Flights of a running tournament that are scored hole by hole while they are played.
+ * <p>
+ * Each recorded hole updates the players' running totals in constant time and moves their live entries on the
+ * tournament's leaderboard, so subscribers see "thru N" positions as the round unfolds. Nothing is written to the
+ * database until every player's last hole is in. Then the flight is stored, scored and linked in one transaction
+ * like a bulk submission, and its finished cards replace the live entries.
+ * <p>
+ * Flights in progress are kept in memory only; after a restart their holes have to be recorded again.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveFlightTracker {
+    private final TournamentService tournamentService;
+    private final FlightService flightService;
+    private final Map<Long, LiveFlight> flights = new ConcurrentHashMap<>();
+    // Live flight of each player, so a player plays in one flight at a time
+    private final Map<PlayerKey, Long> flightsByPlayer = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    private record PlayerKey(long tournamentId, long playerId) {
+    }
+
+    private static final class LiveFlight {
+        final long id;
+        final long tournamentId;
+        // Cards by player name in flight order, not changed once the flight is registered
+        final Map<String, LiveCard> cards = new LinkedHashMap<>();
+        // Set once the finished flight is stored
+        Long flightId;
+        // Set once the flight is cancelled
+        boolean cancelled;
+
+        LiveFlight(long id, long tournamentId) {
+            this.id = id;
+            this.tournamentId = tournamentId;
+        }
+    }
+
+    /**
+     * Starts a flight whose holes are recorded as they are played.
+     *
+     * @param tournamentId running tournament
+     * @param playerNames players of the flight
+     * @return the flight with empty cards
+     * @throws ResourceNotFoundException if a player does not exist
+     * @throws ResourceConflictException if the tournament has no running session, or a player already has a card
+     * in it or is playing in another live flight
+     */
+    public LiveFlightDTO start(long tournamentId, List<String> playerNames) {
+        if (playerNames == null || playerNames.isEmpty()) {
+            throw new IllegalArgumentException("A flight needs at least one player");
+        }
+        if (new HashSet<>(playerNames).size() != playerNames.size()) {
+            throw new IllegalArgumentException("Every player can only be listed once");
+        }
+        Map<String, Long> playerIds = flightService.getFlightPlayerIds(playerNames);
+
+        LiveFlight flight = new LiveFlight(nextId.incrementAndGet(), tournamentId);
+        List<PlayerKey> claimed = new ArrayList<>(playerNames.size());
+        try {
+            for (String name : playerNames) {
+                long playerId = playerIds.get(name);
+                PlayerKey key = new PlayerKey(tournamentId, playerId);
+                if (flightsByPlayer.putIfAbsent(key, flight.id) != null) {
+                    throw new ResourceConflictException("Player " + name + " is already playing in tournament "
+                            + tournamentId);
+                }
+                claimed.add(key);
+                flight.cards.put(name, tournamentService.startLiveCard(tournamentId, playerId, name));
+            }
+        } catch (RuntimeException e) {
+            claimed.forEach(flightsByPlayer::remove);
+            throw e;
+        }
+        flights.put(flight.id, flight);
+        return toDto(flight);
+    }
+
+    /**
+     * Records or corrects one hole for some or all players of a live flight. The update is applied to every
+     * listed player or, if any entry is invalid, to none. The hole that completes every card stores the flight.
+     *
+     * @param liveFlightId live flight id
+     * @param hole hole number, from 1 to 18
+     * @param results strokes of each listed player on the hole
+     * @return the flight with its running totals, and the id of the stored flight once it is finished
+     * @throws ResourceNotFoundException if there is no such live flight
+     */
+    public LiveFlightDTO recordHole(long liveFlightId, int hole, List<LiveHoleDTO> results) {
+        LiveFlight flight = getFlight(liveFlightId);
+        flightService.checkReporter(flight.cards.keySet());
+        if (results == null || results.isEmpty()) {
+            throw new IllegalArgumentException("No hole scores given");
+        }
+
+        synchronized (flight) {
+            if (flight.cancelled) {
+                throw new ResourceNotFoundException("Live flight not found: " + liveFlightId);
+            }
+            if (flight.flightId != null) {
+                throw new ResourceConflictException("Flight " + liveFlightId + " is already finished");
+            }
+
+            List<LiveCard> updated = new ArrayList<>(results.size());
+            for (LiveHoleDTO result : results) {
+                LiveCard card = flight.cards.get(result.playerName());
+                if (card == null) {
+                    throw new IllegalArgumentException("Player " + result.playerName() + " is not in flight "
+                            + liveFlightId);
+                }
+                if (result.strokes() == null) {
+                    throw new IllegalArgumentException("Strokes missing for " + result.playerName());
+                }
+                LiveCard.checkHole(hole - 1, result.strokes());
+                updated.add(card);
+            }
+            for (int i = 0; i < updated.size(); i++) {
+                updated.get(i).record(hole - 1, results.get(i).strokes());
+            }
+            tournamentService.updateLiveCards(flight.tournamentId, updated);
+
+            if (flight.cards.values().stream().allMatch(LiveCard::isComplete)) {
+                finish(flight);
+            }
+            return toDto(flight);
+        }
+    }
+
+    /**
+     * @param liveFlightId live flight id
+     * @return the flight with its running totals
+     * @throws ResourceNotFoundException if there is no such live flight
+     */
+    public LiveFlightDTO getLiveFlight(long liveFlightId) {
+        LiveFlight flight = getFlight(liveFlightId);
+        synchronized (flight) {
+            return toDto(flight);
+        }
+    }
+
+    /**
+     * Cancels a live flight, e.g. one started by mistake. Its rounds are taken off the leaderboard and its
+     * players can start another flight or have a finished card linked. Nothing is stored.
+     *
+     * @param liveFlightId live flight id
+     * @throws ResourceNotFoundException if there is no such live flight
+     */
+    public void cancel(long liveFlightId) {
+        LiveFlight flight = getFlight(liveFlightId);
+        flightService.checkReporter(flight.cards.keySet());
+
+        synchronized (flight) {
+            if (flight.cancelled || flight.flightId != null) {
+                throw new ResourceNotFoundException("Live flight not found: " + liveFlightId);
+            }
+            flight.cancelled = true;
+            flights.remove(flight.id);
+            List<Long> playerIds = flight.cards.values().stream()
+                    .map(LiveCard::getPlayerId)
+                    .toList();
+            playerIds.forEach(playerId -> flightsByPlayer.remove(new PlayerKey(flight.tournamentId, playerId)));
+            tournamentService.removeLiveCards(flight.tournamentId, playerIds);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onLeaderboardChanged(LeaderboardChangedEvent event) {
+        if (event.closed()) {
+            // Unfinished rounds of an ended tournament are dropped with its leaderboard
+            flights.values().removeIf(flight -> flight.tournamentId == event.tournamentId());
+            flightsByPlayer.keySet().removeIf(key -> key.tournamentId() == event.tournamentId());
+        }
+    }
+
+    private void finish(LiveFlight flight) {
+        List<FlightScoreDTO> scores = flight.cards.values().stream()
+                .map(card -> new FlightScoreDTO(card.getPlayerName(), null, card.getBirdies(), card.holeScores(),
+                        card.getCourseName()))
+                .toList();
+        List<Long> flightIds = tournamentService.createFlightsInTournament(flight.tournamentId, List.of(scores));
+
+        flight.flightId = flightIds.getFirst();
+        flights.remove(flight.id);
+        flight.cards.values().forEach(card ->
+                flightsByPlayer.remove(new PlayerKey(flight.tournamentId, card.getPlayerId())));
+    }
+
+    private LiveFlight getFlight(long liveFlightId) {
+        LiveFlight flight = flights.get(liveFlightId);
+        if (flight == null) {
+            throw new ResourceNotFoundException("Live flight not found: " + liveFlightId);
+        }
+        return flight;
+    }
+
+    private static LiveFlightDTO toDto(LiveFlight flight) {
+        List<LiveCardDTO> cards = flight.cards.values().stream()
+                .map(card -> new LiveCardDTO(card.getPlayerName(), card.getThru(), card.getGross(), card.getNet(),
+                        card.getStableford(), card.getBirdies()))
+                .toList();
+        return new LiveFlightDTO(flight.id, flight.tournamentId, cards, flight.flightId);
+    }
+}
@@ -0,0 +1,77 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import java.util.Map;
+
+/**
+ * Award rules applied when a tournament ends: 100/66/33 points for the top three score groups
+ * (split between tied players) and 50 points for the most birdies.
+ */
+public final class TournamentAwards {
+    public static final int MOST_BIRDIES_POINTS = 50;
+
+    // Define our prize pools
+    private static final int[] PRIZE_POOLS = {100, 66, 33};
+
+    private TournamentAwards() {
+    }
+
+    /**
+     * @return number of score groups that receive prize points
+     */
+    public static int prizedRanks() {
+        return PRIZE_POOLS.length;
+    }
+
+    /**
+     * @param rank score group, 0 for the highest score
+     * @return points shared by the players of that score group
+     */
+    public static int prizePool(int rank) {
+        return PRIZE_POOLS[rank];
+    }
+
+    /**
+     * @param standings calculated scores sorted by score, highest first
+     * @param awards award rank (1, 2 or 3) per player id, filled in by this method
+     * @param pointsMap points per player id, added to by this method
+     */
+    public static void allocatePoints(LeaderboardIndex.Standings standings, Map<Long, Integer> awards,
+                                      Map<Long, Integer> pointsMap) {
+        int[] scores = standings.scores();
+        long[] playerIds = standings.playerIds();
+
+        // Players with the same score are adjacent, so each score group is a run of the standings
+        int groupStart = 0;
+        for (int rank = 0; rank < PRIZE_POOLS.length && groupStart < scores.length; rank++) {
+            int groupEnd = groupStart + 1;
+            while (groupEnd < scores.length && scores[groupEnd] == scores[groupStart]) {
+                groupEnd++;
+            }
+            int rankLabel = rank + 1; // 1, 2, or 3
+            int pointsToDistribute = PRIZE_POOLS[rank] / (groupEnd - groupStart);
+
+            for (int i = groupStart; i < groupEnd; i++) {
+                awards.put(playerIds[i], rankLabel);
+                pointsMap.merge(playerIds[i], pointsToDistribute, Integer::sum);
+            }
+            groupStart = groupEnd;
+        }
+    }
+
+    /**
+     * @param standings calculated scores sorted by score, highest first; ties on birdies go to the higher score
+     * @param pointsMap points per player id, added to by this method
+     */
+    public static void allocateBirdies(LeaderboardIndex.Standings standings, Map<Long, Integer> pointsMap) {
+        int[] birdies = standings.birdies();
+        int winner = -1;
+        for (int i = 0; i < birdies.length; i++) {
+            if (birdies[i] > 0 && (winner < 0 || birdies[i] > birdies[winner])) {
+                winner = i;
+            }
+        }
+        if (winner >= 0) {
+            pointsMap.merge(standings.playerIds()[winner], MOST_BIRDIES_POINTS, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+/**
+ * Published before a tournament ends and handled at once, so listeners can finish or veto the end by throwing.
+ *
+ * @param tournamentId tournament id
+ */
+public record TournamentEndingEvent(long tournamentId) {
+}
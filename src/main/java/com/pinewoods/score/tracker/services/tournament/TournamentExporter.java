@@ -0,0 +1,227 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pinewoods.score.tracker.dao.season.SeasonRepository;
+import com.pinewoods.score.tracker.dao.tournament.TournamentRepository;
+import com.pinewoods.score.tracker.entities.season.Season;
+import com.pinewoods.score.tracker.entities.tournament.Tournament;
+import com.pinewoods.score.tracker.exceptions.ResourceConflictException;
+import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes finished tournaments as JSON straight to a stream, in the format read by {@link TournamentImporter}.
+ * <p>
+ * Flights and scores are read with a cursor and written as they arrive, so memory use does not grow with the
+ * size of the tournament or season. Award holders are resolved to names in one query per tournament.
+ */
+@Service
+@RequiredArgsConstructor
+public class TournamentExporter {
+    private static final int FETCH_SIZE = 500;
+
+    private static final String FLIGHT_ROWS_SQL =
+            "SELECT f.id AS flight_id, f.date, fs.id AS score_id, p.name AS player_name, fs.score, fs.birdies, " +
+                    "fs.hole_bytes, fs.course_name " +
+                    "FROM tournament_flights tf " +
+                    "JOIN flights f ON f.id = tf.flight_id " +
+                    "LEFT JOIN flight_scores fs ON fs.flight_id = f.id " +
+                    "LEFT JOIN players p ON p.id = fs.player_id " +
+                    "WHERE tf.tournament_id = ? " +
+                    "ORDER BY f.id, fs.id";
+
+    private final TournamentRepository tournamentRepo;
+    private final SeasonRepository seasonRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Tournament fields written before its flights.
+     */
+    public record ExportHeader(long tournamentId, String name, String seasonName, String strategyName) {
+        public String fileName() {
+            return "tournament_export_" + tournamentId + ".json";
+        }
+    }
+
+    /**
+     * Checks that the tournament can be exported. Called before the response starts, so errors keep their status.
+     *
+     * @param tournamentId tournament id
+     * @return header of the export
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public ExportHeader getExportHeader(Long tournamentId) {
+        Tournament tournament = tournamentRepo.findById(tournamentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found"));
+
+        if (!tournament.isFinished()) {
+            throw new ResourceConflictException("Only finished tournaments can be exported.");
+        }
+        return toHeader(tournament);
+    }
+
+    /**
+     * @param seasonName name of the season
+     * @return headers of the finished tournaments of the season, oldest first
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public List<ExportHeader> getSeasonExportHeaders(String seasonName) {
+        Season season = seasonRepo.findByName(seasonName)
+                .orElseThrow(() -> new ResourceNotFoundException("Season not found"));
+
+        return tournamentRepo.findBySeasonId(season.getId()).stream()
+                .filter(Tournament::isFinished)
+                .map(this::toHeader)
+                .sorted((a, b) -> Long.compare(a.tournamentId(), b.tournamentId()))
+                .toList();
+    }
+
+    /**
+     * Writes one tournament as JSON. The stream is flushed but not closed.
+     */
+    public void writeTournament(ExportHeader header, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            inTransaction(() -> write(header, generator));
+        }
+    }
+
+    /**
+     * Writes the tournaments as one zip archive with a JSON entry per tournament. The archive is finished but the
+     * stream is not closed.
+     */
+    public void writeSeason(List<ExportHeader> headers, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        for (ExportHeader header : headers) {
+            zip.putNextEntry(new ZipEntry(header.fileName()));
+            writeTournament(header, zip);
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    private void write(ExportHeader header, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("name", header.name());
+
+        generator.writeObjectFieldStart("awards");
+        for (Object[] award : tournamentRepo.findAwardsWithPlayerNames(header.tournamentId())) {
+            generator.writeFieldName((String) award[0]);
+            generator.writeObject(award[1]);
+        }
+        generator.writeEndObject();
+
+        generator.writeStringField("seasonName", header.seasonName());
+        generator.writeStringField("strategyName", header.strategyName());
+
+        generator.writeArrayFieldStart("flights");
+        long[] currentFlight = {-1};
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(FLIGHT_ROWS_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setLong(1, header.tournamentId());
+            return ps;
+        }, rs -> {
+            try {
+                long flightId = rs.getLong("flight_id");
+                if (flightId != currentFlight[0]) {
+                    if (currentFlight[0] >= 0) {
+                        endFlight(generator, currentFlight[0]);
+                    }
+                    currentFlight[0] = flightId;
+                    Timestamp date = rs.getTimestamp("date");
+                    generator.writeStartObject();
+                    generator.writeFieldName("date");
+                    generator.writeObject(date != null ? new Date(date.getTime()) : null);
+                    generator.writeArrayFieldStart("flights");
+                }
+
+                rs.getLong("score_id");
+                if (rs.wasNull()) {
+                    return; // Flight without scores
+                }
+                generator.writeStartObject();
+                generator.writeStringField("playerName", rs.getString("player_name"));
+                generator.writeObjectField("score", rs.getObject("score", Integer.class));
+                generator.writeObjectField("birdies", rs.getObject("birdies", Integer.class));
+                byte[] holes = rs.getBytes("hole_bytes");
+                if (holes == null) {
+                    generator.writeNullField("holeScores");
+                } else {
+                    generator.writeArrayFieldStart("holeScores");
+                    for (byte strokes : holes) {
+                        generator.writeNumber(Byte.toUnsignedInt(strokes));
+                    }
+                    generator.writeEndArray();
+                }
+                generator.writeStringField("courseName", rs.getString("course_name"));
+                generator.writeEndObject();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        if (currentFlight[0] >= 0) {
+            endFlight(generator, currentFlight[0]);
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    private static void endFlight(JsonGenerator generator, long flightId) throws IOException {
+        generator.writeEndArray();
+        generator.writeNumberField("id", flightId);
+        generator.writeEndObject();
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        // The generator must not close the response or archive stream it writes to
+        return objectMapper.getFactory()
+                .createGenerator(out, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private ExportHeader toHeader(Tournament tournament) {
+        return new ExportHeader(tournament.getId(), tournament.getName(), tournament.getSeason().getName(),
+                tournament.getStrategyName());
+    }
+
+    /**
+     * Runs the writer in a read transaction, which the driver needs to stream rows with a cursor.
+     */
+    private void inTransaction(IOWork work) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    work.run();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOWork {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,311 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pinewoods.score.tracker.dao.admin.PlayerRepository;
+import com.pinewoods.score.tracker.dao.season.SeasonRepository;
+import com.pinewoods.score.tracker.dao.tournament.TournamentRepository;
+import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.dto.tournament.TournamentImportDTO;
+import com.pinewoods.score.tracker.entities.season.Season;
+import com.pinewoods.score.tracker.entities.tournament.Tournament;
+import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import com.pinewoods.score.tracker.services.flight.FlightBatchWriter;
+import com.pinewoods.score.tracker.services.flight.FlightBatchWriter.NewFlight;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Imports exports written by {@link TournamentExporter}, plain or gzip compressed, without loading them whole.
+ * <p>
+ * Each export is read twice. The first pass only collects the tournament fields and player names, which are
+ * resolved in one query. The second pass parses one flight at a time and inserts flights, scores and tournament
+ * links in JDBC batches.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class TournamentImporter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Scores per batch; flights are flushed once their scores reach this
+    private static final int BATCH_SIZE = 500;
+
+    private final TournamentRepository tournamentRepo;
+    private final SeasonRepository seasonRepo;
+    private final PlayerRepository playerRepo;
+    private final FlightBatchWriter flightWriter;
+    private final ObjectMapper objectMapper;
+
+    private record ExportHeader(String name, String strategyName, Map<String, Integer> awards,
+                                Set<String> playerNames) {}
+
+    private static final class Counts {
+        int tournaments;
+        int flights;
+        int scores;
+    }
+
+    /**
+     * @param source exported tournament, plain or gzip compressed JSON
+     * @param seasonName season to import into
+     * @return number of rows imported and the rate
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public TournamentImportDTO importTournament(InputStreamSource source, String seasonName) throws IOException {
+        long start = System.nanoTime();
+        Season season = getSeason(seasonName);
+        Counts counts = new Counts();
+        importOne(source, season, counts);
+        return report(seasonName, counts, start);
+    }
+
+    /**
+     * @param archive zip archive written by the season export, one tournament per entry
+     * @param seasonName season to import into
+     * @return number of rows imported and the rate
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public TournamentImportDTO importSeason(Path archive, String seasonName) throws IOException {
+        long start = System.nanoTime();
+        Season season = getSeason(seasonName);
+        Counts counts = new Counts();
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory()) {
+                    importOne(() -> zip.getInputStream(entry), season, counts);
+                }
+            }
+        }
+        return report(seasonName, counts, start);
+    }
+
+    private void importOne(InputStreamSource source, Season season, Counts counts) throws IOException {
+        ExportHeader header = scan(source);
+        if (header.name() == null) {
+            throw new IllegalArgumentException("Export has no tournament name");
+        }
+
+        Set<String> names = new HashSet<>(header.playerNames());
+        names.addAll(header.awards().keySet());
+        Map<String, Long> playerIds = new HashMap<>();
+        if (!names.isEmpty()) {
+            for (Object[] row : playerRepo.findIdsByNames(names)) {
+                playerIds.put((String) row[1], (Long) row[0]);
+            }
+        }
+
+        Set<String> missing = new TreeSet<>(header.playerNames());
+        missing.removeAll(playerIds.keySet());
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Player not found: " + String.join(", ", missing));
+        }
+
+        Map<Long, Integer> awards = new HashMap<>();
+        header.awards().forEach((name, rank) -> {
+            if (header.playerNames().contains(name)) {
+                awards.put(playerIds.get(name), rank);
+            }
+        });
+
+        Tournament tournament = tournamentRepo.saveAndFlush(Tournament.builder()
+                .name(header.name())
+                .season(season)
+                .strategyName(header.strategyName())
+                .flights(new ArrayList<>())
+                .awards(awards)
+                .isFinished(true)
+                .build());
+
+        insertFlights(source, tournament.getId(), playerIds, counts);
+        counts.tournaments++;
+    }
+
+    // ==================== First pass ====================
+
+    private ExportHeader scan(InputStreamSource source) throws IOException {
+        String name = null;
+        String strategyName = null;
+        Map<String, Integer> awards = new HashMap<>();
+        Set<String> playerNames = new HashSet<>();
+
+        try (JsonParser parser = createParser(source)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "name" -> name = parser.getValueAsString();
+                    case "strategyName" -> strategyName = parser.getValueAsString();
+                    case "awards" -> readAwards(parser, value, awards);
+                    case "flights" -> collectPlayerNames(parser, value, playerNames);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new ExportHeader(name, strategyName, awards, playerNames);
+    }
+
+    private static void readAwards(JsonParser parser, JsonToken value, Map<String, Integer> awards)
+            throws IOException {
+        if (value != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String player = parser.currentName();
+            if (parser.nextToken() != JsonToken.VALUE_NULL) {
+                awards.put(player, parser.getValueAsInt());
+            }
+        }
+    }
+
+    private static void collectPlayerNames(JsonParser parser, JsonToken value, Set<String> playerNames)
+            throws IOException {
+        if (value != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken fieldValue = parser.nextToken();
+                if (!field.equals("flights") || fieldValue != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String scoreField = parser.currentName();
+                        parser.nextToken();
+                        if (scoreField.equals("playerName") && parser.currentToken() == JsonToken.VALUE_STRING) {
+                            playerNames.add(parser.getText());
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // ==================== Second pass ====================
+
+    private void insertFlights(InputStreamSource source, long tournamentId, Map<String, Long> playerIds,
+                               Counts counts) throws IOException {
+        List<NewFlight> batch = new ArrayList<>();
+        int batchScores = 0;
+
+        try (JsonParser parser = createParser(source)) {
+            expect(parser, parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!field.equals("flights") || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    NewFlight flight = readFlight(parser);
+                    batch.add(flight);
+                    batchScores += flight.scores().size();
+                    if (batchScores >= BATCH_SIZE) {
+                        insertBatch(tournamentId, batch, playerIds, counts);
+                        batch.clear();
+                        batchScores = 0;
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(tournamentId, batch, playerIds, counts);
+        }
+    }
+
+    private static NewFlight readFlight(JsonParser parser) throws IOException {
+        Date date = null;
+        List<FlightScoreDTO> scores = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (field.equals("date")) {
+                date = parser.readValueAs(Date.class);
+            } else if (field.equals("flights") && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    scores.add(parser.readValueAs(FlightScoreDTO.class));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (date == null) {
+            throw new IllegalArgumentException("Flight in export has no date");
+        }
+        return new NewFlight(date, scores);
+    }
+
+    private void insertBatch(long tournamentId, List<NewFlight> flights, Map<String, Long> playerIds,
+                             Counts counts) {
+        flightWriter.link(tournamentId, flightWriter.insert(flights, playerIds));
+
+        counts.flights += flights.size();
+        counts.scores += flights.stream().mapToInt(flight -> flight.scores().size()).sum();
+    }
+
+    // ==================== Utilities ====================
+
+    private Season getSeason(String seasonName) {
+        return seasonRepo.findByName(seasonName)
+                .orElseThrow(() -> new ResourceNotFoundException("Season not found"));
+    }
+
+    /**
+     * @return parser over the source, decompressing it if it starts with the gzip magic number
+     */
+    private JsonParser createParser(InputStreamSource source) throws IOException {
+        InputStream in = new BufferedInputStream(source.getInputStream(), BUFFER_SIZE);
+        in.mark(2);
+        boolean gzip = in.read() == 0x1F && in.read() == 0x8B;
+        in.reset();
+        return objectMapper.getFactory().createParser(gzip ? new GZIPInputStream(in, BUFFER_SIZE) : in);
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(parser,
+                    "Expected " + expected + " but found " + actual);
+        }
+    }
+
+    private static TournamentImportDTO report(String seasonName, Counts counts, long start) {
+        long nanos = System.nanoTime() - start;
+        int rows = counts.flights + counts.scores;
+        double rowsPerSecond = nanos > 0 ? rows * 1_000_000_000.0 / nanos : rows;
+        return new TournamentImportDTO(seasonName, counts.tournaments, counts.flights, counts.scores,
+                nanos / 1_000_000, Math.round(rowsPerSecond * 10) / 10.0);
+    }
+}
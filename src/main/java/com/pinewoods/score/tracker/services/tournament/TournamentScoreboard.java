@@ -0,0 +1,172 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.entities.flight.FlightScore;
+import com.pinewoods.score.tracker.entities.flight.HoleScoresConverter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculated cards of a running tournament, stored column by column in primitive arrays instead of as
+ * {@code Flight}/{@code FlightScore} entity graphs.
+ * <p>
+ * Rows are appended in chunks of {@value #CHUNK_SIZE}, so growing never copies the rows already stored. Player
+ * and course names are kept once each in dictionaries, and hole scores are packed one byte per hole like
+ * {@link HoleScoresConverter}. Nothing refers back to a persistence context, so rows stay readable on any thread.
+ * <p>
+ * Not thread-safe: {@link LeaderboardIndex} appends under its write lock and reads under its read lock.
+ */
+public final class TournamentScoreboard {
+    static final int CHUNK_SIZE = 1024;
+    private static final int HOLES = 18;
+    private static final short NO_HOLES = -1;
+
+    private final Map<Long, String> playerNames = new HashMap<>();
+    private final List<String> courseNames = new ArrayList<>();
+    private final Map<String, Integer> courseIndexes = new HashMap<>();
+    private Chunk[] chunks = new Chunk[1];
+    private int size;
+
+    private static final class Chunk {
+        final long[] playerIds = new long[CHUNK_SIZE];
+        final long[] flightIds = new long[CHUNK_SIZE];
+        final int[] scores = new int[CHUNK_SIZE];
+        final int[] birdies = new int[CHUNK_SIZE];
+        final int[] courses = new int[CHUNK_SIZE];
+        // Hole scores of row i are holes[holeStarts[i], holeStarts[i] + holeCounts[i])
+        final int[] holeStarts = new int[CHUNK_SIZE];
+        final short[] holeCounts = new short[CHUNK_SIZE];
+        byte[] holes = new byte[CHUNK_SIZE * HOLES];
+        int holesUsed;
+
+        void putHoles(int slot, List<Integer> holeScores) {
+            holeStarts[slot] = holesUsed;
+            if (holeScores == null) {
+                holeCounts[slot] = NO_HOLES;
+                return;
+            }
+            if (holesUsed + holeScores.size() > holes.length) {
+                holes = Arrays.copyOf(holes, Math.max(holes.length * 2, holesUsed + holeScores.size()));
+            }
+            for (Integer strokes : holeScores) {
+                holes[holesUsed++] = HoleScoresConverter.pack(strokes);
+            }
+            holeCounts[slot] = (short) holeScores.size();
+        }
+    }
+
+    /**
+     * Appends a calculated card.
+     *
+     * @param flightId flight the card belongs to
+     * @param score calculated card, with its player loaded
+     * @return row of the card
+     */
+    public int add(long flightId, FlightScore score) {
+        long playerId = score.getPlayer().getId();
+        playerNames.putIfAbsent(playerId, score.getPlayer().getName());
+        return add(flightId, playerId, score.getScore(), score.getBirdies(), courseIndex(score.getCourseName()),
+                score.getHoleScores());
+    }
+
+    /**
+     * Appends a copy of a row of another scoreboard, e.g. when a re-scored board keeps a card it did not re-score.
+     *
+     * @return row of the copy
+     */
+    public int add(TournamentScoreboard other, int row) {
+        long playerId = other.playerId(row);
+        playerNames.putIfAbsent(playerId, other.playerName(row));
+        return add(other.flightId(row), playerId, other.score(row), other.birdies(row),
+                courseIndex(other.courseName(row)), other.holeScores(row));
+    }
+
+    private int add(long flightId, long playerId, int score, int birdies, int course, List<Integer> holeScores) {
+        int row = size;
+        Chunk chunk = chunkFor(row);
+        int slot = row % CHUNK_SIZE;
+        chunk.playerIds[slot] = playerId;
+        chunk.flightIds[slot] = flightId;
+        chunk.scores[slot] = score;
+        chunk.birdies[slot] = birdies;
+        chunk.courses[slot] = course;
+        chunk.putHoles(slot, holeScores);
+        size++;
+        return row;
+    }
+
+    private Chunk chunkFor(int row) {
+        int index = row / CHUNK_SIZE;
+        if (index == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunks.length * 2);
+        }
+        if (chunks[index] == null) {
+            chunks[index] = new Chunk();
+        }
+        return chunks[index];
+    }
+
+    private int courseIndex(String courseName) {
+        return courseIndexes.computeIfAbsent(courseName, name -> {
+            courseNames.add(name);
+            return courseNames.size() - 1;
+        });
+    }
+
+    /**
+     * @return number of rows, including cards replaced by a newer card of the same player when a tournament linked
+     * twice is restored
+     */
+    public int size() {
+        return size;
+    }
+
+    public long playerId(int row) {
+        return chunks[row / CHUNK_SIZE].playerIds[row % CHUNK_SIZE];
+    }
+
+    public String playerName(int row) {
+        return playerNames.get(playerId(row));
+    }
+
+    public long flightId(int row) {
+        return chunks[row / CHUNK_SIZE].flightIds[row % CHUNK_SIZE];
+    }
+
+    public int score(int row) {
+        return chunks[row / CHUNK_SIZE].scores[row % CHUNK_SIZE];
+    }
+
+    public int birdies(int row) {
+        return chunks[row / CHUNK_SIZE].birdies[row % CHUNK_SIZE];
+    }
+
+    public String courseName(int row) {
+        return courseNames.get(chunks[row / CHUNK_SIZE].courses[row % CHUNK_SIZE]);
+    }
+
+    /**
+     * @return hole scores of the card, or {@code null} if it has none
+     */
+    public List<Integer> holeScores(int row) {
+        Chunk chunk = chunks[row / CHUNK_SIZE];
+        int slot = row % CHUNK_SIZE;
+        short count = chunk.holeCounts[slot];
+        if (count == NO_HOLES) {
+            return null;
+        }
+        List<Integer> holeScores = new ArrayList<>(count);
+        for (int i = chunk.holeStarts[slot]; i < chunk.holeStarts[slot] + count; i++) {
+            holeScores.add(Byte.toUnsignedInt(chunk.holes[i]));
+        }
+        return holeScores;
+    }
+
+    public FlightScoreDTO toDto(int row) {
+        return new FlightScoreDTO(playerName(row), score(row), birdies(row), holeScores(row), courseName(row));
+    }
+}
@@ -1,38 +1,47 @@
 package com.pinewoods.score.tracker.services.tournament;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pinewoods.score.tracker.dao.admin.PlayerRepository;
-import com.pinewoods.score.tracker.dao.course.CourseRepository;
+import com.pinewoods.score.tracker.dao.flight.FlightRepository;
 import com.pinewoods.score.tracker.dao.season.SeasonRepository;
 import com.pinewoods.score.tracker.dao.season.TeamStandingRepository;
+import com.pinewoods.score.tracker.dao.season.TeamStandingRepositoryCustom;
 import com.pinewoods.score.tracker.dao.tournament.TournamentRepository;
-import com.pinewoods.score.tracker.dto.flight.FlightDTO;
 import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
+import com.pinewoods.score.tracker.dto.tournament.ExpectedScoreDTO;
+import com.pinewoods.score.tracker.dto.tournament.LeaderboardEntryDTO;
 import com.pinewoods.score.tracker.dto.tournament.TournamentDTO;
-import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.dto.tournament.TournamentRescoreDTO;
+import com.pinewoods.score.tracker.dto.tournament.TournamentSummaryDTO;
 import com.pinewoods.score.tracker.entities.admin.Team;
 import com.pinewoods.score.tracker.entities.flight.Flight;
 import com.pinewoods.score.tracker.entities.flight.FlightScore;
 import com.pinewoods.score.tracker.entities.season.Season;
-import com.pinewoods.score.tracker.entities.season.TeamStanding;
 import com.pinewoods.score.tracker.entities.tournament.Tournament;
 import com.pinewoods.score.tracker.exceptions.ResourceConflictException;
 import com.pinewoods.score.tracker.exceptions.ResourceNotFoundException;
+import com.pinewoods.score.tracker.services.admin.PlayerChangedEvent;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
 import com.pinewoods.score.tracker.services.course.CourseService;
+import com.pinewoods.score.tracker.services.flight.FlightBatchWriter;
 import com.pinewoods.score.tracker.services.flight.FlightService;
 import com.pinewoods.score.tracker.services.scoring.IScoringStrategy;
+import com.pinewoods.score.tracker.services.scoring.LiveCard;
+import com.pinewoods.score.tracker.services.scoring.ParallelFlightScorer;
+import com.pinewoods.score.tracker.services.scoring.PlayingHandicapTable;
 import io.micrometer.common.KeyValues;
-import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -42,11 +51,17 @@ public class TournamentService {
     private final SeasonRepository seasonRepo;
     private final PlayerRepository playerRepo;
     private final TeamStandingRepository standingRepo;
-    private final CourseRepository courseRepo;
     private final Map<Long, IScoringStrategy> activeStrategies = new ConcurrentHashMap<>();
-    private final Map<Long, List<Flight>> calculatedFlightCache = new ConcurrentHashMap<>();
-    private final ObjectMapper objectMapper;
+    // Calculated cards live in the leaderboards' scoreboards, not as cached entities
+    private final Map<Long, LeaderboardIndex> leaderboards = new ConcurrentHashMap<>();
+    private final TournamentVersions versions = new TournamentVersions();
     private final FlightService flightService;
+    private final FlightRepository flightRepo;
+    private final FlightBatchWriter flightBatchWriter;
+    private final ParallelFlightScorer flightScorer;
+    private final CourseService courseService;
+    private final CompiledCourseCache compiledCourses;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==================== Create Tournament ====================
      /**
@@ -68,10 +83,18 @@ public class TournamentService {
             throw new ResourceConflictException("Tournament with this name already exists within the season");
         }
 
+        // Freeze the playing handicaps so cards are scored without lookups and handicaps cannot drift mid-event
+        strategy.setPlayingHandicaps(snapshotHandicaps(strategy));
+
         Tournament tournament = Tournament.builder()
                 .name(name)
                 .season(season)
                 .strategyName(strategy.getName()) // Save name for history
+                .courseId(strategy.getCourseId())
+                .handicapMultiplier(strategy.getHandicapMultiplier())
+                .pointsMap(new HashMap<>(strategy.getPointsMap()))
+                .scoringDefinition(strategy.getScoringDefinition())
+                .playingHandicaps(new HashMap<>(strategy.getPlayingHandicaps().toMap()))
                 .isFinished(false)
                 .build();
 
@@ -79,6 +102,7 @@ public class TournamentService {
 
         // Put the specific strategy instance (with its pars/indexes) into memory
         activeStrategies.put(saved.getId(), strategy);
+        leaderboards.put(saved.getId(), new LeaderboardIndex());
         return saved;
     }
 
@@ -90,21 +114,81 @@ public class TournamentService {
             throw new ResourceConflictException("Tournament session expired or not initialized");
         }
 
-        Long courseId = courseRepo.findByName(strategy.getCourseName()).orElseThrow().getId();
+        // Players in the frozen snapshot are scored with that handicap, so their net pars use it too
+        PlayingHandicapTable handicaps = strategy.getPlayingHandicaps();
+        OptionalInt frozen = handicaps == null ? OptionalInt.empty() : handicaps.get(playerId);
+        if (frozen.isPresent()) {
+            return compiledCourses.get(strategy.getCourseId()).netPars(frozen.getAsInt());
+        }
+        return flightService.getDefaultScores(strategy.getCourseId(), playerId, strategy.getHandicapMultiplier());
+    }
+
+    /**
+     * Net pars of every entrant of a running tournament, for the scoring app to load once when a round starts.
+     * Net pars come from the course's cached tables, so the only query is the one for the player names.
+     *
+     * @param tournamentId tournament id
+     * @return expected score of each entrant, by player name
+     */
+    public List<ExpectedScoreDTO> getExpectedScores(Long tournamentId) {
+        IScoringStrategy strategy = activeStrategies.get(tournamentId);
+        if (strategy == null) {
+            throw new ResourceConflictException("Tournament session expired or not initialized");
+        }
+
+        PlayingHandicapTable handicaps = strategy.getPlayingHandicaps();
+        if (handicaps == null) {
+            handicaps = snapshotHandicaps(strategy);
+        }
+        CompiledCourse course = compiledCourses.get(strategy.getCourseId());
 
-        return flightService.getDefaultScores(courseId, playerId, strategy.getHandicapMultiplier());
+        List<Long> playerIds = new ArrayList<>(handicaps.size());
+        for (int i = 0; i < handicaps.size(); i++) {
+            playerIds.add(handicaps.playerId(i));
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Object[] row : playerRepo.findNamesByIds(playerIds)) {
+            names.put((Long) row[0], (String) row[1]);
+        }
+
+        List<ExpectedScoreDTO> expected = new ArrayList<>(handicaps.size());
+        for (int i = 0; i < handicaps.size(); i++) {
+            String name = names.get(handicaps.playerId(i));
+            if (name != null) { // Deleted since the snapshot
+                expected.add(new ExpectedScoreDTO(handicaps.playerId(i), name, handicaps.handicap(i),
+                        course.netPars(handicaps.handicap(i))));
+            }
+        }
+        expected.sort(Comparator.comparing(ExpectedScoreDTO::playerName));
+        return expected;
     }
 
     /**
-     * Completes a tournament and updates values
+     * Re-registers the in-memory session of an active tournament, e.g. after a restart.
      *
      * @param tournamentId tournament id
+     * @param strategy scoring strategy rebuilt from the persisted configuration
+     * @param calculatedFlights linked flights, already scored with the strategy
+     */
+    public void restoreSession(long tournamentId, IScoringStrategy strategy, List<Flight> calculatedFlights) {
+        activeStrategies.put(tournamentId, strategy);
+        leaderboards.put(tournamentId, LeaderboardIndex.of(calculatedFlights));
+    }
+
+    /**
+     * Completes a tournament and updates values. Flights accepted before the end are linked first.
+     *
+     * @param tournamentId tournament id
+     * @throws ResourceConflictException if accepted flights are still being linked, the tournament stays running
      */
     @PreAuthorize( "hasRole('ADMIN')")
     public void endTournament(Long tournamentId) {
         Tournament tournament = tournamentRepo.findById(tournamentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Tournament " + tournamentId + " not found"));
 
+        // Handled at once by the ingestion queue, which depends on this service and cannot be injected here
+        eventPublisher.publishEvent(new TournamentEndingEvent(tournamentId));
+
         Map<Long, Integer> pointsMap = new HashMap<>();
 
         // Calculate the 100, 66, 33 points and specialty awards
@@ -118,32 +202,157 @@ public class TournamentService {
 
         // Cleanup: Memory is freed, Strategy is garbage collected
         activeStrategies.remove(tournamentId);
-        calculatedFlightCache.remove(tournamentId);
+        leaderboards.remove(tournamentId);
+        leaderboardChanged(tournamentId, true);
+    }
+
+    /**
+     * Re-scores every flight linked to an active tournament, e.g. after a course correction or a
+     * handicap fix, and replaces the cached leaderboard in one step. Birdies the cards gained or lost are
+     * applied to the team standings, which received the old counts when the flights were linked.
+     *
+     * @param tournamentId tournament id
+     * @param refreshHandicaps take a new snapshot of the playing handicaps before scoring
+     * @return number of flights and the time spent in each phase
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    public TournamentRescoreDTO rescoreTournament(Long tournamentId, boolean refreshHandicaps) {
+        Tournament tournament = getTournament(tournamentId);
+        IScoringStrategy strategy = activeStrategies.get(tournamentId);
+
+        if (strategy == null || tournament.isFinished()) {
+            throw new ResourceConflictException("Tournament session expired or not initialized");
+        }
+
+        long start = System.nanoTime();
+        if (refreshHandicaps) {
+            PlayingHandicapTable handicaps = snapshotHandicaps(strategy);
+            tournament.getPlayingHandicaps().clear();
+            tournament.getPlayingHandicaps().putAll(handicaps.toMap());
+            strategy.setPlayingHandicaps(handicaps);
+        }
+        List<Flight> flights = flightRepo.findAllByTournamentId(tournamentId);
+        long loaded = System.nanoTime();
+
+        List<Flight> calculated = flightScorer.scoreAll(flights, strategy);
+        long scored = System.nanoTime();
+
+        // Flights linked while the re-score was running are kept rather than dropped
+        Set<Long> rescoredIds = new HashSet<>();
+        calculated.forEach(f -> rescoredIds.add(f.getId()));
+        // Birdies each player gained or lost, e.g. when a hole's par was corrected
+        Map<Long, Integer> birdieChanges = new HashMap<>();
+        leaderboards.compute(tournamentId, (id, current) -> {
+            LeaderboardIndex swapped = LeaderboardIndex.of(calculated);
+            if (current != null) {
+                swapped.putAll(current, flightId -> !rescoredIds.contains(flightId));
+                addBirdies(birdieChanges, current.standings(), -1);
+            }
+            addBirdies(birdieChanges, swapped.standings(), 1);
+            return swapped;
+        });
+        correctTeamBirdies(tournament.getSeason().getId(), birdieChanges);
+        leaderboardChanged(tournamentId, false);
+        long swapped = System.nanoTime();
+
+        return new TournamentRescoreDTO(tournamentId, calculated.size(),
+                (loaded - start) / 1_000_000,
+                (scored - loaded) / 1_000_000,
+                (swapped - scored) / 1_000_000);
+    }
+
+    private static void addBirdies(Map<Long, Integer> birdiesByPlayer, LeaderboardIndex.Standings standings,
+                                   int sign) {
+        for (int i = 0; i < standings.size(); i++) {
+            birdiesByPlayer.merge(standings.playerIds()[i], sign * standings.birdies()[i], Integer::sum);
+        }
+    }
+
+    /**
+     * Applies the birdie changes of a re-score to the team standings the linked cards added their birdies to,
+     * in the re-score's transaction.
+     *
+     * @param seasonId season of the tournament
+     * @param birdieChanges birdies gained, or lost if negative, per player id
+     */
+    private void correctTeamBirdies(long seasonId, Map<Long, Integer> birdieChanges) {
+        birdieChanges.values().removeIf(change -> change == 0);
+        if (birdieChanges.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> birdiesByTeam = new HashMap<>();
+        for (Object[] row : playerRepo.findTeamsByPlayerIds(birdieChanges.keySet())) {
+            birdiesByTeam.merge((Long) row[1], birdieChanges.get((Long) row[0]), Integer::sum);
+        }
+        birdiesByTeam.values().removeIf(change -> change == 0);
+        standingRepo.addBirdies(seasonId, birdiesByTeam);
+    }
+
+    private PlayingHandicapTable snapshotHandicaps(IScoringStrategy strategy) {
+        return PlayingHandicapTable.of(courseService.getCourseHandicaps(strategy.getCourseId()),
+                strategy.getHandicapMultiplier());
     }
 
     // ================= Get Tournament ==================
-     /**
+    /**
+     * @param seasonName name of the season
+     * @return summaries of the season's tournaments, without flights
+     */
+    public List<TournamentSummaryDTO> getTournamentSummariesBySeason(String seasonName) {
+        return tournamentRepo.findSummariesBySeasonId(getSeasonId(seasonName));
+    }
+
+    /**
      * Fetches the tournaments for a given season.
      * @param seasonName name of the season
      * @return List of TournamentDTO representing the tournaments for the season
      */
     public List<TournamentDTO> getTournamentsBySeason(String seasonName) {
-        Season season = seasonRepo.findByName(seasonName)
-                .orElseThrow(() -> new ResourceNotFoundException("Season " + seasonName + " not found"));
+        return getTournamentDetails(tournamentRepo.findIdsBySeasonId(getSeasonId(seasonName)));
+    }
 
-        return tournamentRepo.findBySeasonId(season.getId())
-                .stream()
-                .map(Tournament::toDTO)
-                .toList();
+    public List<TournamentSummaryDTO> getTournamentSummariesByName(String name) {
+        return tournamentRepo.findSummariesByName(name);
     }
 
     public List<TournamentDTO> getTournamentsByName(String name) {
-        return tournamentRepo.findAllByName(name)
-                .stream()
+        return getTournamentDetails(tournamentRepo.findIdsByName(name));
+    }
+
+    public TournamentDTO getTournamentDetail(String seasonName, String name) {
+        getSeasonId(seasonName);
+        Long tournamentId = findTournamentId(seasonName, name)
+                .orElseThrow(() -> new ResourceNotFoundException("Tournament " + name +
+                        " not found in season " + seasonName));
+        return getTournamentDetails(List.of(tournamentId)).getFirst();
+    }
+
+    /**
+     * Loads tournaments with their flights, scores, players and awards in three queries, whatever their number.
+     * Scores come first so the eager score collections are already initialized when the flights are fetched.
+     *
+     * @param tournamentIds tournament ids
+     * @return tournaments in id order
+     */
+    public List<TournamentDTO> getTournamentDetails(Collection<Long> tournamentIds) {
+        if (tournamentIds.isEmpty()) {
+            return List.of();
+        }
+        flightRepo.findAllByTournamentIds(tournamentIds);
+        List<Tournament> tournaments = tournamentRepo.findWithFlightsByIdIn(tournamentIds);
+        tournamentRepo.findWithAwardsByIdIn(tournamentIds);
+
+        return tournaments.stream()
                 .map(Tournament::toDTO)
                 .toList();
     }
 
+    private Long getSeasonId(String seasonName) {
+        return seasonRepo.findByName(seasonName)
+                .orElseThrow(() -> new ResourceNotFoundException("Season " + seasonName + " not found"))
+                .getId();
+    }
+
     public Tournament getTournamentBySeasonAndName(String seasonName, String name) {
         Season season = seasonRepo.findByName(seasonName)
                 .orElseThrow(() -> new ResourceNotFoundException("Season " + seasonName + " not found"));
@@ -186,7 +395,8 @@ public class TournamentService {
 
         // Cleanup in-memory caches
         activeStrategies.remove(tournamentId);
-        calculatedFlightCache.remove(tournamentId);
+        leaderboards.remove(tournamentId);
+        leaderboardChanged(tournamentId, true);
     }
 
     /**
@@ -213,76 +423,43 @@ public class TournamentService {
 
         // Cleanup in-memory caches
         activeStrategies.remove(tournamentId);
-        calculatedFlightCache.remove(tournamentId);
+        leaderboards.remove(tournamentId);
+        leaderboardChanged(tournamentId, true);
     }
 
     private void calculateFinalAwards(Tournament tournament, Map<Long, Integer> pointsMap) {
-        List<FlightScore> scoreboard = calculatedFlightCache.get(tournament.getId()).stream()
-                .flatMap(f -> f.getFlightScores().stream())
-                .sorted(Comparator.comparingInt(FlightScore::getScore).reversed())
-                .toList();
+        // The leaderboard index is already in award order, highest score first
+        LeaderboardIndex leaderboard = leaderboards.get(tournament.getId());
+        LeaderboardIndex.Standings standings = (leaderboard == null ? new LeaderboardIndex() : leaderboard).standings();
 
-        allocatePoints(scoreboard, tournament, pointsMap);
-        allocateBirdies(scoreboard, tournament, pointsMap);
+        TournamentAwards.allocatePoints(standings, tournament.getAwards(), pointsMap);
+        TournamentAwards.allocateBirdies(standings, pointsMap);
     }
 
-    private void allocatePoints(List<FlightScore> scoreboard, Tournament t, Map<Long, Integer> pointsMap) {
-        // 1. Group players by score and maintain the sorted order (Highest score first)
-        Map<Integer, List<Player>> groups = scoreboard.stream()
-                .collect(Collectors.groupingBy(
-                        FlightScore::getScore,
-                        LinkedHashMap::new,
-                        Collectors.mapping(FlightScore::getPlayer, Collectors.toList())
-                ));
-
-        List<List<Player>> rankedGroups = new ArrayList<>(groups.values());
-
-        // Define our prize pools
-        int[] prizePools = {100, 66, 33};
-
-        // 2. Iterate through the top 3 score groups (Rank 1, 2, and 3)
-        for (int i = 0; i < Math.min(rankedGroups.size(), 3); i++) {
-            List<Player> playersInRank = rankedGroups.get(i);
-            int rankLabel = i + 1; // 1, 2, or 3
-            int pointsToDistribute = prizePools[i] / playersInRank.size();
-
-            for (Player p : playersInRank) {
-                // Assign the award rank (1, 2, or 3)
-                t.getAwards().put(p.getId(), rankLabel);
+    /**
+     * Adds the awarded points to the team standings: one query for the players' teams and one
+     * batched upsert, however many players scored.
+     */
+    private void updateTeamStandings(Tournament tournament, Map<Long, Integer> pointsMap) {
+        if (pointsMap.isEmpty()) {
+            return;
+        }
 
-                // Add the points to the map
-                pointsMap.put(p.getId(), pointsMap.getOrDefault(p.getId(), 0) + pointsToDistribute);
+        // Every awarded player counts as a win for their team
+        Map<Long, TeamStandingRepositoryCustom.TeamResult> results = new HashMap<>();
+        for (Object[] row : playerRepo.findTeamsByPlayerIds(pointsMap.keySet())) {
+            Long playerId = (Long) row[0];
+            Long teamId = (Long) row[1];
+            if (((String) row[2]).equalsIgnoreCase("UNASSIGNED")) {
+                continue;
             }
+            int points = pointsMap.get(playerId);
+            results.merge(teamId, new TeamStandingRepositoryCustom.TeamResult(teamId, points, 1),
+                    (a, b) -> new TeamStandingRepositoryCustom.TeamResult(teamId,
+                            a.points() + b.points(), a.wins() + b.wins()));
         }
-    }
-
-    private void allocateBirdies(List<FlightScore> scoreboard, Tournament t, Map<Long, Integer> pointsMap) {
-        scoreboard.stream().filter(fs -> fs.getBirdies() > 0)
-                .max(Comparator.comparingInt(FlightScore::getBirdies))
-                .ifPresent(fs -> pointsMap.put(
-                        fs.getPlayer().getId(), pointsMap.getOrDefault(fs.getPlayer().getId(), 0) + 50));
-    }
 
-    private void updateTeamStandings(Tournament tournament, Map<Long, Integer> pointsMap) {
-        Season season = tournament.getSeason();
-        pointsMap.forEach((playerId, points) -> {
-            Player player = playerRepo.findById(playerId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Player with id " + playerId + " not found"));
-            Team team = player.getTeam();
-            if (!team.getName().equalsIgnoreCase("UNASSIGNED")) {
-                // Find existing standing for this team in this season, or create new
-                TeamStanding standing = standingRepo.findBySeasonNameAndTeamName(
-                        season.getName(), team.getName())
-                        .orElse(TeamStanding.builder().season(season).team(team).points(0).build());
-
-                standing.setPoints(standing.getPoints() + points);
-
-                // update wins
-                standing.setWins(standing.getWins() + 1);
-
-                standingRepo.save(standing);
-            }
-        });
+        standingRepo.addResults(tournament.getSeason().getId(), results.values());
     }
 
     public List<FlightScoreDTO> getTournamentLeaderBoard(String seasonName, String tournamentName) {
@@ -291,138 +468,308 @@ public class TournamentService {
             throw new ResourceConflictException("Tournament is already finished");
         }
 
-        List<FlightScoreDTO> leaderBoard = new ArrayList<>();
-
-        calculatedFlightCache.getOrDefault(tournament.getId(), Collections.emptyList())
-            .forEach(f -> {
-                f.getFlightScores().forEach(fs -> leaderBoard.add(fs.toDto()));
-            });
+        LeaderboardIndex leaderboard = leaderboards.get(tournament.getId());
+        if (leaderboard == null) {
+            return List.of();
+        }
 
-        return leaderBoard;
+        return leaderboard.cards();
     }
 
-    public void addFlightToTournament(long flightId, long tournamentId) {
-        Flight flight = flightService.getFlight(flightId);
-        Tournament tournament = getTournament(tournamentId);
+    /**
+     * @param tournamentId tournament id
+     * @param offset number of entries to skip, 0 for the top of the board
+     * @param limit maximum number of entries to return
+     * @return ranked leaderboard entries
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<LeaderboardEntryDTO> getLeaderboardPage(Long tournamentId, int offset, int limit) {
+        return getLeaderboard(tournamentId).page(offset, limit);
+    }
 
-        IScoringStrategy strategy = activeStrategies.get(tournamentId);
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public LeaderboardEntryDTO getLeaderboardEntry(Long tournamentId, Long playerId) {
+        return getLeaderboard(tournamentId).entry(playerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Player " + playerId +
+                        " has no score in tournament " + tournamentId));
+    }
 
-        if (strategy == null || tournament.isFinished()) {
-            throw new ResourceConflictException("Tournament session expired");
+    /**
+     * @param tournamentId tournament id
+     * @param playerId player id
+     * @param span number of entries to include above and below the player
+     * @return the player's entry surrounded by its neighbours on the leaderboard
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public List<LeaderboardEntryDTO> getLeaderboardAround(Long tournamentId, Long playerId, int span) {
+        List<LeaderboardEntryDTO> entries = getLeaderboard(tournamentId).around(playerId, span);
+        if (entries.isEmpty()) {
+            throw new ResourceNotFoundException("Player " + playerId + " has no score in tournament " + tournamentId);
         }
+        return entries;
+    }
 
-        Flight calculatedFlight = strategy.calculateScores(flight);
-        tournament.getFlights().add(flight);
+    // ================= Versions ==================
+    /**
+     * @param tournamentId tournament id
+     * @return ETag of the tournament's leaderboard, or {@code null} if it has no running session
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public String getLeaderboardETag(Long tournamentId) {
+        return activeStrategies.containsKey(tournamentId) ? versions.eTag(tournamentId) : null;
+    }
 
-        for (FlightScore fs : calculatedFlight.getFlightScores()) {
-            Team team = fs.getPlayer().getTeam();
-            standingRepo.findBySeasonNameAndTeamName(tournament.getSeason().getName(), team.getName())
-                .ifPresent(standing -> standing.setBirdies(standing.getBirdies() + fs.getBirdies()));
-        }
+    /**
+     * @param tournamentId tournament id
+     * @return ETag of the tournament, found without loading it
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public String getTournamentETag(Long tournamentId) {
+        return versions.eTag(tournamentId);
+    }
 
-        tournamentRepo.save(tournament); // Cascades to Flight and FlightScores
+    /**
+     * @param name tournament name
+     * @return ETag of the tournaments with that name, from their ids only
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public String getTournamentsETag(String name) {
+        return versions.eTag(tournamentRepo.findIdsByName(name));
+    }
 
-        calculatedFlightCache.computeIfAbsent(tournamentId, k -> new ArrayList<>());
-        calculatedFlightCache.get(tournamentId).add(calculatedFlight);
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Optional<Long> findTournamentId(String seasonName, String name) {
+        return tournamentRepo.findIdsBySeasonNameAndName(seasonName, name).stream().findFirst();
     }
 
-    public List<TournamentDTO> getAllActiveTournaments() {
-        return tournamentRepo.findAll().stream()
-            .filter(t -> !t.isFinished())
-            .map(Tournament::toDTO)
-            .toList();
+    /**
+     * A player's name is shown on their cards in every tournament they played, so all tournament tags change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public void onPlayerChanged(PlayerChangedEvent event) {
+        versions.bumpAll();
     }
 
-    // ============== Import and export ===============
+    /**
+     * Bumps the tournament's version once the change is committed, so no tag is handed out for a state readers
+     * cannot see yet, and notifies the leaderboard subscribers.
+     */
+    private void leaderboardChanged(long tournamentId, boolean closed) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.bump(tournamentId);
+                }
+            });
+        } else {
+            versions.bump(tournamentId);
+        }
+        eventPublisher.publishEvent(new LeaderboardChangedEvent(tournamentId, closed));
+    }
 
-    public record TournamentExport(
-            @Schema(description = "Tournament name", example = "02_02_2026_PineWoodsMMR")
-            String name,
-            @Schema(description = "Awards for each player")
-            Map<String, Integer> awards,
-            String seasonName,
-            String strategyName,
-            List<FlightDTO> flights){}
+    private LeaderboardIndex getLeaderboard(Long tournamentId) {
+        LeaderboardIndex leaderboard = leaderboards.get(tournamentId);
+        if (leaderboard == null) {
+            throw new ResourceConflictException("Tournament session expired or not initialized");
+        }
+        return leaderboard;
+    }
 
-    @PreAuthorize("hasRole('ADMIN')")
-    public byte[] exportTournament(Long tournamentId) throws IOException {
-        Tournament tournament = tournamentRepo.findById(tournamentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Tournament not found"));
+    /**
+     * @param tournamentId tournament id
+     * @return whether the tournament has a running scoring session
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public boolean isSessionActive(long tournamentId) {
+        return activeStrategies.containsKey(tournamentId);
+    }
 
-        if (!tournament.isFinished()) {
-            throw new ResourceConflictException("Only finished tournaments can be exported.");
+    /**
+     * Creates flights and scores and links them to a running tournament, all in one transaction.
+     *
+     * @param tournamentId tournament id
+     * @param flights scores of each flight
+     * @return ids of the created flights, in request order
+     */
+    public List<Long> createFlightsInTournament(long tournamentId, List<List<FlightScoreDTO>> flights) {
+        if (!activeStrategies.containsKey(tournamentId)) {
+            throw new ResourceConflictException("Tournament session expired");
         }
+        List<Long> flightIds = flightService.createFlights(flights);
+        if (!flightIds.isEmpty()) {
+            addFlightsToTournament(tournamentId, flightIds);
+        }
+        return flightIds;
+    }
 
-        // Convert to DTO
-        Map<String, Integer> portableAwards = new HashMap<>();
-        tournament.getAwards().forEach((playerId, rank) -> {
-            playerRepo.findById(playerId).ifPresent(p -> portableAwards.put(p.getName(), rank));
-        });
+    /**
+     * Scores and links flights in one transaction, in the given order. Called by the tournament's
+     * {@link FlightIngestionQueue} with every flight queued since the last call, and for bulk submissions.
+     * Links are inserted as join rows, so callers do not load or rewrite the tournament's other links.
+     *
+     * @param tournamentId tournament id
+     * @param flightIds flights to link
+     * @throws ResourceConflictException if a player of the flights already has a card in the tournament
+     */
+    public void addFlightsToTournament(long tournamentId, List<Long> flightIds) {
+        Tournament tournament = getTournament(tournamentId);
 
-        TournamentDTO tournamentDto = tournament.toDTO();
+        IScoringStrategy strategy = activeStrategies.get(tournamentId);
 
-        TournamentExport dto = new TournamentExport(tournamentDto.name(),
-                portableAwards,
-                tournament.getSeason().getName(),
-                tournamentDto.strategyName(),
-                tournamentDto.flights());
+        if (strategy == null || tournament.isFinished()) {
+            throw new ResourceConflictException("Tournament session expired");
+        }
 
-        return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsBytes(dto);
-    }
+        Map<Long, Flight> flightsById = new HashMap<>();
+        for (Flight flight : flightRepo.findAllWithScoresByIdIn(flightIds)) {
+            flightsById.put(flight.getId(), flight);
+        }
 
-    @PreAuthorize("hasRole('ADMIN')")
-    public void importTournament(byte[] jsonData, String targetSeasonName) throws IOException {
-        // 1. Use the new Export record to read the data
-        TournamentExport exportDto = objectMapper.readValue(jsonData, TournamentExport.class);
+        List<Flight> calculatedFlights = new ArrayList<>(flightIds.size());
+        // Added in the database rather than read-modify-write, so flights linked at once do not lose birdies
+        Map<Long, Integer> birdiesByTeam = new HashMap<>();
+        for (Long flightId : flightIds) {
+            Flight flight = flightsById.get(flightId);
+            if (flight == null) {
+                throw new ResourceNotFoundException("Flight not found: " + flightId);
+            }
 
-        Season season = seasonRepo.findByName(targetSeasonName)
-                .orElseThrow(() -> new ResourceNotFoundException("Season not found"));
+            Flight calculatedFlight = strategy.calculateScores(flight);
+            calculatedFlights.add(calculatedFlight);
 
-        Tournament tournament = Tournament.builder()
-                .name(exportDto.name())
-                .season(season)
-                .strategyName(exportDto.strategyName())
-                .flights(new ArrayList<>())
-                .isFinished(true)
-                .build();
+            for (FlightScore fs : calculatedFlight.getFlightScores()) {
+                Team team = fs.getPlayer().getTeam();
+                if (team != null && fs.getBirdies() > 0) {
+                    birdiesByTeam.merge(team.getId(), fs.getBirdies(), Integer::sum);
+                }
+            }
+        }
+        standingRepo.addBirdies(tournament.getSeason().getId(), birdiesByTeam);
+        flightBatchWriter.link(tournamentId, flightIds);
+
+        // Serialized with a re-score swapping the leaderboard, and with other links checking for the same players
+        leaderboards.compute(tournamentId, (id, leaderboard) -> {
+            LeaderboardIndex updated = leaderboard == null ? new LeaderboardIndex() : leaderboard;
+            checkNewCards(tournamentId, updated, calculatedFlights);
+            calculatedFlights.forEach(updated::putAll);
+            return updated;
+        });
+        leaderboardChanged(tournamentId, false);
+    }
 
-        // This will hold our final Awards: NewPlayerID (Long) -> Rank (Integer)
-        Map<Long, Integer> newAwardsMap = new HashMap<>();
-
-        // 2. Create the flights
-        for (FlightDTO flightDto : exportDto.flights()) {
-            Flight flight = Flight.builder()
-                    .date(flightDto.date())
-                    .build();
-
-            for (FlightScoreDTO scoreDto : flightDto.flights()) {
-                // Find player in the CURRENT database by name
-                Player player = playerRepo.findByName(scoreDto.playerName())
-                        .orElseThrow(() -> new ResourceNotFoundException("Player not found: " + scoreDto.playerName()));
-
-                FlightScore score = FlightScore.builder()
-                        .player(player)
-                        .score(scoreDto.score())
-                        .holeScores(scoreDto.holeScores())
-                        .courseName(scoreDto.courseName())
-                        .birdies(scoreDto.birdies())
-                        .flight(flight)
-                        .build();
-                flight.getFlightScores().add(score);
-
-                // 3. Map the Award if it exists for this player name
-                if (exportDto.awards() != null && exportDto.awards().containsKey(player.getName())) {
-                    Integer rank = exportDto.awards().get(player.getName());
-                    newAwardsMap.put(player.getId(), rank);
+    /**
+     * Rejects the cards of players who already have one in the tournament, e.g. before a flight is queued.
+     * Linking checks again, atomically with adding the cards.
+     *
+     * @param tournamentId tournament id
+     * @param playerNames names of the flight's players by id
+     * @throws ResourceConflictException if the tournament has no running session or a player of the flight
+     * already has a finished card on its leaderboard
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public void checkNewCards(long tournamentId, Map<Long, String> playerNames) {
+        LeaderboardIndex leaderboard = getLeaderboard(tournamentId);
+        playerNames.forEach((playerId, name) -> {
+            if (leaderboard.hasCard(playerId)) {
+                throw new ResourceConflictException("Player " + name + " already has a card in tournament " +
+                        tournamentId);
+            }
+        });
+    }
+
+    /**
+     * A player plays one round per tournament, so the leaderboard, the awards and live scoring rank players
+     * rather than cards. A second card would either double a player's awards or, on the board, hide the first
+     * card while its birdies still count for the team, so it is rejected before anything is linked.
+     *
+     * @throws ResourceConflictException if a player already has a finished card on the leaderboard or has
+     * two cards among the flights
+     */
+    private static void checkNewCards(long tournamentId, LeaderboardIndex leaderboard, List<Flight> flights) {
+        Set<Long> players = new HashSet<>();
+        for (Flight flight : flights) {
+            for (FlightScore fs : flight.getFlightScores()) {
+                if (!players.add(fs.getPlayer().getId()) || leaderboard.hasCard(fs.getPlayer().getId())) {
+                    throw new ResourceConflictException("Player " + fs.getPlayer().getName() +
+                            " already has a card in tournament " + tournamentId);
                 }
             }
-            tournament.getFlights().add(flight);
         }
+    }
 
-        // Set the translated awards map
-        tournament.setAwards(newAwardsMap);
+    // ================= Live scoring ==================
+    /**
+     * Starts the card of a player whose round is scored hole by hole.
+     *
+     * @param tournamentId tournament id
+     * @param playerId player id
+     * @param playerName player name
+     * @return empty card, scored with the player's playing handicap
+     * @throws ResourceConflictException if the tournament has no running session or the player already has a
+     * finished card on its leaderboard
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public LiveCard startLiveCard(long tournamentId, long playerId, String playerName) {
+        IScoringStrategy strategy = activeStrategies.get(tournamentId);
+        if (strategy == null) {
+            throw new ResourceConflictException("Tournament session expired");
+        }
+        if (getLeaderboard(tournamentId).hasCard(playerId)) {
+            throw new ResourceConflictException("Player " + playerName + " already has a card in tournament "
+                    + tournamentId);
+        }
+        return strategy.startLiveCard(playerId, playerName);
+    }
 
-        // Save cascades to all flights and scores
-        tournamentRepo.save(tournament);
+    /**
+     * Ranks rounds in progress by their current totals and notifies the leaderboard subscribers. Only the
+     * in-memory leaderboard changes; the round is stored as a flight once it is finished.
+     *
+     * @param tournamentId tournament id
+     * @param cards cards updated by the last hole
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public void updateLiveCards(long tournamentId, Collection<LiveCard> cards) {
+        IScoringStrategy strategy = activeStrategies.get(tournamentId);
+        if (strategy == null) {
+            throw new ResourceConflictException("Tournament session expired");
+        }
+        List<LeaderboardIndex.LiveEntry> entries = cards.stream()
+                .map(card -> new LeaderboardIndex.LiveEntry(card.getPlayerId(), card.getPlayerName(),
+                        strategy.livePoints(card), card.getBirdies(), card.getThru()))
+                .toList();
+
+        // Serialized with a re-score swapping the leaderboard
+        leaderboards.computeIfPresent(tournamentId, (id, leaderboard) -> {
+            leaderboard.putLive(entries);
+            return leaderboard;
+        });
+        leaderboardChanged(tournamentId, false);
+    }
+
+    /**
+     * Takes the rounds of a cancelled live flight off the leaderboard and notifies the leaderboard subscribers.
+     *
+     * @param tournamentId tournament id
+     * @param playerIds players of the flight
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public void removeLiveCards(long tournamentId, Collection<Long> playerIds) {
+        LeaderboardIndex leaderboard = leaderboards.computeIfPresent(tournamentId, (id, current) -> {
+            current.removeLive(playerIds);
+            return current;
+        });
+        if (leaderboard != null) {
+            leaderboardChanged(tournamentId, false);
+        }
+    }
+
+    /**
+     * @return summaries of the running tournaments, read in one query
+     */
+    public List<TournamentSummaryDTO> getAllActiveTournaments() {
+        return tournamentRepo.findActiveSummaries();
     }
 }
@@ -0,0 +1,92 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import com.pinewoods.score.tracker.dao.flight.FlightRepository;
+import com.pinewoods.score.tracker.dao.tournament.TournamentRepository;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.tournament.Tournament;
+import com.pinewoods.score.tracker.services.scoring.IScoringStrategy;
+import com.pinewoods.score.tracker.services.scoring.ParallelFlightScorer;
+import com.pinewoods.score.tracker.services.scoring.ScoringStrategyFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Rebuilds the sessions of unfinished tournaments on startup, so that a restart does not
+ * leave them unable to accept flights or show a leaderboard.
+ * <p>
+ * Lifecycle beans start after every singleton is initialized, so the restore runs after the schema migrations.
+ * Its phase is below the web server's, so no request sees an unfinished tournament without its session.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TournamentSessionRestorer implements SmartLifecycle {
+    // Any phase below the web server's start, which Spring Boot places close to DEFAULT_PHASE
+    private static final int PHASE = 0;
+
+    private final TournamentRepository tournamentRepo;
+    private final FlightRepository flightRepo;
+    private final ScoringStrategyFactory strategyFactory;
+    private final ParallelFlightScorer flightScorer;
+    private final TournamentService tournamentService;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        restoreActiveSessions();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        // Sessions live in memory and end with the application
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public void restoreActiveSessions() {
+        for (Tournament tournament : tournamentRepo.findAllActive()) {
+            if (tournament.getCourseId() == null || tournament.getStrategyName() == null) {
+                // Created before the strategy configuration was persisted
+                log.warn("Cannot restore tournament {}: no scoring configuration stored", tournament.getId());
+                continue;
+            }
+
+            try {
+                // The strategy is built from the tournament's lazy collections, so each restore runs in its own
+                // transaction and one broken tournament does not roll back the others
+                transactionTemplate.executeWithoutResult(status -> restore(tournament.getId()));
+            } catch (RuntimeException e) {
+                log.error("Failed to restore tournament {}", tournament.getId(), e);
+            }
+        }
+    }
+
+    private void restore(long tournamentId) {
+        long start = System.nanoTime();
+        Tournament tournament = tournamentRepo.findWithHandicapsById(tournamentId).orElseThrow();
+        IScoringStrategy strategy = strategyFactory.getStrategy(tournament);
+
+        // Scores and players are fetched up front, so flights can be scored on any thread
+        List<Flight> calculated = flightScorer.scoreAll(flightRepo.findAllByTournamentId(tournament.getId()), strategy);
+
+        tournamentService.restoreSession(tournament.getId(), strategy, calculated);
+        log.info("Restored tournament {} with {} flights in {} ms", tournament.getId(), calculated.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,56 @@
+package com.pinewoods.score.tracker.services.tournament;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of each tournament, bumped whenever its flights, leaderboard or status change, and used to
+ * build strong ETags. The boot time is part of every tag, so tags handed out before a restart never match.
+ * Changes that reach into many tournaments at once, e.g. renaming a player, bump a generation shared by all
+ * tags instead of looking up the tournaments involved.
+ */
+public final class TournamentVersions {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @return current version, 0 if the tournament has not changed since boot
+     */
+    public long current(long tournamentId) {
+        AtomicLong version = versions.get(tournamentId);
+        return version == null ? 0 : version.get();
+    }
+
+    public void bump(long tournamentId) {
+        versions.computeIfAbsent(tournamentId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Changes the tag of every tournament.
+     */
+    public void bumpAll() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * @return quoted strong ETag of the tournament's current version
+     */
+    public String eTag(long tournamentId) {
+        return "\"" + epoch + "." + generation.get() + "-" + tournamentId + "-" + current(tournamentId) + "\"";
+    }
+
+    /**
+     * @param tournamentIds tournaments of a listing, in response order
+     * @return quoted strong ETag that changes when any of them changes or the set of tournaments changes
+     */
+    public String eTag(Collection<Long> tournamentIds) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch).append('.').append(generation.get());
+        for (Long tournamentId : tournamentIds) {
+            tag.append('-').append(tournamentId).append('.').append(current(tournamentId));
+        }
+        return tag.append('"').toString();
+    }
+}
@@ -0,0 +1,84 @@
+package com.pinewoods.score.tracker.config.migration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HoleScoresMigrationTest extends TournamentTestBase {
+    private static final List<Integer> LEGACY_CARD = List.of(3, 5, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 12);
+
+    @Autowired
+    private HoleScoresMigration migration;
+
+    @Test
+    public void serialized_legacy_scores_are_readable_after_the_migration() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long flightId = createFlight(0, adminToken);
+        // A row written before hole_bytes existed: a serialized ArrayList in hole_scores
+        jdbcTemplate.execute("ALTER TABLE flight_scores ADD COLUMN hole_scores bytea");
+        jdbcTemplate.update("UPDATE flight_scores SET hole_scores = ?, hole_bytes = NULL WHERE flight_id = ?",
+                serialize(new ArrayList<>(LEGACY_CARD)), flightId);
+
+        assertMigrated(flightId, adminToken);
+    }
+
+    @Test
+    public void array_legacy_scores_are_readable_after_the_migration() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long flightId = createFlight(0, adminToken);
+        // The same column as created by newer Hibernate versions
+        jdbcTemplate.execute("ALTER TABLE flight_scores ADD COLUMN hole_scores integer[]");
+        jdbcTemplate.update("UPDATE flight_scores SET hole_scores = ?::integer[], hole_bytes = NULL WHERE flight_id = ?",
+                LEGACY_CARD.toString().replace('[', '{').replace(']', '}'), flightId);
+
+        assertMigrated(flightId, adminToken);
+    }
+
+    /********************************** Utilities **********************************/
+    private void assertMigrated(long flightId, String token) throws Exception {
+        migration.afterSingletonsInstantiated();
+        List<byte[]> migrated = holeBytes(flightId);
+        // Startup runs the migration every time, so a second run must find nothing to do
+        migration.afterSingletonsInstantiated();
+        List<byte[]> rerun = holeBytes(flightId);
+        JsonNode flight = objectMapper.readTree(sendRequest("/flights/" + flightId, null, token, HttpMethod.GET,
+                restClient).getBody());
+        List<JsonNode> cards = flight.findValues("holeScores");
+
+        assertAll("Migrated hole scores",
+                () -> assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM information_schema.columns " +
+                        "WHERE table_name = 'flight_scores' AND column_name = 'hole_scores'", Integer.class),
+                        "The legacy column should be dropped once every row is migrated"),
+                () -> assertEquals(2, cards.size()),
+                () -> cards.forEach(card -> assertEquals(LEGACY_CARD,
+                        objectMapper.convertValue(card, List.class), "The card should be read from hole_bytes")),
+                () -> assertEquals(2, migrated.size()),
+                () -> assertArrayEquals(migrated.get(0), rerun.get(0), "A second run should change nothing"),
+                () -> assertArrayEquals(migrated.get(1), rerun.get(1), "A second run should change nothing")
+        );
+    }
+
+    private List<byte[]> holeBytes(long flightId) {
+        return jdbcTemplate.queryForList("SELECT hole_bytes FROM flight_scores WHERE flight_id = ? ORDER BY id",
+                byte[].class, flightId);
+    }
+
+    private static byte[] serialize(ArrayList<Integer> holeScores) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(holeScores);
+        }
+        return bytes.toByteArray();
+    }
+}
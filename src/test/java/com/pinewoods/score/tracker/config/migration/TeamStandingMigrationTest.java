@@ -0,0 +1,51 @@
+package com.pinewoods.score.tracker.config.migration;
+
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TeamStandingMigrationTest extends TournamentTestBase {
+    @Autowired
+    private TeamStandingMigration migration;
+
+    @Test
+    public void duplicate_standings_are_merged_before_the_unique_index_is_created() {
+        // A schema from before the upsert, where nothing kept a team to one standing per season
+        for (String constraint : jdbcTemplate.queryForList("SELECT conname FROM pg_constraint " +
+                "WHERE conrelid = 'team_standing'::regclass AND contype = 'u'", String.class)) {
+            jdbcTemplate.execute("ALTER TABLE team_standing DROP CONSTRAINT " + constraint);
+        }
+        jdbcTemplate.execute("DROP INDEX IF EXISTS team_standing_season_team_key");
+        jdbcTemplate.update("UPDATE team_standing SET points = 5, wins = 1, birdies = 2");
+        jdbcTemplate.update("INSERT INTO team_standing (season_id, team_id, points, wins, losses, draws, birdies) " +
+                "SELECT season_id, team_id, 10, 0, 1, 0, 3 FROM team_standing");
+
+        migration.afterSingletonsInstantiated();
+        List<Map<String, Object>> merged = standings();
+        migration.afterSingletonsInstantiated();
+        List<Map<String, Object>> rerun = standings();
+
+        assertAll("Merged standings",
+                () -> assertEquals(2, merged.size(), "Each team should keep one standing"),
+                () -> assertTrue(merged.stream().allMatch(row -> ((Number) row.get("points")).intValue() == 15 &&
+                        ((Number) row.get("wins")).intValue() == 1 && ((Number) row.get("losses")).intValue() == 1 &&
+                        ((Number) row.get("birdies")).intValue() == 5), "Counters should be summed: " + merged),
+                () -> assertEquals(merged, rerun, "A second run should change nothing"),
+                () -> assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                        "INSERT INTO team_standing (season_id, team_id, points, wins, losses, draws, birdies) " +
+                                "SELECT season_id, team_id, 0, 0, 0, 0, 0 FROM team_standing LIMIT 1"),
+                        "The unique index should reject a second standing")
+        );
+    }
+
+    private List<Map<String, Object>> standings() {
+        return jdbcTemplate.queryForList(
+                "SELECT id, team_id, points, wins, losses, draws, birdies FROM team_standing ORDER BY team_id");
+    }
+}
@@ -0,0 +1,133 @@
+package com.pinewoods.score.tracker.controllers.flight;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bulk flight submission. The comparison with one request per flight is tagged {@code performance} and only runs
+ * with {@code ./gradlew performanceTest}.
+ */
+public class FlightBatchThroughputTest extends TournamentTestBase {
+    private static final Logger log = LoggerFactory.getLogger(FlightBatchThroughputTest.class);
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000})
+    public void create_flights_in_one_request_creates_every_flight(int flights) throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+
+        ResponseEntity<String> response = sendRequest("/flights/batch", batch(flights), adminToken,
+                HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+
+        JsonNode created = objectMapper.readTree(response.getBody());
+        Integer storedFlights = jdbcTemplate.queryForObject("SELECT count(*) FROM flights", Integer.class);
+        Integer storedScores = jdbcTemplate.queryForObject("SELECT count(*) FROM flight_scores", Integer.class);
+
+        assertAll("Batch of " + flights + " flights",
+                () -> assertEquals(flights, created.get("flightIds").size(), "Every flight should be created"),
+                () -> assertEquals(flights * 2, created.get("scores").asInt(), "Every score should be counted"),
+                () -> assertEquals(flights, storedFlights, "Every flight should be stored"),
+                () -> assertEquals(flights * 2, storedScores, "Every score should be stored")
+        );
+    }
+
+    // Wall-clock numbers depend on the machine, so they are logged rather than asserted
+    @Tag("performance")
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 1000})
+    public void create_flights_in_one_request_against_one_by_one(int flights) throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < flights; i++) {
+            ResponseEntity<String> response = sendRequest("/flights", flight(i), adminToken, HttpMethod.POST,
+                    restClient);
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        }
+        long oneByOneNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        ResponseEntity<String> response = sendRequest("/flights/batch", batch(flights), adminToken,
+                HttpMethod.POST, restClient);
+        long batchNanos = System.nanoTime() - start;
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+
+        log.info(String.format("%,d flights: one by one %,.1f flights/s, batch %,.1f flights/s", flights,
+                flights * 1e9 / oneByOneNanos, flights * 1e9 / batchNanos));
+    }
+
+    @Test
+    public void create_flights_in_tournament_links_them_in_the_same_request() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        int flights = playersPerTeam;
+
+        ResponseEntity<String> response = sendRequest("/flights/batch?tournamentId=" + tournamentId, batch(flights),
+                adminToken, HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+
+        // linked before the response, unlike the queued single link
+        int linkedFlights = linkedFlights(tournamentId);
+        int team1Birdies = teamBirdies("Team1");
+        ResponseEntity<String> leaderboard = sendRequest("/tournaments/" + tournamentId + "/leaderboard?limit=100",
+                null, adminToken, HttpMethod.GET, restClient);
+
+        assertAll("Batch linked to a tournament",
+                () -> assertEquals(flights, linkedFlights, "Every flight should be linked"),
+                () -> assertEquals(flights * 2, team1Birdies, "Team1 should get every birdie"),
+                () -> assertEquals(HttpStatus.OK, leaderboard.getStatusCode()),
+                () -> assertEquals(playersPerTeam * 2, objectMapper.readTree(leaderboard.getBody()).size(),
+                        "Every player should be on the leaderboard once")
+        );
+    }
+
+    @Test
+    public void create_flights_in_tournament_rejects_a_second_card_of_a_player() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        assertEquals(HttpStatus.CREATED, sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                "[" + flight(0) + "]", adminToken, HttpMethod.POST, restClient).getStatusCode());
+
+        // flight(playersPerTeam) has the players of flight(0) again
+        ResponseEntity<String> again = sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                "[" + flight(1) + "," + flight(playersPerTeam) + "]", adminToken, HttpMethod.POST, restClient);
+        ResponseEntity<String> twiceInBatch = sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                "[" + flight(2) + "," + flight(2) + "]", adminToken, HttpMethod.POST, restClient);
+        int linkedFlights = linkedFlights(tournamentId);
+        int team1Birdies = teamBirdies("Team1");
+
+        assertAll("Second cards",
+                () -> assertEquals(HttpStatus.CONFLICT, again.getStatusCode(), "A linked player should be rejected"),
+                () -> assertEquals(HttpStatus.CONFLICT, twiceInBatch.getStatusCode(),
+                        "A player twice in the batch should be rejected"),
+                () -> assertEquals(1, linkedFlights, "Rejected batches should link nothing"),
+                () -> assertEquals(2, team1Birdies, "Rejected batches should add no birdies")
+        );
+    }
+
+    @Test
+    public void create_flights_with_unknown_player_creates_nothing() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        String flights = "[" + flight(0) + ",[{\"playerName\":\"nobody\",\"holeScores\":" + card +
+                ",\"courseName\":\"" + courseName + "\"}]]";
+
+        ResponseEntity<String> response = sendRequest("/flights/batch", flights, adminToken, HttpMethod.POST,
+                restClient);
+        Integer storedFlights = jdbcTemplate.queryForObject("SELECT count(*) FROM flights", Integer.class);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(0, storedFlights, "No flight of the batch should be created");
+    }
+}
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.pinewoods.score.tracker.dto.admin.AuthenticationDTOs;
 import com.pinewoods.score.tracker.dto.flight.FlightDTO;
+import com.pinewoods.score.tracker.dto.flight.FlightPageDTO;
 import com.pinewoods.score.tracker.dto.flight.FlightScoreDTO;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,6 +22,8 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestClient;
 
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
@@ -163,6 +166,55 @@ public class FlightControlTest {
         assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
     }
 
+    @Test
+    public void list_flights_pages_newest_first_and_filters() throws Exception {
+        String token = loginAndGetToken(adminUsername, adminPassword);
+        Long player1Id = jdbcTemplate.queryForObject("SELECT id FROM players WHERE name = ?", Long.class, player1Username);
+        Long player2Id = jdbcTemplate.queryForObject("SELECT id FROM players WHERE name = ?", Long.class, player2Username);
+
+        // five flights on two days, so pages break inside a day; player1 plays the even ones
+        for (int i = 0; i < 5; i++) {
+            Long flightId = jdbcTemplate.queryForObject("INSERT INTO flights (date) VALUES (?) RETURNING id",
+                    Long.class, Timestamp.valueOf("2025-06-0" + (1 + i / 3) + " 10:00:00"));
+            jdbcTemplate.update("INSERT INTO flight_scores (flight_id, player_id, score, birdies, course_name) " +
+                    "VALUES (?, ?, ?, 0, 'Test Course')", flightId, i % 2 == 0 ? player1Id : player2Id, 30 + i);
+        }
+
+        List<Long> listed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ResponseEntity<String> response = sendRequest(flightPath + "?limit=2" +
+                    (cursor == null ? "" : "&cursor=" + cursor), null, token, HttpMethod.GET, restClient);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            FlightPageDTO page = objectMapper.readValue(response.getBody(), FlightPageDTO.class);
+            page.flights().forEach(flight -> listed.add(flight.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        ResponseEntity<String> player1Flights = sendRequest(flightPath + "?player=" + player1Username +
+                "&from=2025-06-02&to=2025-06-02", null, token, HttpMethod.GET, restClient);
+        FlightPageDTO filtered = objectMapper.readValue(player1Flights.getBody(), FlightPageDTO.class);
+
+        ResponseEntity<String> export = sendRequest(flightPath + "/export", null, token, HttpMethod.GET, restClient);
+        ResponseEntity<String> all = sendRequest(flightPath + "/all", null, token, HttpMethod.GET, restClient);
+        List<Long> allIds = objectMapper.readValue(all.getBody(), new TypeReference<List<FlightDTO>>() {})
+                .stream().map(FlightDTO::id).toList();
+
+        List<Long> newestFirst = jdbcTemplate.queryForList("SELECT id FROM flights ORDER BY date DESC, id DESC",
+                Long.class);
+        assertAll("Flight listing",
+                () -> assertEquals(newestFirst, listed, "Pages should list every flight once, newest first"),
+                () -> assertEquals(3, pages, "Five flights should take three pages of two"),
+                () -> assertEquals(1, filtered.flights().size(), "player1 played one flight on the second day"),
+                () -> assertEquals(player1Username, filtered.flights().getFirst().flights().getFirst().playerName()),
+                () -> assertEquals(HttpStatus.OK, export.getStatusCode()),
+                () -> assertEquals(5, export.getBody().lines().count(), "The export should have a line per flight"),
+                () -> assertEquals(newestFirst, allIds, "The deprecated full listing should still list every flight")
+        );
+    }
+
     /********************************** Utilities **********************************/
     private String loginAndGetToken(String username, String password) throws JsonProcessingException {
         String loginJson = objectMapper.writeValueAsString(new AuthenticationDTOs.AuthRequestDTO(username, password));
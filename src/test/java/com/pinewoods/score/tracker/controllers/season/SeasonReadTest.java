@@ -0,0 +1,130 @@
+package com.pinewoods.score.tracker.controllers.season;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SeasonReadTest extends TournamentTestBase {
+
+    @Test
+    public void tournament_listings_default_to_the_detail_view() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        assertEquals(HttpStatus.CREATED, sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                batch(2), adminToken, HttpMethod.POST, restClient).getStatusCode());
+        assertEquals(HttpStatus.NO_CONTENT, sendRequest("/tournaments/" + tournamentId + "/end", null,
+                adminToken, HttpMethod.POST, restClient).getStatusCode());
+
+        JsonNode bySeason = read("/seasons/" + seasonName + "/tournaments", adminToken).get(0);
+        JsonNode byName = read("/tournaments/Test Open", adminToken).get(0);
+        JsonNode summary = read("/seasons/" + seasonName + "/tournaments?view=summary", adminToken).get(0);
+
+        assertAll("Default tournament shape",
+                () -> assertFalse(bySeason.get("awards").isEmpty(), "The season listing should carry the awards"),
+                () -> assertEquals(2, bySeason.get("flights").size(), "The season listing should carry the flights"),
+                () -> assertFalse(byName.get("awards").isEmpty(), "The name lookup should carry the awards"),
+                () -> assertEquals(2, byName.get("flights").size(), "The name lookup should carry the flights"),
+                () -> assertFalse(summary.has("flights"), "The summary should be opt-in and leave out the flights"),
+                () -> assertEquals(2, summary.get("flightCount").asInt())
+        );
+    }
+
+    @Test
+    public void projection_awards_points_like_a_tournament_and_is_reproducible_with_a_seed() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken, "\"strategy_type\":\"STROKEPLAY\"");
+        // player0 (Team1) and player1 (Team2) share first place with 70, player2 (Team1) is second with 71 and
+        // player3 (Team2) third with 72. player1 and player2 tie on three birdies, which go to player1's higher score.
+        String flights = "[[" + scores(0, "3,3,4,4") + "," + scores(1, "3,3,3,5") + "],[" +
+                scores(2, "3,3,3,6") + "," + scores(3, "4,4,4,4") + "]]";
+        assertEquals(HttpStatus.CREATED, sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                flights, adminToken, HttpMethod.POST, restClient).getStatusCode());
+        assertEquals(HttpStatus.NO_CONTENT, sendRequest("/tournaments/" + tournamentId + "/end", null,
+                adminToken, HttpMethod.POST, restClient).getStatusCode());
+        int team1Points = teamPoints("Team1");
+        int team2Points = teamPoints("Team2");
+
+        // With one card per player every simulated tournament replays the real one
+        JsonNode replayed = read("/seasons/" + seasonName + "/projection?remaining=2&simulations=1000&seed=1",
+                adminToken).get("teams");
+
+        // More cards make the simulations differ, but not two runs with the same seed
+        for (int i = 0; i < 4; i++) {
+            createFlight(i, adminToken);
+            createFlight(flightOf(2), adminToken);
+        }
+        String seeded = "/seasons/" + seasonName + "/projection?remaining=3&simulations=5000&seed=7";
+        JsonNode first = read(seeded, adminToken).get("teams");
+        JsonNode second = read(seeded, adminToken).get("teams");
+
+        assertAll("Projection",
+                () -> assertEquals(50 + 66, team1Points, "Team1 should share first place and be second"),
+                () -> assertEquals(50 + 33 + 50, team2Points, "Team2 should share first, be third and win the birdies"),
+                () -> assertEquals("Team2", replayed.get(0).get("teamName").asText()),
+                () -> assertEquals(3.0 * team2Points, replayed.get(0).get("expectedPoints").asDouble(), 1e-9),
+                () -> assertEquals(1.0, replayed.get(0).get("titleProbability").asDouble(), 1e-9),
+                () -> assertEquals(3.0 * team1Points, replayed.get(1).get("expectedPoints").asDouble(), 1e-9),
+                () -> assertEquals(first, second, "The same seed should give the same projection")
+        );
+    }
+
+    @Test
+    public void active_listing_counts_the_flights_and_players_of_running_tournaments() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long playedId = startTournament(adminToken);
+        assertEquals(HttpStatus.CREATED, sendRequest("/flights/batch?tournamentId=" + playedId,
+                batch(3), adminToken, HttpMethod.POST, restClient).getStatusCode());
+        long endedId = start("Ended Open", adminToken);
+        assertEquals(HttpStatus.NO_CONTENT, sendRequest("/tournaments/" + endedId + "/end", null,
+                adminToken, HttpMethod.POST, restClient).getStatusCode());
+        long emptyId = start("Empty Open", adminToken);
+
+        JsonNode active = read("/tournaments", adminToken);
+
+        assertAll("Active tournaments",
+                () -> assertEquals(2, active.size(), "Ended tournaments should not be listed"),
+                () -> assertEquals(playedId, active.get(0).get("id").asLong()),
+                () -> assertEquals(seasonName, active.get(0).get("seasonName").asText()),
+                () -> assertEquals(3, active.get(0).get("flightCount").asInt()),
+                () -> assertEquals(6, active.get(0).get("playerCount").asInt()),
+                () -> assertEquals(emptyId, active.get(1).get("id").asLong()),
+                () -> assertEquals(0, active.get(1).get("flightCount").asInt()),
+                () -> assertEquals(0, active.get(1).get("playerCount").asInt())
+        );
+    }
+
+    /********************************** Utilities **********************************/
+    // another tournament on the course created by startTournament
+    private long start(String name, String token) throws Exception {
+        String tournament = "{\"name\":\"" + name + "\",\"season_name\":\"" + seasonName + "\"," +
+                "\"strategy_type\":\"STROKEPLAY\",\"courseName\":\"" + courseName + "\",\"handicapMultiplier\":1.0}";
+        ResponseEntity<String> response = sendRequest("/tournaments/start", tournament, token, HttpMethod.POST,
+                restClient);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        return objectMapper.readTree(response.getBody()).get("id").asLong();
+    }
+
+    private JsonNode read(String path, String token) throws Exception {
+        ResponseEntity<String> response = sendRequest(path, null, token, HttpMethod.GET, restClient);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return objectMapper.readTree(response.getBody());
+    }
+
+    // card of player{player} with the given first holes and par 4 on the rest
+    private String scores(int player, String firstHoles) {
+        return "{\"playerName\":\"player" + player + "\",\"holeScores\":[" + firstHoles +
+                ",4,4,4,4,4,4,4,4,4,4,4,4,4,4],\"courseName\":\"" + courseName + "\"}";
+    }
+
+    private int teamPoints(String teamName) {
+        return jdbcTemplate.queryForObject(
+                "SELECT ts.points FROM team_standing ts JOIN teams t ON t.id = ts.team_id WHERE t.name = ?",
+                Integer.class, teamName);
+    }
+}
@@ -0,0 +1,155 @@
+package com.pinewoods.score.tracker.controllers.tournament;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LiveScoringTest extends TournamentTestBase {
+    // Two birdies on a par 4 course for a scratch player: 38 Stableford points
+    private final int[] holes = {3, 3, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4, 4};
+
+    @Test
+    public void live_flight_shows_holes_played_and_stores_the_finished_flight() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+
+        ResponseEntity<String> started = sendRequest("/flights/live?tournamentId=" + tournamentId,
+                "[\"player0\",\"player1\"]", adminToken, HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, started.getStatusCode());
+        long liveFlightId = objectMapper.readTree(started.getBody()).get("id").asLong();
+
+        // player1's bogey on the first hole is corrected to a par at the end
+        for (int hole = 1; hole <= 17; hole++) {
+            String player1Strokes = hole == 1 ? "5" : String.valueOf(holes[hole - 1]);
+            recordHole(liveFlightId, hole, holes[hole - 1], player1Strokes, adminToken);
+        }
+        ResponseEntity<String> corrected = recordHole(liveFlightId, 1, holes[0], "4", adminToken);
+        JsonNode running = objectMapper.readTree(corrected.getBody()).get("cards");
+        JsonNode board = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/leaderboard",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+        int linkedBeforeLastHole = linkedFlights(tournamentId);
+
+        ResponseEntity<String> finished = recordHole(liveFlightId, 18, holes[17], "4", adminToken);
+        JsonNode stored = objectMapper.readTree(finished.getBody());
+        JsonNode finalBoard = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/leaderboard",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+        int linkedFlights = linkedFlights(tournamentId);
+
+        assertAll("Live flight",
+                () -> assertEquals(HttpStatus.OK, corrected.getStatusCode()),
+                () -> assertEquals(17, running.get(0).get("thru").asInt(), "player0 should be thru 17"),
+                () -> assertEquals(66, running.get(0).get("gross").asInt(), "player0 should have 66 strokes"),
+                () -> assertEquals(36, running.get(0).get("stableford").asInt(), "player0 should have 36 points"),
+                () -> assertEquals(2, running.get(0).get("birdies").asInt(), "player0 should have two birdies"),
+                () -> assertEquals(67, running.get(1).get("gross").asInt(), "The correction should replace the bogey"),
+                () -> assertEquals("player0", board.get(0).get("playerName").asText(), "player0 should lead"),
+                () -> assertEquals(17, board.get(0).get("thru").asInt(), "The board should show thru 17"),
+                () -> assertEquals(36, board.get(0).get("score").asInt(), "The board should show the running points"),
+                () -> assertEquals(0, linkedBeforeLastHole, "Nothing should be stored before the last hole"),
+                () -> assertFalse(stored.get("flightId").isNull(), "The finished flight should be stored"),
+                () -> assertEquals(1, linkedFlights, "The finished flight should be linked to the tournament"),
+                () -> assertEquals(18, finalBoard.get(0).get("thru").asInt(), "The finished card should replace it"),
+                () -> assertEquals(38, finalBoard.get(0).get("score").asInt(), "The card should be scored in full"),
+                () -> assertEquals(2, finalBoard.size(), "Each player should be on the board once")
+        );
+    }
+
+    @Test
+    public void live_flight_rejects_a_player_already_playing() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+
+        ResponseEntity<String> first = sendRequest("/flights/live?tournamentId=" + tournamentId,
+                "[\"player0\"]", adminToken, HttpMethod.POST, restClient);
+        ResponseEntity<String> second = sendRequest("/flights/live?tournamentId=" + tournamentId,
+                "[\"player1\",\"player0\"]", adminToken, HttpMethod.POST, restClient);
+        ResponseEntity<String> third = sendRequest("/flights/live?tournamentId=" + tournamentId,
+                "[\"player1\"]", adminToken, HttpMethod.POST, restClient);
+
+        assertEquals(HttpStatus.CREATED, first.getStatusCode());
+        assertEquals(HttpStatus.CONFLICT, second.getStatusCode());
+        assertEquals(HttpStatus.CREATED, third.getStatusCode(), "The rejected flight should release player1");
+    }
+
+    @Test
+    public void cancelled_live_flight_releases_its_players() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+
+        ResponseEntity<String> started = sendRequest("/flights/live?tournamentId=" + tournamentId,
+                "[\"player0\",\"player1\"]", adminToken, HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, started.getStatusCode());
+        long liveFlightId = objectMapper.readTree(started.getBody()).get("id").asLong();
+        recordHole(liveFlightId, 1, holes[0], "4", adminToken);
+
+        ResponseEntity<String> cancelled = sendRequest("/flights/live/" + liveFlightId, null, adminToken,
+                HttpMethod.DELETE, restClient);
+        JsonNode board = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/leaderboard",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+        ResponseEntity<String> cancelledAgain = sendRequest("/flights/live/" + liveFlightId, null, adminToken,
+                HttpMethod.DELETE, restClient);
+        ResponseEntity<String> holeAfterCancel = sendRequest("/flights/live/" + liveFlightId + "/holes/2",
+                "[{\"playerName\":\"player0\",\"strokes\":4}]", adminToken, HttpMethod.PATCH, restClient);
+        HttpStatus linked = HttpStatus.valueOf(
+                link(createFlight(0, adminToken), tournamentId, adminToken).getStatusCode().value());
+        int linkedFlights = awaitLinkedFlights(tournamentId, 1);
+
+        assertAll("Cancelled live flight",
+                () -> assertEquals(HttpStatus.NO_CONTENT, cancelled.getStatusCode()),
+                () -> assertEquals(0, board.size(), "The live entries should be taken off the board"),
+                () -> assertEquals(HttpStatus.NOT_FOUND, cancelledAgain.getStatusCode()),
+                () -> assertEquals(HttpStatus.NOT_FOUND, holeAfterCancel.getStatusCode()),
+                () -> assertEquals(HttpStatus.ACCEPTED, linked, "The players should be free to hand in a card"),
+                () -> assertEquals(1, linkedFlights)
+        );
+    }
+
+    @Test
+    public void live_flight_scores_a_custom_format_with_its_formulas() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken, "\"strategy_type\":\"CUSTOM\",\"customScoring\":" +
+                "{\"holeFormula\":\"clamp(2 - toPar, 0, 5)\",\"aggregate\":\"SUM\"," +
+                "\"totalFormula\":\"points + birdies\"}");
+
+        ResponseEntity<String> started = sendRequest("/flights/live?tournamentId=" + tournamentId,
+                "[\"player0\",\"player1\"]", adminToken, HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, started.getStatusCode());
+        long liveFlightId = objectMapper.readTree(started.getBody()).get("id").asLong();
+
+        recordHole(liveFlightId, 1, holes[0], "4", adminToken);
+        recordHole(liveFlightId, 2, holes[1], "4", adminToken);
+        JsonNode board = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/leaderboard",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+        for (int hole = 3; hole <= 18; hole++) {
+            recordHole(liveFlightId, hole, holes[hole - 1], "4", adminToken);
+        }
+        JsonNode finalBoard = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/leaderboard",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+
+        assertAll("Custom live scores",
+                () -> assertEquals(2, board.get(0).get("thru").asInt()),
+                () -> assertEquals(8, board.get(0).get("score").asInt(),
+                        "Two birdies should score 3 points each plus one per birdie"),
+                () -> assertEquals(4, board.get(1).get("score").asInt(), "Two pars should score 2 points each"),
+                () -> assertEquals(40, finalBoard.get(0).get("score").asInt(), "The finished card should score 40"),
+                () -> assertEquals(36, finalBoard.get(1).get("score").asInt(), "A round of pars should score 36")
+        );
+    }
+
+    /********************************** Utilities **********************************/
+    private ResponseEntity<String> recordHole(long liveFlightId, int hole, int player0Strokes, String player1Strokes,
+                                              String token) {
+        String results = "[{\"playerName\":\"player0\",\"strokes\":" + player0Strokes + "}," +
+                "{\"playerName\":\"player1\",\"strokes\":" + player1Strokes + "}]";
+        ResponseEntity<String> response = sendRequest("/flights/live/" + liveFlightId + "/holes/" + hole, results,
+                token, HttpMethod.PATCH, restClient);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response;
+    }
+}
@@ -0,0 +1,135 @@
+package com.pinewoods.score.tracker.controllers.tournament;
+
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentConcurrencyTest extends TournamentTestBase {
+    private final int threads = 8;
+
+    @Test
+    public void link_flights_concurrently_keeps_all_birdies() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+
+        // one flight per pair of players, one player of each team
+        List<Long> flightIds = new ArrayList<>();
+        for (int i = 0; i < playersPerTeam; i++) {
+            flightIds.add(createFlight(i, adminToken));
+        }
+
+        linkAtOnce(flightIds, tournamentId, adminToken, threads);
+        int linkedFlights = awaitLinkedFlights(tournamentId, flightIds.size());
+
+        int team1Birdies = teamBirdies("Team1");
+        int team2Birdies = teamBirdies("Team2");
+
+        assertAll("Concurrent flight links",
+                () -> assertEquals(flightIds.size(), linkedFlights, "Every flight should be linked"),
+                () -> assertEquals(playersPerTeam * 2, team1Birdies, "Team1 should keep every birdie"),
+                () -> assertEquals(playersPerTeam * 2, team2Birdies, "Team2 should keep every birdie")
+        );
+    }
+
+    @Test
+    public void link_hundreds_of_flights_concurrently_links_every_flight_once() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        int flights = 200;
+        addPlayers(flights * 2);
+
+        // each flight pairs a Team1 player with a Team2 player
+        List<Long> flightIds = new ArrayList<>();
+        for (int i = 0; i < flights; i++) {
+            flightIds.add(createFlight(flightOf(i * 2), adminToken));
+        }
+
+        // one submitter per flight, all queued on the tournament's single writer
+        linkAtOnce(flightIds, tournamentId, adminToken, flights);
+        int linkedFlights = awaitLinkedFlights(tournamentId, flights);
+
+        Integer distinctFlights = jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT flight_id) FROM tournament_flights WHERE tournament_id = ?",
+                Integer.class, tournamentId);
+        int team1Birdies = teamBirdies("Team1");
+        int team2Birdies = teamBirdies("Team2");
+
+        assertAll("Queued flight links",
+                () -> assertEquals(flights, linkedFlights, "Every flight should be linked"),
+                () -> assertEquals(flights, distinctFlights, "No flight should be linked twice"),
+                () -> assertEquals(flights * 2, team1Birdies, "Team1 should keep every birdie"),
+                () -> assertEquals(flights * 2, team2Birdies, "Team2 should keep every birdie")
+        );
+    }
+
+    @Test
+    public void link_after_the_tournament_ended_is_rejected() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        long flightId = createFlight(0, adminToken);
+
+        assertEquals(HttpStatus.NO_CONTENT, sendRequest("/tournaments/" + tournamentId + "/end", null, adminToken,
+                HttpMethod.POST, restClient).getStatusCode());
+        HttpStatus link = HttpStatus.valueOf(link(flightId, tournamentId, adminToken).getStatusCode().value());
+
+        assertEquals(HttpStatus.CONFLICT, link, "An ended tournament should not queue the flight");
+        assertEquals(0, linkedFlights(tournamentId));
+    }
+
+    @Test
+    public void link_a_second_card_of_a_player_is_rejected_before_it_is_queued() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        long first = createFlight(flightOf(0), adminToken);
+        long again = createFlight(flightOf(0), adminToken);
+        long other = createFlight(flightOf(2), adminToken);
+
+        // Whether the first card is still queued or already linked, the second one never gets a 202
+        HttpStatus firstLink = HttpStatus.valueOf(link(first, tournamentId, adminToken).getStatusCode().value());
+        HttpStatus secondLink = HttpStatus.valueOf(link(again, tournamentId, adminToken).getStatusCode().value());
+        HttpStatus otherLink = HttpStatus.valueOf(link(other, tournamentId, adminToken).getStatusCode().value());
+        int linked = awaitLinkedFlights(tournamentId, 2);
+
+        assertAll("Second card",
+                () -> assertEquals(HttpStatus.ACCEPTED, firstLink),
+                () -> assertEquals(HttpStatus.CONFLICT, secondLink, "A second card of the players should be rejected"),
+                () -> assertEquals(HttpStatus.ACCEPTED, otherLink, "Other players should still be queued"),
+                () -> assertEquals(2, linked),
+                () -> assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM tournament_flights " +
+                        "WHERE tournament_id = ? AND flight_id = ?", Integer.class, tournamentId, first))
+        );
+    }
+
+    /********************************** Utilities **********************************/
+    // releases every link at the same moment
+    private void linkAtOnce(List<Long> flightIds, long tournamentId, String token, int submitters) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(submitters);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<HttpStatus>> links = new ArrayList<>();
+        try {
+            for (Long flightId : flightIds) {
+                links.add(executor.submit(() -> {
+                    start.await();
+                    return HttpStatus.valueOf(link(flightId, tournamentId, token).getStatusCode().value());
+                }));
+            }
+            start.countDown();
+            for (Future<HttpStatus> link : links) {
+                assertEquals(HttpStatus.ACCEPTED, link.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.pinewoods.score.tracker.controllers.tournament;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentExportTest extends TournamentTestBase {
+
+    @Test
+    public void export_is_the_same_plain_gzipped_and_in_the_season_zip() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = playAndEnd(adminToken);
+
+        ResponseEntity<byte[]> plain = download("/tournaments/" + tournamentId + "/export", adminToken);
+        ResponseEntity<byte[]> gzipped = download("/tournaments/" + tournamentId + "/export?gzip=true", adminToken);
+        Map<String, JsonNode> season = unzip(download("/seasons/" + seasonName + "/export", adminToken).getBody());
+        JsonNode export = objectMapper.readTree(plain.getBody());
+
+        assertAll("Export",
+                () -> assertEquals("Test Open", export.get("name").asText()),
+                () -> assertEquals(seasonName, export.get("seasonName").asText()),
+                () -> assertEquals(2, export.get("flights").size()),
+                () -> assertEquals(2, export.get("flights").get(0).get("flights").size(), "Each flight has two cards"),
+                () -> assertEquals(4, export.get("awards").size(), "Every card ties for first and keeps its award"),
+                () -> assertTrue(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION).contains(".json.gz")),
+                () -> assertEquals(export, objectMapper.readTree(gunzip(gzipped.getBody())),
+                        "The gzip export should hold the plain export"),
+                () -> assertEquals(Map.of("tournament_export_" + tournamentId + ".json", export), season,
+                        "The season zip should hold one plain export per finished tournament")
+        );
+    }
+
+    @Test
+    public void import_restores_an_export_plain_gzipped_and_from_a_season_zip() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = playAndEnd(adminToken);
+        byte[] plain = download("/tournaments/" + tournamentId + "/export", adminToken).getBody();
+        byte[] gzipped = download("/tournaments/" + tournamentId + "/export?gzip=true", adminToken).getBody();
+        byte[] season = download("/seasons/" + seasonName + "/export", adminToken).getBody();
+        for (String target : List.of("Plain_Season", "Gzip_Season", "Zip_Season")) {
+            jdbcTemplate.update("INSERT INTO seasons (season_name, is_finished) VALUES (?, false)", target);
+        }
+
+        JsonNode plainImport = upload("/tournaments/import?seasonName=Plain_Season", plain, "export.json", adminToken);
+        JsonNode gzipImport = upload("/tournaments/import?seasonName=Gzip_Season", gzipped, "export.json.gz",
+                adminToken);
+        JsonNode zipImport = upload("/seasons/Zip_Season/import", season, "season.zip", adminToken);
+        JsonNode original = withoutIds(objectMapper.readTree(plain));
+
+        assertAll("Import",
+                () -> assertEquals(4, plainImport.get("scores").asInt()),
+                () -> assertEquals(2, gzipImport.get("flights").asInt()),
+                () -> assertEquals(1, zipImport.get("tournaments").asInt()),
+                () -> assertEquals(original, reexport("Plain_Season", adminToken), "A plain import should round-trip"),
+                () -> assertEquals(original, reexport("Gzip_Season", adminToken), "A gzip import should round-trip"),
+                () -> assertEquals(original, reexport("Zip_Season", adminToken), "A season import should round-trip")
+        );
+    }
+
+    /********************************** Utilities **********************************/
+    // Stableford tournament of two flights with two birdies on every card, ended so it can be exported
+    private long playAndEnd(String token) throws Exception {
+        long tournamentId = startTournament(token);
+        assertEquals(HttpStatus.CREATED, sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                batch(2), token, HttpMethod.POST, restClient).getStatusCode());
+        assertEquals(HttpStatus.NO_CONTENT, sendRequest("/tournaments/" + tournamentId + "/end", null, token,
+                HttpMethod.POST, restClient).getStatusCode());
+        return tournamentId;
+    }
+
+    private JsonNode upload(String path, byte[] content, String filename, String token) throws IOException {
+        MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        parts.add("file", new ByteArrayResource(content) {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+        });
+        ResponseEntity<String> response = restClient.post()
+                .uri(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(parts)
+                .retrieve()
+                .toEntity(String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return objectMapper.readTree(response.getBody());
+    }
+
+    // the only tournament of the season, exported again without its season and the new flight ids
+    private JsonNode reexport(String season, String token) throws IOException {
+        Map<String, JsonNode> entries = unzip(download("/seasons/" + season + "/export", token).getBody());
+        assertEquals(1, entries.size());
+        return withoutIds(entries.values().iterator().next());
+    }
+
+    private static JsonNode withoutIds(JsonNode export) {
+        ObjectNode copy = export.deepCopy();
+        copy.remove("seasonName");
+        for (JsonNode flight : copy.get("flights")) {
+            ((ObjectNode) flight).remove("id");
+        }
+        return copy;
+    }
+
+    private ResponseEntity<byte[]> download(String path, String token) {
+        ResponseEntity<byte[]> response = restClient.get()
+                .uri(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .toEntity(byte[].class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response;
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private Map<String, JsonNode> unzip(byte[] archive) throws IOException {
+        Map<String, JsonNode> entries = new LinkedHashMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                entries.put(entry.getName(), objectMapper.readTree(in.readAllBytes()));
+            }
+        }
+        return entries;
+    }
+}
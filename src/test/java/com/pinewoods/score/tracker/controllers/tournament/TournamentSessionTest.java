@@ -0,0 +1,341 @@
+package com.pinewoods.score.tracker.controllers.tournament;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.pinewoods.score.tracker.services.tournament.TournamentService;
+import com.pinewoods.score.tracker.services.tournament.TournamentSessionRestorer;
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentSessionTest extends TournamentTestBase {
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentSessionRestorer sessionRestorer;
+
+    @Test
+    public void restored_session_accepts_flights_after_a_restart() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        assertEquals(HttpStatus.ACCEPTED, link(createFlight(0, adminToken), tournamentId, adminToken).getStatusCode());
+        awaitLinkedFlights(tournamentId, 1);
+
+        // what a restart leaves behind: the tournament in the database, but no session in memory
+        clearSessions();
+        // player4 plays the flight linked after the restore, with the handicap frozen at the start
+        jdbcTemplate.update("UPDATE players SET handicap = 18 WHERE name = ?", "player4");
+        HttpStatus linkWithoutSession = HttpStatus.valueOf(
+                link(createFlight(1, adminToken), tournamentId, adminToken).getStatusCode().value());
+
+        sessionRestorer.restoreActiveSessions();
+        HttpStatus linkAfterRestore = HttpStatus.valueOf(
+                link(createFlight(2, adminToken), tournamentId, adminToken).getStatusCode().value());
+        int linkedFlights = awaitLinkedFlights(tournamentId, 2);
+        JsonNode leaderboard = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/leaderboard",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+
+        assertAll("Restored session",
+                () -> assertEquals(HttpStatus.CONFLICT, linkWithoutSession, "No session should accept flights"),
+                () -> assertEquals(HttpStatus.ACCEPTED, linkAfterRestore, "The restored session should accept flights"),
+                () -> assertEquals(2, linkedFlights, "Both accepted flights should be linked"),
+                () -> assertEquals(4, leaderboard.size(), "The board should hold the restored and the new cards"),
+                () -> assertEquals(38, leaderboard.get(0).get("score").asInt(),
+                        "Restored cards should be scored with the stored points map"),
+                () -> assertEquals(38, leaderboard.get(3).get("score").asInt(),
+                        "New cards should be scored with the frozen handicaps, not the current ones")
+        );
+    }
+
+    @Test
+    public void handicap_changed_mid_event_applies_only_after_a_refresh() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        assertEquals(HttpStatus.OK, sendRequest("/players/player0", "{\"handicap\":18.0}", adminToken,
+                HttpMethod.PUT, restClient).getStatusCode());
+
+        assertEquals(HttpStatus.ACCEPTED, link(createFlight(0, adminToken), tournamentId, adminToken).getStatusCode());
+        awaitLinkedFlights(tournamentId, 1);
+        int linkedScore = leaderboardScore(tournamentId, "player0", adminToken);
+        sendRequest("/tournaments/" + tournamentId + "/rescore", null, adminToken, HttpMethod.POST, restClient);
+        int rescoredScore = leaderboardScore(tournamentId, "player0", adminToken);
+        sendRequest("/tournaments/" + tournamentId + "/rescore?refreshHandicaps=true", null, adminToken,
+                HttpMethod.POST, restClient);
+        int refreshedScore = leaderboardScore(tournamentId, "player0", adminToken);
+
+        assertAll("Frozen handicap",
+                () -> assertEquals(38, linkedScore, "The card should be scored with the handicap frozen at the start"),
+                () -> assertEquals(38, rescoredScore, "A re-score should keep the frozen handicap"),
+                // A stroke on every hole: net eagles on the birdie holes and net birdies elsewhere
+                () -> assertEquals(2 * 4 + 16 * 3, refreshedScore, "A refresh should take the new handicap")
+        );
+    }
+
+    @Test
+    public void leaderboard_keeps_every_card_across_scoreboard_chunks() throws Exception {
+        // Two rows past two chunks of 1024, so rows sit on both sides of each chunk and of the chunk table's growth
+        int cards = 2 * 1024 + 2;
+        addPlayers(cards);
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+
+        // player{p} opens with a birdie, a par or a bogey by p % 3, so every column differs between neighbours.
+        // Sent in two requests, each within the batch limit.
+        for (int[] players : new int[][]{{0, 1024}, {1024, cards}}) {
+            StringBuilder flights = new StringBuilder("[");
+            for (int p = players[0]; p < players[1]; p += 2) {
+                flights.append(p == players[0] ? "" : ",").append("[").append(openingCard(p)).append(",")
+                        .append(openingCard(p + 1)).append("]");
+            }
+            assertEquals(HttpStatus.CREATED, sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                    flights.append("]").toString(), adminToken, HttpMethod.POST, restClient).getStatusCode());
+        }
+        JsonNode leaderboard = objectMapper.readTree(sendRequest("/tournaments/" + seasonName + "/Test Open/leaderBoard",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+
+        Map<String, JsonNode> byPlayer = new HashMap<>();
+        leaderboard.forEach(entry -> byPlayer.put(entry.get("playerName").asText(), entry));
+        assertEquals(cards, leaderboard.size(), "Every card should be on the board once");
+        assertEquals(cards, byPlayer.size(), "Every player should have one card");
+        for (int p = 0; p < cards; p++) {
+            JsonNode entry = byPlayer.get("player" + p);
+            int opening = 3 + p % 3;
+            assertAll("Card of player" + p,
+                    () -> assertEquals(opening, entry.get("holeScores").get(0).asInt()),
+                    () -> assertEquals(18, entry.get("holeScores").size()),
+                    () -> assertEquals(40 - opening, entry.get("score").asInt()),
+                    () -> assertEquals(opening == 3 ? 1 : 0, entry.get("birdies").asInt()),
+                    () -> assertEquals(courseName, entry.get("courseName").asText())
+            );
+        }
+    }
+
+    @Test
+    public void expected_scores_round_frozen_handicaps_and_truncate_unfrozen_ones() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        jdbcTemplate.update("UPDATE players SET handicap = 10.6 WHERE name = ?", "player0");
+        long tournamentId = startTournament(adminToken);
+        // Joins after the start, so has no frozen handicap
+        jdbcTemplate.update("INSERT INTO players (name, password, role, handicap, team_id) " +
+                "SELECT 'latecomer', password, role, 10.6, team_id FROM players WHERE name = ?", "player0");
+        long frozenId = playerId("player0");
+        long lateId = playerId("latecomer");
+
+        JsonNode field = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/expected-scores",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+        JsonNode frozen = null;
+        for (JsonNode entry : field) {
+            if (entry.get("playerId").asLong() == frozenId) {
+                frozen = entry;
+            }
+        }
+        JsonNode frozenEntry = frozen;
+        JsonNode frozenScores = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/" + frozenId +
+                "/score", null, adminToken, HttpMethod.GET, restClient).getBody());
+        JsonNode lateScores = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/" + lateId +
+                "/score", null, adminToken, HttpMethod.GET, restClient).getBody());
+
+        assertAll("Expected scores",
+                () -> assertNotNull(frozenEntry, "Entrants at the start should be in the field"),
+                () -> assertEquals(11, frozenEntry.get("playingHandicap").asInt(), "10.6 should be rounded"),
+                () -> assertEquals(72 + 11, sum(frozenEntry.get("netPars"))),
+                () -> assertEquals(frozenEntry.get("netPars"), frozenScores,
+                        "A frozen entrant should get the same net pars from both endpoints"),
+                () -> assertFalse(field.findValuesAsText("playerId").contains(String.valueOf(lateId)),
+                        "Players without a frozen handicap should not be in the field"),
+                () -> assertEquals(72 + 10, sum(lateScores), "An unfrozen 10.6 should be truncated")
+        );
+    }
+
+    @Test
+    public void handicaps_are_frozen_for_players_on_a_team_only() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        jdbcTemplate.update("INSERT INTO players (name, password, role, handicap) " +
+                "SELECT 'free agent', password, role, 7.0 FROM players WHERE name = ?", "player0");
+        long tournamentId = startTournament(adminToken);
+
+        JsonNode field = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/expected-scores",
+                null, adminToken, HttpMethod.GET, restClient).getBody());
+        int teamPlayers = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM players WHERE team_id IS NOT NULL", Integer.class);
+
+        assertAll("Frozen field",
+                () -> assertEquals(teamPlayers, field.size(), "Every player on a team should be frozen"),
+                () -> assertFalse(field.findValuesAsText("playerName").contains("free agent"),
+                        "Players without a team should not be frozen")
+        );
+    }
+
+    @Test
+    public void rescore_corrects_the_team_birdies_added_at_link_time() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        assertEquals(HttpStatus.CREATED, sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                batch(playersPerTeam), adminToken, HttpMethod.POST, restClient).getStatusCode());
+        int birdiesBefore = teamBirdies("Team1");
+
+        // the first hole was a par 3, so the 3 played there is no birdie after all
+        String course = "{\"name\":\"" + courseName + "\"," +
+                "\"pars\":[3,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4]," +
+                "\"indexes\":[1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18]," +
+                "\"slopeRating\":113,\"courseRating\":72}";
+        assertEquals(HttpStatus.OK, sendRequest("/courses/" + courseName, course, adminToken, HttpMethod.PUT,
+                restClient).getStatusCode());
+        ResponseEntity<String> rescored = sendRequest("/tournaments/" + tournamentId + "/rescore", null,
+                adminToken, HttpMethod.POST, restClient);
+
+        assertAll("Re-scored birdies",
+                () -> assertEquals(HttpStatus.OK, rescored.getStatusCode()),
+                () -> assertEquals(playersPerTeam * 2, birdiesBefore, "Each Team1 card should add two birdies"),
+                () -> assertEquals(playersPerTeam, teamBirdies("Team1"), "Each Team1 card should keep one birdie"),
+                () -> assertEquals(playersPerTeam, teamBirdies("Team2"), "Each Team2 card should keep one birdie")
+        );
+    }
+
+    @Test
+    public void leaderboard_stream_sends_snapshot_delta_and_closed() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/tournaments/" + tournamentId + "/leaderboard/stream"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                .build();
+
+        List<String> events = new ArrayList<>();
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (HttpClient client = HttpClient.newHttpClient()) {
+                Iterator<String> lines = client.send(request, HttpResponse.BodyHandlers.ofLines()).body().iterator();
+                events.add(nextEvent(lines));
+
+                assertEquals(HttpStatus.ACCEPTED,
+                        link(createFlight(0, adminToken), tournamentId, adminToken).getStatusCode());
+                events.add(nextEvent(lines));
+
+                assertEquals(HttpStatus.NO_CONTENT, sendRequest("/tournaments/" + tournamentId + "/end", null,
+                        adminToken, HttpMethod.POST, restClient).getStatusCode());
+                events.add(nextEvent(lines));
+                // the stream is completed after the closed event
+                while (lines.hasNext()) {
+                    lines.next();
+                }
+            }
+        });
+
+        assertEquals(List.of("snapshot", "delta", "closed"), events);
+    }
+
+    @Test
+    public void start_needs_a_points_map_for_stableford_only() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken, "\"strategy_type\":\"STROKEPLAY\"");
+
+        String stableford = "{\"name\":\"Second Open\",\"season_name\":\"" + seasonName + "\"," +
+                "\"strategy_type\":\"STABLEFORD\",\"courseName\":\"" + courseName + "\",\"handicapMultiplier\":1.0}";
+        ResponseEntity<String> withoutPoints = sendRequest("/tournaments/start", stableford, adminToken,
+                HttpMethod.POST, restClient);
+
+        assertTrue(tournamentService.isSessionActive(tournamentId), "Stroke play should start without points");
+        assertEquals(HttpStatus.BAD_REQUEST, withoutPoints.getStatusCode(), "Stableford should need its points");
+    }
+
+    @Test
+    public void tournament_etag_changes_when_a_player_is_renamed() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        assertEquals(HttpStatus.ACCEPTED, link(createFlight(0, adminToken), tournamentId, adminToken).getStatusCode());
+        awaitLinkedFlights(tournamentId, 1);
+        String path = "/" + seasonName + "/Test Open";
+
+        String eTag = getTournament(path, null, adminToken).getHeaders().getETag();
+        HttpStatus unchanged = HttpStatus.valueOf(getTournament(path, eTag, adminToken).getStatusCode().value());
+        assertEquals(HttpStatus.OK, sendRequest("/players/player0", "{\"newName\":\"renamed0\"}", adminToken,
+                HttpMethod.PUT, restClient).getStatusCode());
+        ResponseEntity<String> renamed = getTournament(path, eTag, adminToken);
+
+        assertAll("Tournament ETag",
+                () -> assertEquals(HttpStatus.NOT_MODIFIED, unchanged, "The tag should match before the rename"),
+                () -> assertEquals(HttpStatus.OK, renamed.getStatusCode(), "The rename should change the tag"),
+                () -> assertTrue(renamed.getBody().contains("renamed0"), "The new name should be shown")
+        );
+    }
+
+    /********************************** Utilities **********************************/
+    private long playerId(String name) {
+        return jdbcTemplate.queryForObject("SELECT id FROM players WHERE name = ?", Long.class, name);
+    }
+
+    private static int sum(JsonNode values) {
+        int sum = 0;
+        for (JsonNode value : values) {
+            sum += value.asInt();
+        }
+        return sum;
+    }
+
+    private String openingCard(int player) {
+        return "{\"playerName\":\"player" + player + "\",\"holeScores\":[" + (3 + player % 3) +
+                ",4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4],\"courseName\":\"" + courseName + "\"}";
+    }
+
+    private int leaderboardScore(long tournamentId, String playerName, String token) throws Exception {
+        JsonNode leaderboard = objectMapper.readTree(sendRequest("/tournaments/" + tournamentId + "/leaderboard",
+                null, token, HttpMethod.GET, restClient).getBody());
+        for (JsonNode entry : leaderboard) {
+            if (entry.get("playerName").asText().equals(playerName)) {
+                return entry.get("score").asInt();
+            }
+        }
+        throw new AssertionError(playerName + " is not on the leaderboard " + leaderboard);
+    }
+
+    private ResponseEntity<String> getTournament(String path, String ifNoneMatch, String token) {
+        return restClient.get()
+                .uri("/tournaments" + path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .headers(headers -> {
+                    if (ifNoneMatch != null) {
+                        headers.setIfNoneMatch(ifNoneMatch);
+                    }
+                })
+                .exchange((req, res) -> ResponseEntity.status(res.getStatusCode()).headers(res.getHeaders())
+                        .body(res.bodyTo(String.class)));
+    }
+
+    // name of the next server-sent event, skipping its other fields
+    private static String nextEvent(Iterator<String> lines) {
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (line.startsWith("event:")) {
+                return line.substring("event:".length());
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void clearSessions() {
+        TournamentService target = AopTestUtils.getUltimateTargetObject(tournamentService);
+        ((Map<Long, ?>) ReflectionTestUtils.getField(target, "activeStrategies")).clear();
+        ((Map<Long, ?>) ReflectionTestUtils.getField(target, "leaderboards")).clear();
+    }
+}
@@ -0,0 +1,136 @@
+package com.pinewoods.score.tracker.controllers.tournament;
+
+import com.pinewoods.score.tracker.utilities.RoundTripCounter;
+import com.pinewoods.score.tracker.utilities.TournamentTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(WriteRoundTripTest.CountingConfig.class)
+public class WriteRoundTripTest extends TournamentTestBase {
+    @TestConfiguration
+    static class CountingConfig {
+        @Bean
+        static RoundTripCounter roundTripCounter() {
+            return new RoundTripCounter();
+        }
+    }
+
+    @Autowired
+    private RoundTripCounter roundTrips;
+
+    @Test
+    public void create_flight_sends_its_scores_as_one_batch() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        int flights = 10;
+
+        roundTrips.reset();
+        for (int i = 0; i < flights; i++) {
+            ResponseEntity<String> response = sendRequest("/flights", flight(i), adminToken, HttpMethod.POST,
+                    restClient);
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        }
+
+        // one insert per table per flight, and ids come from blocks of the sequences
+        assertAll("Round trips of " + flights + " flights of two scores",
+                () -> assertEquals(flights, roundTrips.count("insert into flights")),
+                () -> assertEquals(flights, roundTrips.count("insert into flight_scores")),
+                () -> assertTrue(roundTrips.count("select nextval") < flights, "Ids should be allocated in blocks")
+        );
+    }
+
+    @Test
+    public void import_tournament_sends_one_batch_per_table() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        int flights = 120;
+
+        roundTrips.reset();
+        ResponseEntity<String> response = importTournament(export(flights), adminToken);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        Integer storedScores = jdbcTemplate.queryForObject("SELECT count(*) FROM flight_scores", Integer.class);
+        assertAll("Round trips of an import of " + flights + " flights",
+                () -> assertEquals(flights * 2, storedScores),
+                () -> assertEquals(1, roundTrips.count("insert into flights")),
+                () -> assertEquals(1, roundTrips.count("insert into flight_scores")),
+                () -> assertEquals(1, roundTrips.count("insert into tournament_flights")),
+                () -> assertEquals(2, roundTrips.count("select nextval(?::regclass)"), "One id query per table")
+        );
+    }
+
+    @Test
+    public void end_tournament_writes_awards_and_standings_in_batches() throws Exception {
+        String adminToken = loginAndGetToken(adminUsername, adminPassword);
+        long tournamentId = startTournament(adminToken);
+        ResponseEntity<String> created = sendRequest("/flights/batch?tournamentId=" + tournamentId,
+                batch(playersPerTeam), adminToken, HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+
+        roundTrips.reset();
+        ResponseEntity<String> response = sendRequest("/tournaments/" + tournamentId + "/end", null, adminToken,
+                HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+
+        // every player ties for first, so each one gets an award
+        Integer awards = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tournament_awards WHERE tournament_id = ?", Integer.class, tournamentId);
+        assertAll("Round trips of finalizing the standings",
+                () -> assertEquals(playersPerTeam * 2, awards),
+                () -> assertEquals(1, roundTrips.count("insert into tournament_awards")),
+                () -> assertEquals(1, roundTrips.count("insert into team_standing"))
+        );
+    }
+
+    /********************************** Utilities **********************************/
+    // export of a finished tournament in the format written by the exporter
+    private String export(int flights) {
+        StringBuilder export = new StringBuilder("{\"name\":\"Imported Open\",\"awards\":{},")
+                .append("\"seasonName\":\"").append(seasonName).append("\",")
+                .append("\"strategyName\":\"STABLEFORD\",\"flights\":[");
+        for (int i = 0; i < flights; i++) {
+            int team1Player = (i % playersPerTeam) * 2;
+            export.append(i == 0 ? "" : ",")
+                    .append("{\"date\":").append(System.currentTimeMillis()).append(",\"flights\":[")
+                    .append(card(team1Player)).append(",").append(card(team1Player + 1))
+                    .append("],\"id\":").append(i + 1).append("}");
+        }
+        return export.append("]}").toString();
+    }
+
+    private String card(int player) {
+        return "{\"playerName\":\"player" + player + "\",\"score\":36,\"birdies\":2,\"holeScores\":" + card +
+                ",\"courseName\":\"" + courseName + "\"}";
+    }
+
+    private ResponseEntity<String> importTournament(String export, String token) {
+        MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        parts.add("file", new ByteArrayResource(export.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public String getFilename() {
+                return "tournament_export.json";
+            }
+        });
+        parts.add("seasonName", seasonName);
+        return restClient.post()
+                .uri("/tournaments/import")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(parts)
+                .exchange((req, res) -> ResponseEntity.status(res.getStatusCode()).body(res.bodyTo(String.class)));
+    }
+}
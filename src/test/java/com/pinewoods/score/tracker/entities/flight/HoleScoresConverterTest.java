@@ -0,0 +1,58 @@
+package com.pinewoods.score.tracker.entities.flight;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HoleScoresConverterTest {
+    private final HoleScoresConverter converter = new HoleScoresConverter();
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 4, 127, 128, 200, HoleScoresConverter.MAX_STROKES})
+    public void strokes_round_trip_through_one_unsigned_byte(int strokes) {
+        byte[] packed = converter.convertToDatabaseColumn(List.of(strokes));
+
+        assertEquals(1, packed.length);
+        assertEquals(List.of(strokes), converter.convertToEntityAttribute(packed));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 9, 18, 19, 36})
+    public void cards_keep_their_number_of_holes(int holes) {
+        List<Integer> card = new ArrayList<>(Collections.nCopies(holes, 4));
+        if (holes > 0) {
+            card.set(0, 3);
+        }
+
+        byte[] packed = converter.convertToDatabaseColumn(card);
+
+        assertEquals(holes, packed.length, "One byte per hole");
+        assertEquals(card, converter.convertToEntityAttribute(packed));
+    }
+
+    @Test
+    public void null_stays_null() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-1, HoleScoresConverter.MAX_STROKES + 1, Integer.MAX_VALUE, Integer.MIN_VALUE})
+    public void strokes_that_do_not_fit_a_byte_are_rejected(int strokes) {
+        assertThrows(IllegalArgumentException.class,
+                () -> converter.convertToDatabaseColumn(List.of(4, strokes, 4)));
+    }
+
+    @Test
+    public void a_missing_hole_is_rejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> converter.convertToDatabaseColumn(Arrays.asList(4, null, 4)));
+    }
+}
@@ -0,0 +1,95 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+import com.pinewoods.score.tracker.entities.admin.Player;
+import com.pinewoods.score.tracker.entities.course.Course;
+import com.pinewoods.score.tracker.entities.flight.Flight;
+import com.pinewoods.score.tracker.entities.flight.FlightScore;
+import com.pinewoods.score.tracker.entities.tournament.ScoringDefinition;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.course.CompiledCourseCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CustomScoringStrategyTest {
+    private static final long COURSE_ID = 1L;
+    private static final Map<Integer, Integer> STABLEFORD_POINTS = Map.of(-3, 5, -2, 4, -1, 3, 0, 2, 1, 1, 2, 0);
+
+    private final CompiledCourse course = CompiledCourse.of(Course.builder()
+            .id(COURSE_ID)
+            .name("Test Course")
+            .pars(new ArrayList<>(List.of(4, 4, 3, 5, 4, 4, 3, 4, 5, 4, 3, 4, 5, 4, 4, 3, 4, 5)))
+            .indexes(new ArrayList<>(List.of(7, 1, 15, 11, 3, 13, 17, 5, 9, 8, 16, 2, 12, 6, 14, 18, 4, 10)))
+            .slopeRating(125)
+            .courseRating(71.4)
+            .build());
+
+    // serves the course without a repository
+    private final CompiledCourseCache compiledCourses = new CompiledCourseCache(null, null) {
+        @Override
+        public CompiledCourse get(Long courseId) {
+            return course;
+        }
+    };
+
+    @Test
+    public void custom_stableford_scores_every_card_like_stableford() {
+        Random random = new Random(42);
+        Map<Long, Integer> handicaps = new HashMap<>();
+        List<Flight> flights = new ArrayList<>();
+        for (int f = 0; f < 50; f++) {
+            Flight flight = Flight.builder().id((long) f).date(new Date()).build();
+            for (int p = 0; p < 4; p++) {
+                long playerId = f * 4L + p;
+                // plus handicaps up to 40, with cards from eagles to blow-ups
+                handicaps.put(playerId, random.nextInt(45) - 4);
+                List<Integer> holes = new ArrayList<>(CompiledCourse.HOLES);
+                for (int hole = 0; hole < CompiledCourse.HOLES; hole++) {
+                    holes.add(Math.max(1, course.par(hole) + random.nextInt(7) - 2));
+                }
+                flight.getFlightScores().add(FlightScore.builder()
+                        .player(Player.builder().id(playerId).name("player" + playerId).build())
+                        .holeScores(holes)
+                        .flight(flight)
+                        .build());
+            }
+            flights.add(flight);
+        }
+
+        IScoringStrategy stableford = new StablefordScoringStrategy(COURSE_ID, STABLEFORD_POINTS, 1.0, null,
+                compiledCourses);
+        IScoringStrategy custom = new CustomScoringStrategy(COURSE_ID,
+                ScoringDefinition.builder().holeFormula("clamp(2 - toPar, 0, 5)").build(), 1.0, null,
+                compiledCourses);
+        PlayingHandicapTable table = PlayingHandicapTable.of(handicaps);
+        stableford.setPlayingHandicaps(table);
+        custom.setPlayingHandicaps(table);
+
+        for (Flight flight : flights) {
+            List<FlightScore> expected = stableford.calculateScores(flight).getFlightScores();
+            List<FlightScore> actual = custom.calculateScores(flight).getFlightScores();
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore(),
+                        "Score of " + expected.get(i).getPlayer().getName());
+                assertEquals(expected.get(i).getBirdies(), actual.get(i).getBirdies());
+            }
+        }
+
+        // and the same running points hole by hole
+        LiveCard stablefordCard = stableford.startLiveCard(0, "player0");
+        LiveCard customCard = custom.startLiveCard(0, "player0");
+        List<Integer> holes = flights.getFirst().getFlightScores().getFirst().getHoleScores();
+        for (int hole = 0; hole < CompiledCourse.HOLES; hole++) {
+            stablefordCard.record(hole, holes.get(hole));
+            customCard.record(hole, holes.get(hole));
+            assertEquals(stableford.livePoints(stablefordCard), custom.livePoints(customCard), "Thru " + (hole + 1));
+        }
+    }
+}
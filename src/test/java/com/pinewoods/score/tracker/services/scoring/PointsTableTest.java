@@ -0,0 +1,43 @@
+package com.pinewoods.score.tracker.services.scoring;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointsTableTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            // clamped to the first and last entry
+            "-5, 4", "-2, 4", "2, 0", "7, 0",
+            // entries
+            "-1, 3", "1, 1",
+            // gaps score like the nearest lower entry
+            "0, 3",
+    })
+    public void points_are_looked_up_clamped_and_gaps_filled_from_below(int diff, int expected) {
+        PointsTable table = PointsTable.of(Map.of(-2, 4, -1, 3, 1, 1, 2, 0));
+
+        assertEquals(expected, table.pointsFor(diff));
+    }
+
+    @Test
+    public void a_wide_gap_is_filled_from_its_lower_entry() {
+        PointsTable table = PointsTable.of(Map.of(-3, 6, 3, 0));
+
+        for (int diff = -3; diff < 3; diff++) {
+            assertEquals(6, table.pointsFor(diff), "Difference " + diff);
+        }
+        assertEquals(0, table.pointsFor(3));
+    }
+
+    @Test
+    public void an_empty_map_is_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> PointsTable.of(Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> PointsTable.of(null));
+    }
+}
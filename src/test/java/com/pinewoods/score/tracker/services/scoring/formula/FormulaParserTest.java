@@ -0,0 +1,106 @@
+package com.pinewoods.score.tracker.services.scoring.formula;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormulaParserTest {
+    private static final Map<String, Integer> SLOTS = Map.of("a", 0, "b", 1, "c", 2);
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            // left associative
+            "a - b - c; 5",
+            "a / b * c; 15",
+            "a - (b - c); 11",
+            // multiplication binds tighter than addition
+            "a + b * c; 16",
+            "(a + b) * c; 36",
+            // unary minus
+            "-a; -10",
+            "- -a; 10",
+            "-a * -b; 20",
+            "b - -c; 5",
+            "a % c + 1; 2",
+    })
+    public void operators_follow_precedence_and_associativity(String formula, int expected) {
+        assertEquals(expected, evaluate(formula, 10, 2, 3));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "a < b; 1", "b < a; 0", "a < a; 0",
+            "a <= b; 1", "a <= a; 1", "b <= a; 0",
+            "a > b; 0", "b > a; 1", "a > a; 0",
+            "a >= b; 0", "a >= a; 1", "b >= a; 1",
+            "a == a; 1", "a == b; 0",
+            "a != b; 1", "a != a; 0",
+            // comparisons take whole sums on both sides
+            "a + 1 <= b; 1", "a + 2 <= b; 0",
+    })
+    public void comparisons_yield_one_or_zero(String formula, int expected) {
+        assertEquals(expected, evaluate(formula, 1, 2, 0));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {"a / c; 0", "a % c; 0", "a / (b - b); 0", "(a / c) + 1; 1"})
+    public void division_and_remainder_by_zero_yield_zero(String formula, int expected) {
+        assertEquals(expected, evaluate(formula, 7, 2, 0));
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "min(a, b); 2",
+            "min(a, b, c, 4); -3",
+            "max(a, b); 7",
+            "max(c, b, a, 1); 7",
+            "abs(c); 3",
+            "abs(a); 7",
+            "clamp(a, 0, 5); 5",
+            "clamp(c, 0, 5); 0",
+            "clamp(b, 0, 5); 2",
+            "if(a > b, a, b); 7",
+            "if(a < b, a, b); 2",
+            "if(0, 1 / 0, c); -3",
+    })
+    public void functions_evaluate(String formula, int expected) {
+        assertEquals(expected, evaluate(formula, 7, 2, -3));
+    }
+
+    @Test
+    public void whitespace_is_ignored() {
+        assertEquals(evaluate("max(a,b)+c*2", 1, 2, 3), evaluate("  max ( a , b ) +  c * 2 ", 1, 2, 3));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            // argument counts
+            "min(a)", "max()", "abs(a, b)", "clamp(a, b)", "if(a, b)", "if(a, b, c, a)",
+            // unknown names
+            "d + 1", "pow(a, 2)",
+            // trailing or missing input
+            "a b", "a + 1)", "(a + 1", "a +", "", "a <",
+            // out of range literal
+            "2147483648",
+    })
+    public void invalid_formulas_are_rejected(String formula) {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> FormulaParser.compile(formula, SLOTS));
+        assertTrue(e.getMessage().contains("in formula: " + formula), "The message should quote the formula");
+    }
+
+    @Test
+    public void largest_integer_literal_is_accepted() {
+        assertEquals(Integer.MAX_VALUE, evaluate("2147483647", 0, 0, 0));
+    }
+
+    /********************************** Utilities **********************************/
+    private static int evaluate(String formula, int a, int b, int c) {
+        return FormulaParser.compile(formula, SLOTS).evaluate(new int[]{a, b, c});
+    }
+}
@@ -0,0 +1,118 @@
+package com.pinewoods.score.tracker.services.scoring.formula;
+
+import com.pinewoods.score.tracker.entities.course.Course;
+import com.pinewoods.score.tracker.entities.tournament.ScoringDefinition;
+import com.pinewoods.score.tracker.services.course.CompiledCourse;
+import com.pinewoods.score.tracker.services.scoring.LiveCard;
+import com.pinewoods.score.tracker.services.scoring.ScoringKernel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoringFormulaTest {
+    // Par 72 of par 4 holes, stroke index = hole number
+    private final CompiledCourse course = CompiledCourse.of(Course.builder()
+            .id(1L)
+            .name("Test Course")
+            .pars(new ArrayList<>(Collections.nCopies(CompiledCourse.HOLES, 4)))
+            .indexes(new ArrayList<>(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18)))
+            .slopeRating(113)
+            .courseRating(72)
+            .build());
+
+    @Test
+    public void max_aggregate_takes_the_best_hole_after_the_hole_cap() {
+        // an eagle, scoring 4 before the cap
+        List<Integer> holes = card(2);
+
+        assertEquals(4, score(definition("2 - toPar", "MAX", null, null, null), holes, 0));
+        assertEquals(2, score(definition("2 - toPar", "MAX", null, 2, null), holes, 0));
+    }
+
+    @Test
+    public void min_aggregate_takes_the_worst_hole() {
+        // a triple bogey, scoring -1
+        List<Integer> holes = card(7);
+
+        assertEquals(-1, score(definition("2 - toPar", "min", null, null, null), holes, 0));
+        assertEquals(-1, score(definition("2 - toPar", "MIN", null, 5, null), holes, 0));
+    }
+
+    @Test
+    public void total_cap_applies_after_the_total_formula() {
+        List<Integer> pars = card();
+
+        assertEquals(36, score(definition("2 - toPar", null, null, null, null), pars, 0));
+        assertEquals(30, score(definition("2 - toPar", null, null, null, 30), pars, 0));
+        assertEquals(30, score(definition("2 - toPar", null, "points * 2", null, 30), pars, 0));
+    }
+
+    @Test
+    public void total_formula_sees_the_card_totals() {
+        // a birdie and a double bogey, 73 gross
+        List<Integer> holes = card(3, 6);
+
+        assertEquals(73, score(definition(null, null, "gross", null, null), holes, 0));
+        assertEquals(63, score(definition(null, null, "net", null, null), holes, 10));
+        assertEquals(72, score(definition(null, null, "par", null, null), holes, 0));
+        assertEquals(10, score(definition(null, null, "handicap", null, null), holes, 10));
+        assertEquals(1, score(definition(null, null, "birdies", null, null), holes, 0));
+    }
+
+    @Test
+    public void hole_formula_sees_the_hole() {
+        // handicap 20: two strokes on holes 1 and 2, one on the others, so hole 2 is a net birdie
+        List<Integer> holes = card(5);
+
+        assertEquals(171, score(definition("hole", null, null, null, null), holes, 20));
+        assertEquals(171, score(definition("index", null, null, null, null), holes, 20));
+        assertEquals(20, score(definition("strokes", null, null, null, null), holes, 20));
+        assertEquals(2, score(definition("strokes", "MAX", null, null, null), holes, 20));
+        assertEquals(-2, score(definition("toPar", "MIN", null, null, null), holes, 20));
+        assertEquals(53, score(definition("net", null, null, null, null), holes, 20));
+    }
+
+    @Test
+    public void card_in_progress_is_scored_over_the_holes_played() {
+        LiveCard card = new LiveCard(1, "player0", course, 0, null);
+        card.record(0, 3);
+        card.record(4, 4);
+        ScoringFormula formula = ScoringFormula.compile(definition("2 - toPar", null, "points * 10 + par", null, null));
+
+        // 3 + 2 points over a par of 8
+        assertEquals(58, formula.score(card));
+    }
+
+    @Test
+    public void definition_without_formulas_is_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> ScoringFormula.compile(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> ScoringFormula.compile(definition(" ", null, null, null, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> ScoringFormula.compile(definition("toPar", "AVERAGE", null, null, null)));
+    }
+
+    /********************************** Utilities **********************************/
+    // the first holes as given, pars after them
+    private static List<Integer> card(int... firstHoles) {
+        List<Integer> holes = new ArrayList<>(Collections.nCopies(CompiledCourse.HOLES, 4));
+        for (int i = 0; i < firstHoles.length; i++) {
+            holes.set(i, firstHoles[i]);
+        }
+        return holes;
+    }
+
+    private static ScoringDefinition definition(String hole, String aggregate, String total, Integer holeMax,
+                                                Integer totalMax) {
+        return new ScoringDefinition(hole, aggregate, total, holeMax, totalMax);
+    }
+
+    private int score(ScoringDefinition definition, List<Integer> holes, int handicap) {
+        return ScoringFormula.compile(definition)
+                .score(holes, course, handicap, ScoringKernel.score(holes, course, handicap, null));
+    }
+}
@@ -34,6 +34,8 @@ public class HttpUtilities {
             requestSpec = restClient.post().uri(path).contentType(MediaType.APPLICATION_JSON).body(body);
         } else if (method.equals(HttpMethod.PUT)) {
             requestSpec = restClient.put().uri(path).contentType(MediaType.APPLICATION_JSON).body(body);
+        } else if (method.equals(HttpMethod.PATCH)) {
+            requestSpec = restClient.patch().uri(path).contentType(MediaType.APPLICATION_JSON).body(body);
         } else if (method.equals(HttpMethod.GET)) {
             requestSpec = restClient.get().uri(path);
         } else if (method.equals(HttpMethod.DELETE)) {
@@ -0,0 +1,81 @@
+package com.pinewoods.score.tracker.utilities;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Wraps the application's data source and records the SQL of every statement execution, i.e. every round trip
+ * to the database. A JDBC batch counts once however many rows it holds.
+ */
+public class RoundTripCounter implements BeanPostProcessor {
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final List<String> roundTrips = new CopyOnWriteArrayList<>();
+
+    public void reset() {
+        roundTrips.clear();
+    }
+
+    /**
+     * @param sqlPrefix start of the statement, e.g. {@code "insert into flight_scores"}, case-insensitive
+     * @return number of round trips for matching statements since the last reset
+     */
+    public long count(String sqlPrefix) {
+        String prefix = sqlPrefix.toLowerCase(Locale.ROOT);
+        return roundTrips.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, null);
+        }
+        return bean;
+    }
+
+    private <T> T proxy(Class<T> type, T target, String preparedSql) {
+        return type.cast(Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> {
+                    if (EXECUTE_METHODS.contains(method.getName())) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                        roundTrips.add(sql == null ? "" : sql.trim().toLowerCase(Locale.ROOT));
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    return wrap(result, method.getName(), args);
+                }));
+    }
+
+    private Object wrap(Object result, String methodName, Object[] args) {
+        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+        if (result instanceof Connection connection) {
+            return proxy(Connection.class, connection, null);
+        }
+        if (result instanceof CallableStatement statement) {
+            return proxy(CallableStatement.class, statement, sql);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, sql);
+        }
+        if (result instanceof Statement statement && methodName.equals("createStatement")) {
+            return proxy(Statement.class, statement, null);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,222 @@
+package com.pinewoods.score.tracker.utilities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pinewoods.score.tracker.dto.admin.AuthenticationDTOs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.pinewoods.score.tracker.utilities.HttpUtilities.sendRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Seeds an admin, two teams of scratch players and a season with an empty standing for each team, and removes
+ * everything again after each test. Tournaments are played on a par 72 course of par 4 holes.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestInstance(TestInstance.Lifecycle.PER_METHOD)
+@ActiveProfiles("test")
+public abstract class TournamentTestBase {
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @LocalServerPort
+    protected int port;
+
+    protected final ObjectMapper objectMapper = new ObjectMapper();
+
+    protected final String adminUsername = "test_admin";
+    protected final String adminPassword = "yolo";
+    protected final String seasonName = "Test_Season";
+    protected final String courseName = "Test Course";
+    protected final int playersPerTeam = 8;
+
+    // Two birdies on a par 4 course for a scratch player
+    protected final String card = "[3,3,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4]";
+
+    protected RestClient restClient;
+
+    private String passwordHash;
+
+    @BeforeEach
+    void setup() {
+        this.restClient = RestClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .build();
+
+        jdbcTemplate.update("INSERT INTO teams (name) VALUES (?) ON CONFLICT (name) DO NOTHING", "UNASSIGNED");
+        jdbcTemplate.update("INSERT INTO teams (name) VALUES (?) ON CONFLICT (name) DO NOTHING", "Team1");
+        jdbcTemplate.update("INSERT INTO teams (name) VALUES (?) ON CONFLICT (name) DO NOTHING", "Team2");
+
+        Long unassignedId = jdbcTemplate.queryForObject("SELECT id FROM teams WHERE name = ?", Long.class, "UNASSIGNED");
+        Long team1Id = jdbcTemplate.queryForObject("SELECT id FROM teams WHERE name = ?", Long.class, "Team1");
+        Long team2Id = jdbcTemplate.queryForObject("SELECT id FROM teams WHERE name = ?", Long.class, "Team2");
+
+        passwordHash = org.springframework.security.crypto.bcrypt.BCrypt.hashpw(adminPassword, org.springframework.security.crypto.bcrypt.BCrypt.gensalt());
+        jdbcTemplate.update(
+                "INSERT INTO players (name, password, role, handicap, team_id) VALUES (?, ?, ?, ?, ?) ON CONFLICT (name) DO NOTHING",
+                adminUsername, passwordHash, "ADMIN", 0.0, unassignedId
+        );
+        addPlayers(playersPerTeam * 2);
+
+        // season with an empty standing for each team
+        jdbcTemplate.update("INSERT INTO seasons (season_name, is_finished) VALUES (?, false)", seasonName);
+        Long seasonId = jdbcTemplate.queryForObject("SELECT id FROM seasons WHERE season_name = ?", Long.class, seasonName);
+        for (Long teamId : List.of(team1Id, team2Id)) {
+            jdbcTemplate.update("INSERT INTO team_standing (season_id, team_id, points, wins, losses, draws, birdies) " +
+                    "VALUES (?, ?, 0, 0, 0, 0, 0)", seasonId, teamId);
+        }
+    }
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM tournament_flights");
+        jdbcTemplate.update("DELETE FROM tournament_points_map");
+        jdbcTemplate.update("DELETE FROM tournament_handicaps");
+        jdbcTemplate.update("DELETE FROM tournament_awards");
+        jdbcTemplate.update("DELETE FROM tournaments");
+        jdbcTemplate.update("DELETE FROM team_standing");
+        jdbcTemplate.update("DELETE FROM seasons");
+        jdbcTemplate.update("DELETE FROM flight_scores");
+        jdbcTemplate.update("DELETE FROM flights");
+        jdbcTemplate.update("DELETE FROM course_handicaps");
+        jdbcTemplate.update("DELETE FROM course_pars");
+        jdbcTemplate.update("DELETE FROM course_indexes");
+        jdbcTemplate.update("DELETE FROM courses");
+        jdbcTemplate.update("DELETE FROM players");
+        jdbcTemplate.update("DELETE FROM teams");
+    }
+
+    /********************************** Utilities **********************************/
+    // scratch players player0 to player{count - 1}, alternating between the two teams
+    protected void addPlayers(int count) {
+        Long team1Id = jdbcTemplate.queryForObject("SELECT id FROM teams WHERE name = ?", Long.class, "Team1");
+        Long team2Id = jdbcTemplate.queryForObject("SELECT id FROM teams WHERE name = ?", Long.class, "Team2");
+        List<Object[]> players = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            players.add(new Object[]{"player" + i, passwordHash, "PLAYER", 0.0, i % 2 == 0 ? team1Id : team2Id});
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO players (name, password, role, handicap, team_id) VALUES (?, ?, ?, ?, ?) ON CONFLICT (name) DO NOTHING",
+                players);
+    }
+
+    // one Team1 and one Team2 player per flight
+    protected String flight(int i) {
+        return flightOf((i % playersPerTeam) * 2);
+    }
+
+    // player{team1Player} of Team1 with player{team1Player + 1} of Team2
+    protected String flightOf(int team1Player) {
+        return "[" +
+                "{\"playerName\":\"player" + team1Player + "\",\"holeScores\":" + card + ",\"courseName\":\"" + courseName + "\"}," +
+                "{\"playerName\":\"player" + (team1Player + 1) + "\",\"holeScores\":" + card + ",\"courseName\":\"" + courseName + "\"}" +
+                "]";
+    }
+
+    protected String batch(int flights) {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < flights; i++) {
+            batch.append(i == 0 ? "" : ",").append(flight(i));
+        }
+        return batch.append("]").toString();
+    }
+
+    protected long createFlight(int i, String token) throws JsonProcessingException {
+        return createFlight(flight(i), token);
+    }
+
+    protected long createFlight(String flightScores, String token) throws JsonProcessingException {
+        ResponseEntity<String> response = sendRequest("/flights", flightScores, token, HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        return objectMapper.readTree(response.getBody()).get("id").asLong();
+    }
+
+    protected ResponseEntity<Void> link(long flightId, long tournamentId, String token) {
+        return restClient.patch()
+                .uri("/flights/{id}/{tournamentId}/link", flightId, tournamentId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange((req, res) -> ResponseEntity.status(res.getStatusCode()).build());
+    }
+
+    // Links are written after the 202, so wait for the tournament's writer to catch up
+    protected int awaitLinkedFlights(long tournamentId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        int linked;
+        do {
+            linked = linkedFlights(tournamentId);
+            if (linked < expected) {
+                Thread.sleep(50);
+            }
+        } while (linked < expected && System.currentTimeMillis() < deadline);
+        return linked;
+    }
+
+    protected int linkedFlights(long tournamentId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM tournament_flights WHERE tournament_id = ?", Integer.class, tournamentId);
+    }
+
+    protected int teamBirdies(String teamName) {
+        return jdbcTemplate.queryForObject(
+                "SELECT ts.birdies FROM team_standing ts JOIN teams t ON t.id = ts.team_id WHERE t.name = ?",
+                Integer.class, teamName);
+    }
+
+    protected long startTournament(String adminToken) throws JsonProcessingException {
+        return startTournament(adminToken, "\"strategy_type\":\"STABLEFORD\"," +
+                "\"pointsMap\":{\"-2\":4,\"-1\":3,\"0\":2,\"1\":1,\"2\":0}");
+    }
+
+    // scoring: the JSON fields choosing the format, e.g. the strategy type and its points map
+    protected long startTournament(String adminToken, String scoring) throws JsonProcessingException {
+        String course = "{\"name\":\"" + courseName + "\"," +
+                "\"pars\":[4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4,4]," +
+                "\"indexes\":[1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,16,17,18]," +
+                "\"slopeRating\":113,\"courseRating\":72}";
+        ResponseEntity<String> courseResponse = sendRequest("/courses", course, adminToken, HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, courseResponse.getStatusCode());
+
+        String tournament = "{\"name\":\"Test Open\",\"season_name\":\"" + seasonName + "\"," +
+                scoring + ",\"courseName\":\"" + courseName + "\",\"handicapMultiplier\":1.0}";
+        ResponseEntity<String> response = sendRequest("/tournaments/start", tournament, adminToken,
+                HttpMethod.POST, restClient);
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+
+        JsonNode created = objectMapper.readTree(response.getBody());
+        return created.get("id").asLong();
+    }
+
+    protected String loginAndGetToken(String username, String password) throws JsonProcessingException {
+        String loginJson = objectMapper.writeValueAsString(new AuthenticationDTOs.AuthRequestDTO(username, password));
+
+        ResponseEntity<String> response = restClient.post()
+                .uri("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(loginJson)
+                .retrieve()
+                .toEntity(String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        AuthenticationDTOs.AuthResponseDTO authResponse = objectMapper.readValue(response.getBody(),
+                AuthenticationDTOs.AuthResponseDTO.class);
+        return authResponse.token();
+    }
+}